@@ -2,9 +2,11 @@ package hello.itemservice;
 
 import hello.itemservice.config.*;
 import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.service.CatalogVersion;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Profile;
@@ -22,14 +24,26 @@ import javax.sql.DataSource;
 //@Import(JpaConfig.class)
 //@Import(SpringDataJpaConfig.class)
 //@Import(QueryDslConfig.class)
-@Import(V2Config.class)
-@SpringBootApplication(scanBasePackages = "hello.itemservice.web")  // controller만 컴포넌트 스캔
+//@Import(SnapshotConfig.class)  // 읽기 위주 배포 (힙 밖 스냅샷)
+//@Import(WriteBehindConfig.class)  // 재고 수량 쓰기 지연
+//@Import(SingleFlightConfig.class)  // 인기 상품 동시 조회 합치기
+//@Import(BulkImportConfig.class)  // 대량 상품 가져오기 (CSV/JSONL)
+//@Import(ReadOnlyRoutingConfig.class)  // 읽기 전용 트랜잭션 -> 읽기 DB 라우팅 (V2Config 와 함께)
+//@Import(PoolPartitionConfig.class)  // 커넥션 풀 파티션 : 목록 스캔 / 변경 분리 (V2Config 와 함께)
+@Import({V2Config.class, R2dbcConfig.class, ExportConfig.class, DeadlineConfig.class, SqlStatsConfig.class})
+@SpringBootApplication(scanBasePackages = "hello.itemservice.web",  // controller만 컴포넌트 스캔
+		exclude = R2dbcAutoConfiguration.class)  // R2DBC 는 R2dbcConfig 에서 직접 구성 (DataSource 자동 구성 유지)
 public class ItemServiceApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(ItemServiceApplication.class, args);
 	}
 
+	@Bean
+	public CatalogVersion catalogVersion() {
+		return new CatalogVersion();   // 목록 화면 ETag, 표 조각 캐시
+	}
+
 	@Bean
 	@Profile("local")
 	public TestDataInit testDataInit(ItemRepository itemRepository) {
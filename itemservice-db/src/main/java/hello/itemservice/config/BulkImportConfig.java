@@ -0,0 +1,68 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.bulk.ItemBulkImporter;
+import hello.itemservice.service.CatalogVersion;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+/**
+ * 대량 상품 가져오기 설정
+ * 실행 : --itemservice.import.file=/data/catalog.csv (또는 .jsonl), H2 CSVREAD 사용은 --itemservice.import.csvread=true
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BulkImportConfig {
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final CatalogVersion catalogVersion;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${itemservice.import.chunk-lines:10000}")
+    private int chunkLines;
+
+    @Value("${itemservice.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${itemservice.import.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int parallelism;
+
+    @Bean
+    public ItemBulkImporter itemBulkImporter() {
+        return new ItemBulkImporter(dataSource, transactionManager, chunkLines, batchSize, parallelism)
+                .afterImport(this::evictItemCaches);
+    }
+
+    /**
+     * JDBC 로 바로 넣은 행은 하이버네이트가 모름 -> 상품 엔티티 캐시, 쿼리 캐시(findAll 결과) 비우고 목록 화면 캐시 무효화
+     */
+    private void evictItemCaches() {
+        entityManagerFactory.getCache().evict(Item.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        catalogVersion.bump();
+    }
+
+    @Bean
+    @ConditionalOnProperty("itemservice.import.file")
+    public ApplicationRunner itemImportRunner(@Value("${itemservice.import.file}") Path file,
+                                              @Value("${itemservice.import.csvread:false}") boolean csvRead) {
+        return args -> {
+            if (csvRead) {
+                itemBulkImporter().importWithCsvRead(file);
+            } else {
+                itemBulkImporter().importFile(file);
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package hello.itemservice.config;
+
+import hello.itemservice.deadline.DeadlineJpaTransactionManager;
+import hello.itemservice.deadline.DeadlineMyBatisInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 요청 예산(RequestDeadline)을 트랜잭션, MyBatis 까지 전달
+ * JdbcTemplate 레파지토리는 DeadlineJdbcTemplate 을 직접 사용, 예산 설정은 RequestDeadlineFilter
+ */
+@Configuration
+public class DeadlineConfig {
+
+    @Bean   // 스프링 부트의 JpaTransactionManager 대신 등록
+    public PlatformTransactionManager transactionManager(EntityManagerFactory emf) {
+        return new DeadlineJpaTransactionManager(emf);
+    }
+
+    @Bean   // MyBatis 스타터가 Interceptor 빈을 자동으로 플러그인으로 등록
+    public DeadlineMyBatisInterceptor deadlineMyBatisInterceptor() {
+        return new DeadlineMyBatisInterceptor();
+    }
+}
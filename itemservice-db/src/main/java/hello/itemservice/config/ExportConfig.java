@@ -0,0 +1,27 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.bulk.ItemCatalogExporter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 카탈로그 내보내기 설정 (레파지토리 구현과 상관없이 DataSource 커서로 직접 조회)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ExportConfig {
+
+    private final DataSource dataSource;
+
+    @Value("${itemservice.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Bean
+    public ItemCatalogExporter itemCatalogExporter() {
+        return new ItemCatalogExporter(dataSource, fetchSize);
+    }
+}
@@ -1,6 +1,7 @@
 package hello.itemservice.config;
 
 import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.cache.CacheEvictingItemRepository;
 import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV1;
 import hello.itemservice.repository.memory.MemoryItemRepository;
 import hello.itemservice.service.ItemService;
@@ -9,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
 @Configuration
@@ -16,6 +18,7 @@ import javax.sql.DataSource;
 public class JdbcTemplateV1Config {
 
     private final DataSource dataSource;
+    private final EntityManagerFactory emf;
 
     @Bean
     public ItemService itemService() {
@@ -24,6 +27,6 @@ public class JdbcTemplateV1Config {
 
     @Bean
     public ItemRepository itemRepository() {
-        return new JdbcTemplateItemRepositoryV1(dataSource);
+        return new CacheEvictingItemRepository(new JdbcTemplateItemRepositoryV1(dataSource), emf);  // 2차 캐시 무효화
     }
 }
@@ -1,6 +1,7 @@
 package hello.itemservice.config;
 
 import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.cache.CacheEvictingItemRepository;
 import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV2;
 import hello.itemservice.service.ItemService;
 import hello.itemservice.service.ItemServiceV1;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
 @Configuration
@@ -15,6 +17,7 @@ import javax.sql.DataSource;
 public class JdbcTemplateV2Config {
 
     private final DataSource dataSource;
+    private final EntityManagerFactory emf;
 
     @Bean
     public ItemService itemService() {
@@ -23,6 +26,6 @@ public class JdbcTemplateV2Config {
 
     @Bean
     public ItemRepository itemRepository() {
-        return new JdbcTemplateItemRepositoryV2(dataSource);
+        return new CacheEvictingItemRepository(new JdbcTemplateItemRepositoryV2(dataSource), emf);  // 2차 캐시 무효화
     }
 }
@@ -1,6 +1,7 @@
 package hello.itemservice.config;
 
 import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.cache.CacheEvictingItemRepository;
 import hello.itemservice.repository.mybatis.ItemMapper;
 import hello.itemservice.repository.mybatis.MyBatisItemRepository;
 import hello.itemservice.service.ItemService;
@@ -9,12 +10,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.persistence.EntityManagerFactory;
+
 @Configuration
 @RequiredArgsConstructor
 public class MyBatisConfig {
 
     // MyBatis 모듈이 DataSource 자동으로 읽어서 트랜잭션 매니저 등 설정
     private final ItemMapper itemMapper;
+    private final EntityManagerFactory emf;
 
     @Bean
     public ItemService itemService() {
@@ -23,6 +27,6 @@ public class MyBatisConfig {
 
     @Bean
     public ItemRepository itemRepository() {
-        return new MyBatisItemRepository(itemMapper);
+        return new CacheEvictingItemRepository(new MyBatisItemRepository(itemMapper), emf);  // 2차 캐시 무효화
     }
 }
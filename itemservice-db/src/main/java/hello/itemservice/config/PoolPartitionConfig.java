@@ -0,0 +1,77 @@
+package hello.itemservice.config;
+
+import hello.itemservice.partition.PartitionContext;
+import hello.itemservice.partition.PartitionedDataSource;
+import hello.itemservice.partition.PartitionedDataSource.Partition;
+import hello.itemservice.partition.PoolPartition;
+import hello.itemservice.partition.PoolPartitionInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 커넥션 풀 파티션 (벌크헤드)
+ *
+ * scan     : 조건 없는 목록 조회 / 카탈로그 내보내기 (ItemServiceV2.findItems, ItemCatalogExporter)
+ *            보장 수 0, 최대 scan.maximum -> 느린 스캔이 몰려도 풀 전체를 가져가지 못함, 넘치면 빠르게 실패
+ * critical : 등록/수정 (ItemServiceV2.save, update ...) -> 보장 수만큼은 스캔과 상관없이 항상 바로 가져감
+ * default  : 나머지
+ *
+ * capacity 는 히카리 maximumPoolSize(기본 10) 이하로 설정 (실제 커넥션은 히카리 풀에서 가져옴)
+ * OSIV 가 켜져 있으면 요청에서 처음 가져온 커넥션을 요청이 끝날 때까지 사용 -> 처음 호출한 메서드의 파티션으로 계산됨
+ */
+@Slf4j
+@Configuration
+public class PoolPartitionConfig {
+
+    /**
+     * DataSource 빈을 감쌈 -> JdbcTemplate, MyBatis, JPA 트랜잭션 매니저가 모두 파티션을 거쳐서 커넥션을 가져감
+     */
+    @Bean
+    public static BeanPostProcessor partitionedDataSourcePostProcessor(
+            @Value("${itemservice.pool.capacity:10}") int capacity,
+            @Value("${itemservice.pool.scan.maximum:3}") int scanMaximum,
+            @Value("${itemservice.pool.scan.max-queue:10}") int scanMaxQueue,
+            @Value("${itemservice.pool.scan.timeout:1s}") Duration scanTimeout,
+            @Value("${itemservice.pool.critical.minimum:3}") int criticalMinimum,
+            @Value("${itemservice.pool.critical.timeout:2s}") Duration criticalTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof PartitionedDataSource)) {
+                    List<Partition> partitions = List.of(
+                            new Partition(PartitionContext.DEFAULT, 1, capacity, 200, Duration.ofSeconds(30)),
+                            new Partition("scan", 0, scanMaximum, scanMaxQueue, scanTimeout),
+                            new Partition("critical", criticalMinimum, capacity, 200, criticalTimeout));
+                    log.info("pool partitions capacity={} scan.maximum={} critical.minimum={}", capacity, scanMaximum, criticalMinimum);
+                    return new PartitionedDataSource((DataSource) bean, capacity, partitions);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * @PoolPartition 이 붙은 빈(클래스 또는 메서드)에 적용
+     * 트랜잭션 어드바이저보다 먼저 실행 -> 트랜잭션 매니저가 커넥션을 가져올 때 파티션이 정해져 있음
+     */
+    @Bean
+    public static Advisor poolPartitionAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(PoolPartition.class, true))
+                .union(new AnnotationMatchingPointcut(null, PoolPartition.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new PoolPartitionInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
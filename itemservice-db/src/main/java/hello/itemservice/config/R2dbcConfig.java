@@ -0,0 +1,28 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ReactiveItemRepository;
+import hello.itemservice.repository.r2dbc.R2dbcItemRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 리액티브 읽기/쓰기 경로 설정
+ *
+ * ConnectionFactory 는 빈으로 등록하지 않음
+ * -> ConnectionFactory 빈이 있으면 DataSource 자동 구성이 꺼져서 기존 JDBC/JPA 경로가 동작하지 않음
+ */
+@Configuration
+public class R2dbcConfig {
+
+    @Value("${itemservice.r2dbc.url:r2dbc:pool:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1&maxSize=10}")
+    private String url;
+
+    @Bean(destroyMethod = "close")
+    public ReactiveItemRepository reactiveItemRepository() {
+        R2dbcItemRepository repository = new R2dbcItemRepository(ConnectionFactories.get(url));
+        repository.initSchema().block();   // 애플리케이션 시작 시 한 번만 블로킹
+        return repository;
+    }
+}
@@ -0,0 +1,43 @@
+package hello.itemservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.repository.routing.ReadOnlyRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true)) -> 읽기 DB (복제본)
+ * 그 외 -> spring.datasource (원본)
+ *
+ * itemservice.datasource.read.url 이 없으면 원본 하나만 사용 (라우팅 훅만 걸어둠)
+ * DataSource 빈을 직접 등록하므로 스프링 부트의 DataSource 자동 구성은 꺼짐
+ */
+@Slf4j
+@Configuration
+public class ReadOnlyRoutingConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${itemservice.datasource.read.url:}") String readUrl) {
+        HikariDataSource write = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        write.setPoolName("write");
+
+        DataSource read = write;
+        if (StringUtils.hasText(readUrl)) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(readUrl)
+                    .build();
+            replica.setPoolName("read");
+            replica.setReadOnly(true);
+            read = replica;
+        }
+        log.info("readOnly 트랜잭션 라우팅 write={} read={}", properties.determineUrl(), read == write ? "(write)" : readUrl);
+        return new ReadOnlyRoutingDataSource(write, read).lazy();
+    }
+}
@@ -0,0 +1,38 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import hello.itemservice.service.ItemService;
+import hello.itemservice.service.ItemServiceV1;
+import hello.itemservice.service.SingleFlightItemService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 인기 상품 동시 조회 합치기 설정 (JdbcTemplate + SingleFlightItemService)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SingleFlightConfig {
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${itemservice.single-flight.batch-window-us:0}")
+    private long batchWindowMicros;   // 0 이면 같은 id 만 합침, 0보다 크면 서로 다른 id 도 모아서 IN 조회
+
+    @Bean(destroyMethod = "close")
+    public ItemService itemService() {
+        return new SingleFlightItemService(new ItemServiceV1(itemRepository()), batchWindowMicros, meterRegistry);
+    }
+
+    @Bean
+    public ItemRepository itemRepository() {
+        return new JdbcTemplateItemRepositoryV3(dataSource);
+    }
+}
@@ -0,0 +1,41 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import hello.itemservice.repository.snapshot.ItemSnapshotLoader;
+import hello.itemservice.repository.snapshot.SnapshotItemRepository;
+import hello.itemservice.service.ItemService;
+import hello.itemservice.service.ItemServiceV1;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기 위주 배포 : 조회는 힙 밖 스냅샷, 변경은 JdbcTemplate
+ */
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class SnapshotConfig {
+
+    private final DataSource dataSource;
+
+    @Bean
+    public ItemService itemService() {
+        return new ItemServiceV1(itemRepository());
+    }
+
+    @Bean
+    public SnapshotItemRepository itemRepository() {
+        return new SnapshotItemRepository(new JdbcTemplateItemRepositoryV3(dataSource), new ItemSnapshotLoader(dataSource, 1000));
+    }
+
+    @Scheduled(fixedDelayString = "${itemservice.snapshot.refresh-interval:60000}",
+            initialDelayString = "${itemservice.snapshot.refresh-interval:60000}")
+    public void refreshSnapshot() {
+        itemRepository().refresh();   // 다른 서버에서 변경한 행만 다시 읽어서 반영 (전체 다시 적재 X)
+    }
+}
@@ -0,0 +1,49 @@
+package hello.itemservice.config;
+
+import hello.itemservice.sqlstats.SqlStatsDataSource;
+import hello.itemservice.sqlstats.SqlStatsEndpoint;
+import hello.itemservice.sqlstats.SqlStatsRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * SQL 지문별 통계, 느린 SQL 수집 (/actuator/sqlstats)
+ * DEBUG/TRACE SQL 로그 없이 운영에서 켜 둘 수 있음 (로그는 perf 프로파일에서 끔)
+ */
+@Configuration
+public class SqlStatsConfig {
+
+    @Bean
+    public SqlStatsRegistry sqlStatsRegistry(@Value("${itemservice.sqlstats.slow-threshold:200ms}") Duration slowThreshold,
+                                             @Value("${itemservice.sqlstats.slow-samples:100}") int slowSamples) {
+        return new SqlStatsRegistry(slowThreshold, slowSamples);
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(SqlStatsRegistry sqlStatsRegistry) {
+        return new SqlStatsEndpoint(sqlStatsRegistry);
+    }
+
+    /**
+     * DataSource 빈(자동 구성, ReadOnlyRoutingConfig 등 어디서 만들든)을 감쌈
+     * -> JdbcTemplate, MyBatis, JPA 가 모두 감싼 DataSource 를 주입받음
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor(ObjectProvider<SqlStatsRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof SqlStatsDataSource)) {
+                    return new SqlStatsDataSource((DataSource) bean, registry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -5,10 +5,15 @@ import hello.itemservice.repository.jpa.JpaItemRepositoryV3;
 import hello.itemservice.repository.v2.ItemQueryRepositoryV2;
 import hello.itemservice.repository.v2.ItemRepositoryV2;
 import hello.itemservice.service.ItemService;
+import hello.itemservice.service.CatalogVersion;
+import hello.itemservice.service.CatalogVersioningItemService;
 import hello.itemservice.service.ItemServiceV2;
+import hello.itemservice.service.OptimisticItemUpdater;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 import javax.persistence.EntityManager;
 
@@ -18,12 +23,24 @@ public class V2Config {
 
     private final ItemRepositoryV2 itemRepositoryV2;
     private final EntityManager em;
+    private final CatalogVersion catalogVersion;
 
     @Bean
+    @Primary
     public ItemService itemService() {
+        return new CatalogVersioningItemService(itemServiceV2(), catalogVersion);
+    }
+
+    @Bean   // 빈으로 등록해야 @Transactional 프록시가 적용됨 (데코레이터는 트랜잭션 바깥)
+    public ItemServiceV2 itemServiceV2() {
         return new ItemServiceV2(itemRepositoryV2, queryRepositoryV2());
     }
 
+    @Bean
+    public OptimisticItemUpdater optimisticItemUpdater(@Value("${itemservice.optimistic.max-attempts:5}") int maxAttempts) {
+        return new OptimisticItemUpdater(itemService(), maxAttempts);   // 재고 동기화 작업 등 수량 조정
+    }
+
     @Bean ItemQueryRepositoryV2 queryRepositoryV2() {
         return new ItemQueryRepositoryV2(em);
     }
@@ -0,0 +1,54 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import hello.itemservice.repository.writebehind.QuantityWriteBehindBuffer;
+import hello.itemservice.service.ItemServiceV1;
+import hello.itemservice.service.WriteBehindItemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+/**
+ * 재고 수량 쓰기 지연 설정 (JdbcTemplate + QuantityWriteBehindBuffer)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WriteBehindConfig {
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${itemservice.write-behind.journal-dir:${java.io.tmpdir}/itemservice-journal}")
+    private Path journalDir;
+
+    @Value("${itemservice.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${itemservice.write-behind.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${itemservice.write-behind.sync-each-write:true}")
+    private boolean syncEachWrite;   // false 면 처리량은 늘지만 OS 장애 시 마지막 기록 일부 유실 가능
+
+    @Bean
+    public WriteBehindItemService itemService() {
+        return new WriteBehindItemService(new ItemServiceV1(itemRepository()), quantityWriteBehindBuffer());
+    }
+
+    @Bean
+    public ItemRepository itemRepository() {
+        return new JdbcTemplateItemRepositoryV3(dataSource);
+    }
+
+    @Bean(destroyMethod = "close")   // 종료 시 남은 변화량 반영
+    public QuantityWriteBehindBuffer quantityWriteBehindBuffer() {
+        return new QuantityWriteBehindBuffer(dataSource, transactionManager, journalDir,
+                flushIntervalMillis, maxEntries, syncEachWrite);
+    }
+}
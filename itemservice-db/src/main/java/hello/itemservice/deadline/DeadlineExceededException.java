@@ -0,0 +1,13 @@
+package hello.itemservice.deadline;
+
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * 요청 예산을 다 써서 SQL 을 실행하지 않음 (드라이버의 쿼리 타임아웃과 같은 QueryTimeoutException 으로 처리)
+ */
+public class DeadlineExceededException extends QueryTimeoutException {
+
+    public DeadlineExceededException(String msg) {
+        super(msg);
+    }
+}
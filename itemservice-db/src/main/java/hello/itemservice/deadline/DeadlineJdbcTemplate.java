@@ -0,0 +1,23 @@
+package hello.itemservice.deadline;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 기본 설정(queryTimeout, 트랜잭션 timeout)을 적용한 뒤 남은 요청 예산이 더 짧으면 그 값으로 줄임
+ */
+public class DeadlineJdbcTemplate extends JdbcTemplate {
+
+    public DeadlineJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        RequestDeadline.applyQueryTimeout(stmt);
+    }
+}
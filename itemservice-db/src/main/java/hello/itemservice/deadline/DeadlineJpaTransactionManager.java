@@ -0,0 +1,28 @@
+package hello.itemservice.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 트랜잭션 timeout = min(@Transactional(timeout), 남은 요청 예산)
+ * 하이버네이트는 트랜잭션의 남은 시간을 각 SQL 의 쿼리 타임아웃으로 적용
+ */
+public class DeadlineJpaTransactionManager extends JpaTransactionManager {
+
+    public DeadlineJpaTransactionManager(EntityManagerFactory emf) {
+        super(emf);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        try {
+            return RequestDeadline.transactionTimeout(super.determineTimeout(definition));
+        } catch (DeadlineExceededException e) {
+            // TransactionException 이 아니면 CannotCreateTransactionException 으로 감싸짐 -> 시작 전에 예산 초과로 그대로 전달
+            throw new TransactionTimedOutException(e.getMessage());
+        }
+    }
+}
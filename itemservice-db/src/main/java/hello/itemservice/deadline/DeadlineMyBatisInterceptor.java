@@ -0,0 +1,29 @@
+package hello.itemservice.deadline;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * 매퍼의 timeout 속성, 트랜잭션 timeout 을 적용한 Statement 에 남은 요청 예산 적용
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class DeadlineMyBatisInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Statement stmt = (Statement) invocation.proceed();
+        try {
+            RequestDeadline.applyQueryTimeout(stmt);
+        } catch (RuntimeException e) {
+            stmt.close();   // 예산 초과 -> 실행하지 않음
+            throw e;
+        }
+        return stmt;
+    }
+}
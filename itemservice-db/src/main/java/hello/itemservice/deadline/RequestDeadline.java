@@ -0,0 +1,103 @@
+package hello.itemservice.deadline;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+
+/**
+ * 요청 단위 시간 예산 (RequestDeadlineFilter 가 요청 시작 시점에 설정)
+ *
+ * 남은 시간이 SQL 실행 단위까지 전달됨
+ * - JdbcTemplate : Statement.setQueryTimeout (DeadlineJdbcTemplate)
+ * - JPA          : 트랜잭션 timeout (DeadlineJpaTransactionManager) + javax.persistence.query.timeout 힌트
+ * - MyBatis      : Statement.setQueryTimeout (DeadlineMyBatisInterceptor)
+ * 예산을 다 쓰면 SQL 을 실행하지 않고 DeadlineExceededException
+ *
+ * 스레드 로컬 -> 다른 스레드(비동기 스트리밍 등)로는 전달되지 않음
+ */
+public abstract class RequestDeadline {
+
+    public static final String QUERY_TIMEOUT_HINT = "javax.persistence.query.timeout";
+
+    private static final ThreadLocal<Long> deadlineNanos = new ThreadLocal<>();
+
+    public static <T> T call(Duration budget, Callable<T> task) throws Exception {
+        Long previous = deadlineNanos.get();
+        long deadline = System.nanoTime() + budget.toNanos();
+        deadlineNanos.set(previous == null ? deadline : Math.min(previous, deadline));   // 바깥 예산보다 늘어나지 않음
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                deadlineNanos.remove();
+            } else {
+                deadlineNanos.set(previous);
+            }
+        }
+    }
+
+    public static boolean isSet() {
+        return deadlineNanos.get() != null;
+    }
+
+    /**
+     * 남은 시간(ms), 예산이 없으면 empty
+     */
+    public static OptionalInt remainingMillis() {
+        Long deadline = deadlineNanos.get();
+        if (deadline == null) {
+            return OptionalInt.empty();
+        }
+        long remaining = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+        return OptionalInt.of((int) Math.max(0, Math.min(Integer.MAX_VALUE, remaining)));
+    }
+
+    /**
+     * JDBC 쿼리 타임아웃(초 단위, 올림), 이미 예산을 다 썼으면 예외
+     */
+    public static OptionalInt queryTimeoutSeconds() {
+        OptionalInt remaining = checkRemainingMillis();
+        if (remaining.isEmpty()) {
+            return remaining;
+        }
+        return OptionalInt.of((remaining.getAsInt() + 999) / 1000);
+    }
+
+    /**
+     * 이미 설정된 쿼리 타임아웃보다 남은 예산이 짧으면 줄임 -> 시간이 지나면 드라이버가 실행 중인 SQL 취소
+     */
+    public static void applyQueryTimeout(Statement stmt) throws SQLException {
+        int timeout = queryTimeoutSeconds().orElse(0);
+        if (timeout > 0 && (stmt.getQueryTimeout() == 0 || timeout < stmt.getQueryTimeout())) {
+            stmt.setQueryTimeout(timeout);
+        }
+    }
+
+    /**
+     * JPA 쿼리 힌트(javax.persistence.query.timeout, ms), 이미 예산을 다 썼으면 예외
+     */
+    public static OptionalInt queryTimeoutHint() {
+        return checkRemainingMillis();
+    }
+
+    /**
+     * 트랜잭션 timeout(초) : 선언된 값(@Transactional(timeout))과 남은 예산 중 작은 값
+     */
+    public static int transactionTimeout(int declaredSeconds) {
+        OptionalInt remaining = queryTimeoutSeconds();
+        if (remaining.isEmpty()) {
+            return declaredSeconds;
+        }
+        return declaredSeconds <= 0 ? remaining.getAsInt() : Math.min(declaredSeconds, remaining.getAsInt());
+    }
+
+    private static OptionalInt checkRemainingMillis() {
+        OptionalInt remaining = remainingMillis();
+        if (remaining.isPresent() && remaining.getAsInt() == 0) {
+            throw new DeadlineExceededException("request deadline exceeded");
+        }
+        return remaining;
+    }
+}
@@ -1,11 +1,14 @@
 package hello.itemservice.domain;
 
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
 @Data
 @Entity   // JPA 사용 객체로 등록
+@DynamicUpdate  // 변경 감지 시 바뀐 칼럼만 UPDATE (SQL 캐시 대신 매번 생성)
+@Cacheable  // 2차 캐시 대상 (ENABLE_SELECTIVE), 동시성 전략은 hibernate.cache.default_cache_concurrency_strategy
 public class Item {
 
     @Id
@@ -17,6 +20,10 @@ public class Item {
     private Integer price;
     private Integer quantity;
 
+    @Version  // 낙관적 락 : UPDATE ... where id=? and version=? (변경된 행이 없으면 충돌)
+    @Column(columnDefinition = "bigint default 0 not null")  // JDBC 로 저장할 때는 DB 기본값 사용
+    private Long version;
+
     public Item() {   // 기본 생성자 필수(지연 로딩에 의한 프록시 기술을 사용할 때 필요)
     }
 
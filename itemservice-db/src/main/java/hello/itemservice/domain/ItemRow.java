@@ -0,0 +1,102 @@
+package hello.itemservice.domain;
+
+/**
+ * 조회 전용 상품 표현 (쓰기는 JPA 엔티티 Item 사용)
+ *
+ * Item 은 Long/Integer 필드라 행마다 박싱 객체가 추가로 생성됨
+ * -> 기본 타입 필드 + null 여부 비트마스크로 표현해서 행당 객체 1개(+ 상품명)만 생성
+ */
+public final class ItemRow {
+
+    private static final int PRICE = 1;
+    private static final int QUANTITY = 1 << 1;
+
+    private final long id;
+    private final String itemName;
+    private final int price;
+    private final int quantity;
+    private final int presence;   // 값이 있는 컬럼 비트
+
+    public ItemRow(long id, String itemName, int price, int quantity) {
+        this(id, itemName, price, quantity, PRICE | QUANTITY);
+    }
+
+    /**
+     * MyBatis 생성자 매핑, QueryDSL Projections.constructor 용 (드라이버/하이버네이트가 박싱된 값을 넘겨줌)
+     */
+    public ItemRow(Long id, String itemName, Integer price, Integer quantity) {
+        this(id, itemName,
+                price == null ? 0 : price,
+                quantity == null ? 0 : quantity,
+                (price == null ? 0 : PRICE) | (quantity == null ? 0 : QUANTITY));
+    }
+
+    private ItemRow(long id, String itemName, int price, int quantity, int presence) {
+        this.id = id;
+        this.itemName = itemName;
+        this.price = price;
+        this.quantity = quantity;
+        this.presence = presence;
+    }
+
+    /**
+     * rs.wasNull() 결과로 생성할 때 사용
+     */
+    public static ItemRow of(long id, String itemName, int price, boolean priceNull, int quantity, boolean quantityNull) {
+        return new ItemRow(id, itemName, price, quantity, (priceNull ? 0 : PRICE) | (quantityNull ? 0 : QUANTITY));
+    }
+
+    public static ItemRow from(Item item) {
+        return new ItemRow(item.getId(), item.getItemName(), item.getPrice(), item.getQuantity());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public int getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public boolean hasPrice() {
+        return (presence & PRICE) != 0;
+    }
+
+    public boolean hasQuantity() {
+        return (presence & QUANTITY) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ItemRow)) {
+            return false;
+        }
+        ItemRow other = (ItemRow) o;
+        return id == other.id && price == other.price && quantity == other.quantity
+                && presence == other.presence
+                && (itemName == null ? other.itemName == null : itemName.equals(other.itemName));
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemRow(id=" + id + ", itemName=" + itemName
+                + ", price=" + (hasPrice() ? price : null)
+                + ", quantity=" + (hasQuantity() ? quantity : null) + ")";
+    }
+}
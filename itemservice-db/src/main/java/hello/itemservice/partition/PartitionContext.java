@@ -0,0 +1,47 @@
+package hello.itemservice.partition;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 현재 스레드가 커넥션을 가져올 파티션 이름 (지정하지 않으면 DEFAULT)
+ */
+public abstract class PartitionContext {
+
+    public static final String DEFAULT = "default";
+
+    private static final ThreadLocal<String> current = new ThreadLocal<>();
+
+    public static String current() {
+        String partition = current.get();
+        return partition == null ? DEFAULT : partition;
+    }
+
+    /**
+     * 작업 동안만 파티션을 바꾸고 끝나면 이전 파티션으로 되돌림 (중첩 호출 가능)
+     */
+    public static <T> T call(String partition, Callable<T> task) throws Exception {
+        String previous = enter(partition);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * @return 이전 파티션 (restore 에 그대로 넘김)
+     */
+    static String enter(String partition) {
+        String previous = current.get();
+        current.set(partition);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package hello.itemservice.partition;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 하나의 커넥션 풀을 이름 있는 파티션(벌크헤드)으로 나눔
+ *
+ * capacity = 각 파티션의 보장 수(minimum) 합 + 공유 여유분
+ * - 파티션은 보장 수까지는 항상 바로 가져감 (다른 파티션이 풀을 다 써도 영향 X)
+ * - 보장 수를 넘으면 공유 여유분에서 빌림 (파티션별 maximum 까지)
+ * - 가져갈 수 없으면 대기, 대기열이 maxQueue 로 차 있거나 timeout 이 지나면 SQLTransientConnectionException (빠른 실패)
+ *
+ * 실제 커넥션은 target(예: 히카리 풀)에서 가져오므로 target 의 최대 크기는 capacity 이상이어야 함
+ * 어느 파티션을 쓸지는 PartitionContext (@PoolPartition, PoolPartitionInterceptor)
+ * unwrap() 은 target 까지 전달 -> 감싼 뒤에도 스프링 부트가 히카리 풀을 찾음 (풀 메타데이터, 메트릭)
+ */
+public class PartitionedDataSource extends DelegatingDataSource {
+
+    private final int sharedCapacity;
+    private final Map<String, Partition> partitions = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int sharedInUse;
+
+    public PartitionedDataSource(DataSource target, int capacity, Collection<Partition> partitions) {
+        int reserved = 0;
+        for (Partition partition : partitions) {
+            this.partitions.put(partition.name, partition);
+            partition.available = lock.newCondition();
+            reserved += partition.minimum;
+        }
+        if (!this.partitions.containsKey(PartitionContext.DEFAULT)) {
+            throw new IllegalArgumentException("'" + PartitionContext.DEFAULT + "' 파티션이 필요합니다");
+        }
+        if (reserved > capacity) {
+            throw new IllegalArgumentException("보장 수 합(" + reserved + ")이 capacity(" + capacity + ")보다 큼");
+        }
+        setTargetDataSource(target);
+        this.sharedCapacity = capacity - reserved;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Partition partition = acquire();
+        try {
+            return wrap(obtainTargetDataSource().getConnection(), partition);
+        } catch (SQLException | RuntimeException e) {
+            release(partition);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Partition partition = acquire();
+        try {
+            return wrap(obtainTargetDataSource().getConnection(username, password), partition);
+        } catch (SQLException | RuntimeException e) {
+            release(partition);
+            throw e;
+        }
+    }
+
+    public Partition partition(String name) {
+        Partition partition = partitions.get(name);
+        if (partition == null) {
+            throw new IllegalArgumentException("unknown partition: " + name);
+        }
+        return partition;
+    }
+
+    private Partition acquire() throws SQLException {
+        Partition partition = partition(PartitionContext.current());
+        lock.lock();
+        try {
+            if (tryTake(partition)) {
+                return partition;
+            }
+            if (partition.waiting >= partition.maxQueue) {
+                partition.rejected++;
+                throw new SQLTransientConnectionException("partition " + partition.name + " queue full (" + describe(partition) + ")");
+            }
+            partition.waiting++;
+            try {
+                long remaining = partition.timeout.toNanos();
+                while (!tryTake(partition)) {
+                    if (remaining <= 0) {
+                        partition.timedOut++;
+                        throw new SQLTransientConnectionException("partition " + partition.name + " timed out after "
+                                + partition.timeout.toMillis() + "ms (" + describe(partition) + ")");
+                    }
+                    remaining = partition.available.awaitNanos(remaining);
+                }
+                return partition;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("interrupted while waiting for partition " + partition.name, e);
+            } finally {
+                partition.waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 보장 수 안이면 바로, 넘으면 공유 여유분에서 빌림 (lock 안에서 호출)
+     */
+    private boolean tryTake(Partition partition) {
+        if (partition.inUse < partition.minimum) {
+            partition.inUse++;
+            return true;
+        }
+        if (partition.inUse < partition.maximum && sharedInUse < sharedCapacity) {
+            partition.inUse++;
+            sharedInUse++;
+            return true;
+        }
+        return false;
+    }
+
+    private void release(Partition partition) {
+        lock.lock();
+        try {
+            if (partition.inUse > partition.minimum) {
+                sharedInUse--;   // 빌린 것부터 반납
+                for (Partition each : partitions.values()) {
+                    each.available.signal();   // 공유 여유분은 모든 파티션이 대기
+                }
+            } else {
+                partition.available.signal();
+            }
+            partition.inUse--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String describe(Partition partition) {
+        return "inUse=" + partition.inUse + ", waiting=" + partition.waiting + ", shared=" + sharedInUse + "/" + sharedCapacity;
+    }
+
+    /**
+     * close() 할 때 파티션에 반납, 여러 번 close() 해도 한 번만 반납
+     */
+    private Connection wrap(Connection connection, Partition partition) {
+        AtomicBoolean closed = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                if (closed.compareAndSet(false, true)) {
+                    try {
+                        connection.close();
+                    } finally {
+                        release(partition);
+                    }
+                }
+                return null;
+            }
+            if (method.getName().equals("isClosed") && method.getParameterCount() == 0 && closed.get()) {
+                return true;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    /**
+     * 파티션 설정과 현재 상태 (상태 값은 PartitionedDataSource 의 lock 으로 보호, getter 는 모니터링용 근사값)
+     * PartitionedDataSource 하나에만 등록해서 사용
+     */
+    public static class Partition {
+
+        private final String name;
+        private final int minimum;
+        private final int maximum;
+        private final int maxQueue;
+        private final Duration timeout;
+
+        private Condition available;
+        private int inUse;
+        private int waiting;
+        private long rejected;
+        private long timedOut;
+
+        /**
+         * @param minimum  항상 보장되는 커넥션 수
+         * @param maximum  공유 여유분을 빌려서 최대로 쓸 수 있는 수
+         * @param maxQueue 대기할 수 있는 최대 스레드 수 (넘으면 바로 실패)
+         * @param timeout  대기 최대 시간
+         */
+        public Partition(String name, int minimum, int maximum, int maxQueue, Duration timeout) {
+            if (minimum < 0 || maximum < Math.max(minimum, 1) || maxQueue < 0) {
+                throw new IllegalArgumentException("invalid partition " + name + ": minimum=" + minimum
+                        + ", maximum=" + maximum + ", maxQueue=" + maxQueue);
+            }
+            this.name = name;
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.maxQueue = maxQueue;
+            this.timeout = timeout;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getInUse() {
+            return inUse;
+        }
+
+        public int getWaiting() {
+            return waiting;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getTimedOut() {
+            return timedOut;
+        }
+    }
+}
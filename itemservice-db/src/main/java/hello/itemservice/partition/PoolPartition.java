@@ -0,0 +1,17 @@
+package hello.itemservice.partition;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 이 클래스/메서드 안에서 얻는 커넥션은 지정한 파티션(PartitionedDataSource)에서 가져옴
+ * 메서드에 붙은 것이 클래스에 붙은 것보다 우선 (PoolPartitionInterceptor 가 처리)
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PoolPartition {
+
+    String value();
+}
@@ -0,0 +1,69 @@
+package hello.itemservice.partition;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * 파티션 선택 : 메서드의 @PoolPartition -> 클래스의 @PoolPartition -> 클래스별 매핑 -> 호출한 쪽의 파티션 그대로
+ *
+ * 트랜잭션 프록시보다 바깥에 있어야 트랜잭션 매니저가 커넥션을 얻는 시점에 파티션이 정해져 있음
+ */
+public class PoolPartitionInterceptor implements MethodInterceptor {
+
+    private final Map<Class<?>, String> partitionsByClass;
+
+    public PoolPartitionInterceptor() {
+        this(Map.of());
+    }
+
+    /**
+     * @param partitionsByClass 애노테이션을 붙일 수 없는 클래스(레파지토리 등)의 파티션
+     */
+    public PoolPartitionInterceptor(Map<Class<?>, String> partitionsByClass) {
+        this.partitionsByClass = partitionsByClass;
+    }
+
+    /**
+     * target 을 감싼 프록시 반환 (인터페이스가 없으면 CGLIB)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T proxy(T target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(this);
+        return (T) proxyFactory.getProxy();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() == null ? invocation.getMethod().getDeclaringClass()
+                : AopUtils.getTargetClass(invocation.getThis());
+        String partition = partitionOf(invocation.getMethod(), targetClass);
+        if (partition == null) {
+            return invocation.proceed();
+        }
+        String previous = PartitionContext.enter(partition);
+        try {
+            return invocation.proceed();
+        } finally {
+            PartitionContext.restore(previous);
+        }
+    }
+
+    String partitionOf(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        PoolPartition annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, PoolPartition.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, PoolPartition.class);
+        }
+        if (annotation != null) {
+            return annotation.value();
+        }
+        return partitionsByClass.get(targetClass);
+    }
+}
@@ -0,0 +1,100 @@
+package hello.itemservice.repository;
+
+import hello.itemservice.domain.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 여러 id 를 IN 절 하나로 조회 (findAllById)
+ *
+ * : 중복 id 는 한 번만 조회하고, 결과는 입력 순서대로 (없는 id 는 제외)
+ * : IN 목록 크기를 2의 거듭제곱(1, 2, 4 ... MAX_CHUNK)으로 맞춤 (마지막 id 를 반복해서 채움)
+ *   -> id 개수마다 다른 SQL 이 생기지 않으므로 문장 캐시(PreparedStatement, 파싱 결과)를 재사용
+ * : MAX_CHUNK 보다 많으면 나눠서 조회
+ */
+public final class ItemIdChunks {
+
+    public static final int MAX_CHUNK = 128;
+
+    private static final String[] IN_SQL = new String[MAX_CHUNK + 1];
+
+    static {
+        for (int size = 1; size <= MAX_CHUNK; size <<= 1) {
+            String[] marks = new String[size];
+            Arrays.fill(marks, "?");
+            IN_SQL[size] = "select id, item_name, price, quantity, version from item where id in (" + String.join(", ", marks) + ")";
+        }
+    }
+
+    private ItemIdChunks() {
+    }
+
+    /**
+     * @param chunkLoader 채워진 id 목록(크기는 2의 거듭제곱)으로 한 번 조회
+     */
+    public static List<Item> load(Collection<Long> ids, Function<List<Long>, List<Item>> chunkLoader) {
+        List<Long> distinctIds = distinct(ids);
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> found = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += MAX_CHUNK) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + MAX_CHUNK, distinctIds.size()));
+            for (Item item : chunkLoader.apply(pad(chunk))) {
+                found.put(item.getId(), item);
+            }
+        }
+        return inOrder(distinctIds, found);
+    }
+
+    /**
+     * 채워진 크기의 IN 절 SQL (? 순서 = id 목록 순서)
+     */
+    public static String sql(int paddedSize) {
+        return IN_SQL[paddedSize];
+    }
+
+    public static List<Long> distinct(Collection<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        return new ArrayList<>(distinct);
+    }
+
+    public static List<Item> inOrder(List<Long> distinctIds, Map<Long, Item> found) {
+        List<Item> result = new ArrayList<>(found.size());
+        for (Long id : distinctIds) {
+            Item item = found.get(id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 목록 크기를 2의 거듭제곱으로 채움 (sql(int) 와 함께 사용)
+     */
+    public static List<Long> pad(List<Long> chunk) {
+        int size = Integer.highestOneBit(chunk.size());
+        if (size == chunk.size()) {
+            return chunk;
+        }
+        size <<= 1;
+        List<Long> padded = new ArrayList<>(size);
+        padded.addAll(chunk);
+        Long last = chunk.get(chunk.size() - 1);
+        while (padded.size() < size) {
+            padded.add(last);   // IN 절은 중복 값이 있어도 결과는 같음
+        }
+        return padded;
+    }
+}
@@ -0,0 +1,75 @@
+package hello.itemservice.repository;
+
+import hello.itemservice.domain.Item;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * 여러 상품 저장 : INSERT 하나를 JDBC 배치로 실행 -> BATCH_SIZE 건마다 한 번 왕복
+ * 자동 증가 키는 배치 실행 후 getGeneratedKeys 로 입력 순서대로 받아서 채움
+ *
+ * JPA(IDENTITY) 는 INSERT 할 때마다 키를 받아야 해서 하이버네이트가 INSERT 배치를 사용하지 않음
+ * -> 대량 등록은 JPA 를 거치지 않고 이 SQL 로 저장
+ */
+public final class ItemInsertSql {
+
+    public static final String SQL = "insert into item(item_name, price, quantity) values (?, ?, ?)";
+    static final int BATCH_SIZE = 500;
+    private static final String[] KEY_COLUMNS = {"id"};
+
+    private ItemInsertSql() {
+    }
+
+    /**
+     * JdbcTemplate 의 문장 설정(쿼리 타임아웃 등)과 예외 변환 사용
+     */
+    public static List<Item> batchInsert(JdbcTemplate template, List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        return template.execute(con -> con.prepareStatement(SQL, KEY_COLUMNS),
+                (PreparedStatementCallback<List<Item>>) ps -> insert(ps, items));
+    }
+
+    /**
+     * 이미 얻은 커넥션으로 실행 (하이버네이트 Session.doWork 등)
+     */
+    public static List<Item> batchInsert(Connection con, List<Item> items) throws SQLException {
+        if (items.isEmpty()) {
+            return items;
+        }
+        try (PreparedStatement ps = con.prepareStatement(SQL, KEY_COLUMNS)) {
+            return insert(ps, items);
+        }
+    }
+
+    private static List<Item> insert(PreparedStatement ps, List<Item> items) throws SQLException {
+        for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+            List<Item> batch = items.subList(from, Math.min(from + BATCH_SIZE, items.size()));
+            for (Item item : batch) {
+                ps.setString(1, item.getItemName());
+                ps.setObject(2, item.getPrice(), Types.INTEGER);
+                ps.setObject(3, item.getQuantity(), Types.INTEGER);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (Item item : batch) {
+                    if (!keys.next()) {
+                        throw new SQLException("missing generated key for item " + item.getItemName());
+                    }
+                    item.setId(keys.getLong(1));
+                    item.setVersion(0L);   // DB 기본값
+                }
+            }
+        }
+        return items;
+    }
+}
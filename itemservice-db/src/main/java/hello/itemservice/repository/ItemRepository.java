@@ -1,9 +1,15 @@
 package hello.itemservice.repository;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface ItemRepository {
 
@@ -11,8 +17,47 @@ public interface ItemRepository {
 
     void update(Long itemId, ItemUpdateDto updateParam);
 
+    /**
+     * 여러 상품 저장 : 기본 구현은 save 반복, 결과는 입력 순서대로 (id 채워짐)
+     */
+    default List<Item> saveAll(List<Item> items) {
+        List<Item> savedItems = new ArrayList<>(items.size());
+        for (Item item : items) {
+            savedItems.add(save(item));
+        }
+        return savedItems;
+    }
+
+    /**
+     * 여러 상품 수정 (itemId -> 변경 필드) : 기본 구현은 update 반복, 배치 UPDATE 가 가능한 레파지토리는 재정의
+     */
+    default void updateAll(Map<Long, ItemUpdateDto> updates) {
+        updates.forEach(this::update);
+    }
+
     Optional<Item> findById(Long id);
 
     List<Item> findAll(ItemSearchCond cond);
 
+    /**
+     * 여러 상품을 한 번에 조회 : 중복 id 는 한 번만, 결과는 입력 순서대로 (없는 id 는 제외)
+     * 기본 구현은 findById 반복, IN 절로 한 번에 조회할 수 있는 레파지토리는 재정의
+     */
+    default List<Item> findAllById(Collection<Long> ids) {
+        List<Long> distinctIds = ItemIdChunks.distinct(ids);
+        Map<Long, Item> found = new HashMap<>(distinctIds.size() * 2);
+        for (Long id : distinctIds) {
+            findById(id).ifPresent(item -> found.put(id, item));
+        }
+        return ItemIdChunks.inOrder(distinctIds, found);
+    }
+
+    /**
+     * 조회 전용 : 기본 구현은 Item 을 변환, 박싱 없이 바로 매핑할 수 있는 레파지토리는 재정의
+     */
+    default List<ItemRow> findAllRows(ItemSearchCond cond) {
+        return findAll(cond).stream()
+                .map(ItemRow::from)
+                .collect(Collectors.toList());
+    }
 }
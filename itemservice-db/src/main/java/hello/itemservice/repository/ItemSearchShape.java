@@ -0,0 +1,58 @@
+package hello.itemservice.repository;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * 상품 검색 조건의 모양(어떤 조건이 채워졌는지)은 4가지뿐
+ * -> 동적 쿼리를 매번 문자열로 조립하지 않고, 모양별 SQL 을 미리 만들어 둠
+ *
+ * : SQL 문자열이 항상 같으므로 DB 의 세션별 파싱 결과 캐시(H2 QUERY_CACHE_SIZE)에 계속 적중
+ * : 파라미터는 배열로 바인딩 (BeanPropertySqlParameterSource 리플렉션 X)
+ */
+public enum ItemSearchShape {
+
+    ALL(""),
+    NAME(" where item_name like concat('%',?,'%')"),
+    PRICE(" where price <= ?"),
+    NAME_AND_PRICE(" where item_name like concat('%',?,'%') and price <= ?");
+
+    private static final Object[] NO_PARAMS = new Object[0];
+
+    private final String sql;
+
+    ItemSearchShape(String where) {
+        this.sql = "select id, item_name, price, quantity, version from item" + where;
+    }
+
+    public static ItemSearchShape of(ItemSearchCond cond) {
+        boolean hasName = StringUtils.hasText(cond.getItemName());
+        boolean hasPrice = cond.getMaxPrice() != null;
+        if (hasName && hasPrice) {
+            return NAME_AND_PRICE;
+        }
+        if (hasName) {
+            return NAME;
+        }
+        return hasPrice ? PRICE : ALL;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * SQL 의 ? 순서와 같은 순서의 파라미터 배열
+     */
+    public Object[] params(ItemSearchCond cond) {
+        switch (this) {
+            case NAME:
+                return new Object[]{cond.getItemName()};
+            case PRICE:
+                return new Object[]{cond.getMaxPrice()};
+            case NAME_AND_PRICE:
+                return new Object[]{cond.getItemName(), cond.getMaxPrice()};
+            default:
+                return NO_PARAMS;
+        }
+    }
+}
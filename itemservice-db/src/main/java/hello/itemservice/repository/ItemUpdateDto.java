@@ -1,19 +1,96 @@
 package hello.itemservice.repository;
 
+import hello.itemservice.domain.Item;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+/**
+ * 변경할 필드만 기록 (setter 를 호출한 필드 = 변경 대상)
+ * -> 레파지토리는 변경된 칼럼만 UPDATE
+ *
+ * version : 수정 폼을 열 때 읽은 버전 (낙관적 락)
+ * -> 그 사이 다른 수정이 있었으면 OptimisticLockingFailureException, null 이면 버전 검사 X
+ */
 @Data
 public class ItemUpdateDto {
+
+    public static final int ITEM_NAME = 1;
+    public static final int PRICE = 1 << 1;
+    public static final int QUANTITY = 1 << 2;
+
     private String itemName;
     private Integer price;
     private Integer quantity;
+    private Long version;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int changed;   // 변경된 필드 비트
 
     public ItemUpdateDto() {
     }
 
     public ItemUpdateDto(String itemName, Integer price, Integer quantity) {
+        setItemName(itemName);
+        setPrice(price);
+        setQuantity(quantity);
+    }
+
+    public void setItemName(String itemName) {
         this.itemName = itemName;
+        changed |= ITEM_NAME;
+    }
+
+    public void setPrice(Integer price) {
         this.price = price;
+        changed |= PRICE;
+    }
+
+    public void setQuantity(Integer quantity) {
         this.quantity = quantity;
+        changed |= QUANTITY;
+    }
+
+    public boolean isItemNameChanged() {
+        return (changed & ITEM_NAME) != 0;
+    }
+
+    public boolean isPriceChanged() {
+        return (changed & PRICE) != 0;
+    }
+
+    public boolean isQuantityChanged() {
+        return (changed & QUANTITY) != 0;
+    }
+
+    public boolean hasChanges() {
+        return changed != 0;
+    }
+
+    public int changedFields() {
+        return changed;
+    }
+
+    /**
+     * 엔티티에는 변경된 필드만 반영 (@DynamicUpdate 와 함께 사용하면 바뀐 칼럼만 UPDATE)
+     */
+    public void applyTo(Item item) {
+        if (version != null && !version.equals(item.getVersion())) {
+            // 영속성 컨텍스트는 조회 시점의 버전으로 검사하므로, 폼에서 넘어온 버전은 직접 비교
+            throw new OptimisticLockingFailureException(
+                    "item " + item.getId() + " version " + version + " != " + item.getVersion());
+        }
+        if (isItemNameChanged()) {
+            item.setItemName(itemName);
+        }
+        if (isPriceChanged()) {
+            item.setPrice(price);
+        }
+        if (isQuantityChanged()) {
+            item.setQuantity(quantity);
+        }
     }
 }
@@ -0,0 +1,106 @@
+package hello.itemservice.repository;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static hello.itemservice.repository.ItemUpdateDto.*;
+
+/**
+ * 변경된 칼럼만 UPDATE
+ * 변경 필드 조합은 7가지뿐 -> 조합별 SQL 을 미리 만들어 두고 비트 값으로 바로 찾음
+ *
+ * 낙관적 락 : 수정할 때마다 version 1 증가
+ * 읽을 때의 version 이 있으면 where 에 추가 -> 그 사이 다른 수정이 있었으면 변경된 행 수 0
+ */
+public final class ItemUpdateSql {
+
+    private static final String[] SQL = new String[8];
+    private static final String[] VERSIONED_SQL = new String[8];
+
+    static {
+        for (int changed = 1; changed < SQL.length; changed++) {
+            List<String> columns = new ArrayList<>();
+            if ((changed & ITEM_NAME) != 0) {
+                columns.add("item_name=?");
+            }
+            if ((changed & PRICE) != 0) {
+                columns.add("price=?");
+            }
+            if ((changed & QUANTITY) != 0) {
+                columns.add("quantity=?");
+            }
+            columns.add("version=version + 1");
+            SQL[changed] = "update item set " + String.join(", ", columns) + " where id=?";
+            VERSIONED_SQL[changed] = SQL[changed] + " and version=?";
+        }
+    }
+
+    private ItemUpdateSql() {
+    }
+
+    /**
+     * 변경된 필드가 없으면 null
+     */
+    public static String sql(ItemUpdateDto updateParam) {
+        String[] sql = updateParam.getVersion() == null ? SQL : VERSIONED_SQL;
+        return sql[updateParam.changedFields()];
+    }
+
+    /**
+     * 버전을 지정했는데 변경된 행이 없음 = 그 사이 다른 트랜잭션이 수정(또는 삭제)
+     */
+    public static void checkUpdated(Long itemId, ItemUpdateDto updateParam, int updatedRows) {
+        if (updatedRows == 0 && updateParam.getVersion() != null) {
+            throw new OptimisticLockingFailureException(
+                    "item " + itemId + " was updated by another transaction (version " + updateParam.getVersion() + ")");
+        }
+    }
+
+    /**
+     * SQL 의 ? 순서와 같은 순서 (변경된 칼럼들 -> id -> version)
+     */
+    public static Object[] params(Long itemId, ItemUpdateDto updateParam) {
+        List<Object> params = new ArrayList<>(5);
+        if (updateParam.isItemNameChanged()) {
+            params.add(updateParam.getItemName());
+        }
+        if (updateParam.isPriceChanged()) {
+            params.add(updateParam.getPrice());
+        }
+        if (updateParam.isQuantityChanged()) {
+            params.add(updateParam.getQuantity());
+        }
+        params.add(itemId);
+        if (updateParam.getVersion() != null) {
+            params.add(updateParam.getVersion());
+        }
+        return params.toArray();
+    }
+
+    /**
+     * 여러 상품 수정 : 같은 SQL(변경 필드 조합 + 버전 여부)끼리 묶어서 JDBC 배치로 실행 -> SQL 종류 수만큼만 왕복
+     */
+    public static void batchUpdate(JdbcTemplate template, Map<Long, ItemUpdateDto> updates) {
+        Map<String, List<Map.Entry<Long, ItemUpdateDto>>> bySql = new LinkedHashMap<>();
+        for (Map.Entry<Long, ItemUpdateDto> update : updates.entrySet()) {
+            if (update.getValue().hasChanges()) {
+                bySql.computeIfAbsent(sql(update.getValue()), sql -> new ArrayList<>()).add(update);
+            }
+        }
+        bySql.forEach((sql, group) -> {
+            List<Object[]> batchArgs = new ArrayList<>(group.size());
+            for (Map.Entry<Long, ItemUpdateDto> update : group) {
+                batchArgs.add(params(update.getKey(), update.getValue()));
+            }
+            int[] updatedRows = template.batchUpdate(sql, batchArgs);
+            for (int i = 0; i < updatedRows.length; i++) {
+                checkUpdated(group.get(i).getKey(), group.get(i).getValue(), updatedRows[i]);
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package hello.itemservice.repository;
+
+import hello.itemservice.domain.Item;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 논블로킹 레파지토리 : DB 응답을 기다리는 동안 스레드를 점유하지 않음
+ */
+public interface ReactiveItemRepository {
+
+    Mono<Item> save(Item item);
+
+    Mono<Void> update(Long itemId, ItemUpdateDto updateParam);
+
+    Mono<Item> findById(Long id);
+
+    Flux<Item> findAll(ItemSearchCond cond);   // 구독자의 요청량(request(n))만큼 흘려보냄
+
+}
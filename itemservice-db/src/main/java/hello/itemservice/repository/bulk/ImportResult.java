@@ -0,0 +1,19 @@
+package hello.itemservice.repository.bulk;
+
+import lombok.Data;
+
+/**
+ * 가져오기 진행 상황 / 결과
+ */
+@Data
+public class ImportResult {
+
+    private final long lastLine;      // 반영이 끝난 마지막 줄 (체크포인트)
+    private final long imported;      // 이번 실행에서 저장한 행 수
+    private final long rejected;      // 검증 실패로 건너뛴 행 수
+    private final long elapsedMillis;
+
+    public long rowsPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000 / elapsedMillis;
+    }
+}
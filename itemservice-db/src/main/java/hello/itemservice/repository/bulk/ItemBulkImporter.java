@@ -0,0 +1,268 @@
+package hello.itemservice.repository.bulk;
+
+import hello.itemservice.domain.Item;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * 대량 상품 가져오기 (CSV / JSONL -> item 테이블)
+ *
+ * 파이프라인
+ * : 읽기(현재 스레드, 1MB 버퍼) -> 청크(chunkLines 줄) 단위 병렬 파싱/검증 -> 읽은 순서대로 배치 INSERT
+ * : 파싱 중인 청크 수를 제한(parallelism * 2) -> 파일 크기와 상관없이 메모리 사용량 일정
+ *
+ * 장애 복구
+ * : 청크 INSERT 와 체크포인트(item_import_checkpoint : 파일별 마지막 반영 줄 번호, schema.sql)를 같은 트랜잭션에서 저장
+ *   -> 실패 후 다시 실행하면 체크포인트 다음 줄부터 이어서 가져옴 (중복 X)
+ *
+ * 인덱스 재생성 지연
+ * : deferredIndexes(인덱스명 -> 생성 DDL)를 가져오기 전에 삭제하고 끝난 뒤 한 번에 다시 생성
+ *   -> 행마다 인덱스를 갱신하지 않음
+ *
+ * importWithCsvRead : H2 가 파일에 직접 접근할 수 있으면(내장 모드) CSVREAD + INSERT ... SELECT 로 DB 안에서 처리
+ */
+@Slf4j
+public class ItemBulkImporter {
+
+    private static final String INSERT_SQL = "insert into item(item_name, price, quantity) values (?, ?, ?)";
+
+    private final JdbcTemplate template;
+    private final TransactionTemplate txTemplate;
+    private final int chunkLines;
+    private final int batchSize;
+    private final int parallelism;
+    private final Map<String, String> deferredIndexes = new LinkedHashMap<>();
+    private Consumer<ImportResult> progressListener = result -> { };
+    private long progressEveryRows = 1_000_000;
+    private Runnable afterImport = () -> { };
+
+    public ItemBulkImporter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                            int chunkLines, int batchSize, int parallelism) {
+        this.template = new JdbcTemplate(dataSource);
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.chunkLines = chunkLines;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    public ItemBulkImporter deferIndex(String indexName, String createDdl) {
+        deferredIndexes.put(indexName, createDdl);
+        return this;
+    }
+
+    public ItemBulkImporter onProgress(long everyRows, Consumer<ImportResult> listener) {
+        this.progressEveryRows = everyRows;
+        this.progressListener = listener;
+        return this;
+    }
+
+    /**
+     * 가져오기가 끝나면 호출 (실패해도 이미 커밋된 청크가 있으므로 항상 호출)
+     * JDBC 로 바로 INSERT 하므로 JPA 2차 캐시 / 쿼리 캐시, 목록 화면 캐시 무효화는 여기서 (BulkImportConfig)
+     */
+    public ItemBulkImporter afterImport(Runnable listener) {
+        this.afterImport = listener;
+        return this;
+    }
+
+    public ImportResult importFile(Path file) {
+        String source = file.toAbsolutePath().normalize().toString();
+        ItemRecordParser parser = ItemRecordParser.of(file);
+        long checkpoint = checkpoint(source);
+        log.info("import start file={} resume after line={}", source, checkpoint);
+
+        dropDeferredIndexes();
+        ExecutorService parsePool = Executors.newFixedThreadPool(parallelism);
+        Progress progress = new Progress(checkpoint);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), 1 << 20)) {
+            Deque<CompletableFuture<ParsedChunk>> window = new ArrayDeque<>();
+            long lineNo = 0;
+            List<String> lines = new ArrayList<>(chunkLines);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (lineNo <= checkpoint || (lineNo == 1 && parser.isHeader(line)) || line.isBlank()) {
+                    continue;
+                }
+                lines.add(line);
+                if (lines.size() == chunkLines) {
+                    submit(window, parsePool, parser, lines, lineNo, source, progress);
+                    lines = new ArrayList<>(chunkLines);
+                }
+            }
+            if (!lines.isEmpty() || lineNo > checkpoint) {   // 남은 줄 (헤더/빈 줄만 남았어도 마지막 줄 번호 기록)
+                submit(window, parsePool, parser, lines, lineNo, source, progress);
+            }
+            while (!window.isEmpty()) {
+                load(window.poll().join(), source, progress);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            parsePool.shutdownNow();
+            createDeferredIndexes();
+            afterImport.run();
+        }
+
+        ImportResult result = progress.result();
+        log.info("import done file={} imported={} rejected={} {} rows/s",
+                source, result.getImported(), result.getRejected(), result.rowsPerSecond());
+        return result;
+    }
+
+    /**
+     * H2 전용 : 파일을 DB 가 직접 읽어서 INSERT ... SELECT (한 문장 = 한 트랜잭션, 실패하면 전체 롤백 후 다시 실행)
+     * CSV 첫 줄은 item_name,price,quantity 헤더여야 함, 검증에 실패한 행은 제외
+     */
+    public ImportResult importWithCsvRead(Path csvFile) {
+        String file = csvFile.toAbsolutePath().normalize().toString();
+        //테이블 함수는 prepare 시점에 실행되므로 파라미터(?)를 쓸 수 없음 -> 문자열 리터럴로 (작은따옴표 이스케이프)
+        String rows = "csvread('" + file.replace("'", "''") + "', null, 'charset=UTF-8')";
+        String validRow = " where item_name is not null and char_length(item_name) between 1 and " + ItemRecordParser.MAX_NAME_LENGTH +
+                " and price regexp '^[0-9]{1,9}$' and quantity regexp '^[0-9]{1,9}$'";
+
+        long start = System.nanoTime();
+        dropDeferredIndexes();
+        try {
+            Long total = template.queryForObject("select count(*) from " + rows, Long.class);
+            int imported = template.update("insert into item(item_name, price, quantity) " +
+                    "select item_name, cast(price as int), cast(quantity as int) from " + rows + validRow);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            ImportResult result = new ImportResult(total, imported, total - imported, elapsedMillis);
+            log.info("csvread import done file={} imported={} rejected={} {} rows/s",
+                    file, imported, result.getRejected(), result.rowsPerSecond());
+            return result;
+        } finally {
+            createDeferredIndexes();
+            afterImport.run();
+        }
+    }
+
+    public void resetCheckpoint(Path file) {
+        template.update("delete from item_import_checkpoint where source = ?", file.toAbsolutePath().normalize().toString());
+    }
+
+    private void submit(Deque<CompletableFuture<ParsedChunk>> window, ExecutorService parsePool, ItemRecordParser parser,
+                        List<String> lines, long lastLine, String source, Progress progress) {
+        window.add(CompletableFuture.supplyAsync(() -> parse(parser, lines, lastLine), parsePool));
+        if (window.size() >= parallelism * 2) {
+            load(window.poll().join(), source, progress);   // 가장 오래된 청크부터 순서대로 반영
+        }
+    }
+
+    private ParsedChunk parse(ItemRecordParser parser, List<String> lines, long lastLine) {
+        List<Item> items = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            Item item = parser.parse(line);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return new ParsedChunk(items, lines.size() - items.size(), lastLine);
+    }
+
+    private void load(ParsedChunk chunk, String source, Progress progress) {
+        txTemplate.executeWithoutResult(status -> {
+            if (!chunk.items.isEmpty()) {
+                template.batchUpdate(INSERT_SQL, chunk.items, batchSize, (ps, item) -> {
+                    ps.setString(1, item.getItemName());
+                    ps.setInt(2, item.getPrice());
+                    ps.setInt(3, item.getQuantity());
+                });
+            }
+            template.update("merge into item_import_checkpoint key(source) values (?, ?)", source, chunk.lastLine);
+        });
+        if (progress.add(chunk, progressEveryRows)) {
+            ImportResult result = progress.result();
+            log.info("import progress line={} imported={} {} rows/s", result.getLastLine(), result.getImported(), result.rowsPerSecond());
+            progressListener.accept(result);
+        }
+    }
+
+    private long checkpoint(String source) {
+        try {
+            return template.queryForObject("select line from item_import_checkpoint where source = ?", Long.class, source);
+        } catch (EmptyResultDataAccessException e) {
+            return 0;
+        }
+    }
+
+    private void dropDeferredIndexes() {
+        for (String indexName : deferredIndexes.keySet()) {
+            template.execute("drop index if exists " + indexName);
+        }
+    }
+
+    private void createDeferredIndexes() {
+        for (String ddl : deferredIndexes.values()) {
+            long start = System.nanoTime();
+            template.execute(ddl);
+            log.info("index rebuilt {}ms : {}", (System.nanoTime() - start) / 1_000_000, ddl);
+        }
+    }
+
+    private static class ParsedChunk {
+        final List<Item> items;
+        final int rejected;
+        final long lastLine;
+
+        ParsedChunk(List<Item> items, int rejected, long lastLine) {
+            this.items = items;
+            this.rejected = rejected;
+            this.lastLine = lastLine;
+        }
+    }
+
+    /**
+     * 반영 순서대로 한 스레드(호출 스레드)에서만 갱신
+     */
+    private static class Progress {
+        final long start = System.nanoTime();
+        long lastLine;
+        long imported;
+        long rejected;
+        long nextReport;
+
+        Progress(long lastLine) {
+            this.lastLine = lastLine;
+        }
+
+        boolean add(ParsedChunk chunk, long everyRows) {
+            lastLine = chunk.lastLine;
+            imported += chunk.items.size();
+            rejected += chunk.rejected;
+            if (imported >= nextReport) {
+                nextReport = imported + everyRows;
+                return true;
+            }
+            return false;
+        }
+
+        ImportResult result() {
+            return new ImportResult(lastLine, imported, rejected, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
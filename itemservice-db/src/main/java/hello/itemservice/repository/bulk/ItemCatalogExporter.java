@@ -0,0 +1,200 @@
+package hello.itemservice.repository.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import hello.itemservice.partition.PoolPartition;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSearchShape;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 상품 카탈로그 내보내기 (CSV / NDJSON)
+ *
+ * : 목록(List)을 만들지 않고 DB 커서에서 한 행씩 읽어서 바로 OutputStream 에 씀 -> 힙 사용량이 카탈로그 크기와 무관
+ * : fetchSize 만큼씩 DB 에서 가져옴 (H2 TCP 모드는 fetchSize 단위 전송, 내장 모드는 LAZY_QUERY_EXECUTION=1 이어야 커서)
+ * : 느린 클라이언트 -> 출력 스트림 쓰기가 블로킹 -> 다음 행을 읽지 않음 (별도 버퍼에 쌓이지 않는 배압)
+ *
+ * CSV 형식은 ItemBulkImporter 로 다시 가져올 수 있음 (item_name,price,quantity 헤더)
+ */
+@Slf4j
+@PoolPartition("scan")   // 카탈로그 전체를 읽는 긴 커서 -> scan 파티션 (PoolPartitionConfig)
+public class ItemCatalogExporter {
+
+    public enum Format {
+        CSV("text/csv", ".csv"),
+        NDJSON("application/x-ndjson", ".ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JdbcTemplate template;
+
+    public ItemCatalogExporter(DataSource dataSource, int fetchSize) {
+        this.template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+    }
+
+    /**
+     * @return 내보낸 행 수
+     */
+    public long export(ItemSearchCond cond, Format format, OutputStream out) throws IOException {
+        return write(cond, format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out, false), format.name());
+    }
+
+    /**
+     * JSON API 검색 결과 : NDJSON 에 id, version 까지 포함 (수정 요청에 그대로 사용)
+     */
+    public long streamItems(ItemSearchCond cond, OutputStream out) throws IOException {
+        return write(cond, new NdjsonRowWriter(out, true), "api");
+    }
+
+    private long write(ItemSearchCond cond, RowWriter rowWriter, String format) throws IOException {
+        ItemSearchShape shape = ItemSearchShape.of(cond);
+        long start = System.nanoTime();
+        try {
+            template.query(shape.sql(), rowWriter, shape.params(cond));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();   // 클라이언트 연결 끊김 등 -> 커서는 query 가 닫아줌
+        }
+        rowWriter.finish();
+        log.info("export format={} rows={} {}ms", format, rowWriter.rows, (System.nanoTime() - start) / 1_000_000);
+        return rowWriter.rows;
+    }
+
+    private abstract static class RowWriter implements RowCallbackHandler {
+
+        long rows;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                write(rs.getLong("id"), rs.getString("item_name"), getInteger(rs, "price"), getInteger(rs, "quantity"),
+                        rs.getLong("version"));
+                rows++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract void write(long id, String itemName, Integer price, Integer quantity, long version) throws IOException;
+
+        abstract void finish() throws IOException;
+
+        private Integer getInteger(ResultSet rs, String column) throws SQLException {
+            int value = rs.getInt(column);
+            return rs.wasNull() ? null : value;
+        }
+    }
+
+    private static class CsvRowWriter extends RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            writer.write("item_name,price,quantity\n");
+        }
+
+        @Override
+        void write(long id, String itemName, Integer price, Integer quantity, long version) throws IOException {
+            writeName(itemName);
+            writer.write(',');
+            if (price != null) {
+                writer.write(Integer.toString(price));
+            }
+            writer.write(',');
+            if (quantity != null) {
+                writer.write(Integer.toString(quantity));
+            }
+            writer.write('\n');
+        }
+
+        private void writeName(String itemName) throws IOException {
+            if (itemName == null) {
+                return;
+            }
+            if (itemName.indexOf(',') < 0 && itemName.indexOf('"') < 0 && itemName.indexOf('\n') < 0) {
+                writer.write(itemName);
+                return;
+            }
+            writer.write('"');
+            writer.write(itemName.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+        private final boolean withKeys;
+
+        NdjsonRowWriter(OutputStream out, boolean withKeys) throws IOException {
+            this.generator = JSON.createGenerator(out);
+            this.withKeys = withKeys;
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(long id, String itemName, Integer price, Integer quantity, long version) throws IOException {
+            generator.writeStartObject();
+            if (withKeys) {
+                generator.writeNumberField("id", id);
+            }
+            generator.writeStringField("itemName", itemName);
+            writeNumber("price", price);
+            writeNumber("quantity", quantity);
+            if (withKeys) {
+                generator.writeNumberField("version", version);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeNumber(String field, Integer value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeNumberField(field, value);
+            }
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
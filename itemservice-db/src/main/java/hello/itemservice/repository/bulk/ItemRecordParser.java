@@ -0,0 +1,116 @@
+package hello.itemservice.repository.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.Item;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 한 줄 -> Item (검증 실패 시 null)
+ *
+ * CSV   : item_name,price,quantity (첫 줄이 헤더면 건너뜀, 상품명은 "..." 로 감쌀 수 있음)
+ * JSONL : {"itemName":"itemA","price":10000,"quantity":10}
+ */
+public enum ItemRecordParser {
+
+    CSV {
+        @Override
+        Item parse(String line) {
+            int nameEnd;
+            String itemName;
+            if (line.startsWith("\"")) {
+                nameEnd = line.indexOf('"', 1);
+                if (nameEnd < 0 || nameEnd + 1 >= line.length() || line.charAt(nameEnd + 1) != ',') {
+                    return null;
+                }
+                itemName = line.substring(1, nameEnd);
+                nameEnd++;
+            } else {
+                nameEnd = line.indexOf(',');
+                if (nameEnd < 0) {
+                    return null;
+                }
+                itemName = line.substring(0, nameEnd);
+            }
+            int priceEnd = line.indexOf(',', nameEnd + 1);
+            if (priceEnd < 0) {
+                return null;
+            }
+            Integer price = parseInt(line, nameEnd + 1, priceEnd);
+            Integer quantity = parseInt(line, priceEnd + 1, line.length());
+            return valid(itemName, price, quantity);
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return line.startsWith("item_name");
+        }
+    },
+
+    JSONL {
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        @Override
+        Item parse(String line) {
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                JsonNode price = node.path("price");
+                JsonNode quantity = node.path("quantity");
+                return valid(node.path("itemName").textValue(),
+                        price.canConvertToInt() && price.isIntegralNumber() ? price.intValue() : null,
+                        quantity.canConvertToInt() && quantity.isIntegralNumber() ? quantity.intValue() : null);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return false;
+        }
+    };
+
+    static final int MAX_NAME_LENGTH = 10;   // item.item_name varchar(10)
+
+    abstract Item parse(String line);
+
+    abstract boolean isHeader(String line);
+
+    public static ItemRecordParser of(Path file) {
+        return file.getFileName().toString().endsWith(".jsonl") ? JSONL : CSV;
+    }
+
+    static Item valid(String itemName, Integer price, Integer quantity) {
+        if (itemName == null || itemName.isBlank() || itemName.length() > MAX_NAME_LENGTH
+                || price == null || price < 0 || quantity == null || quantity < 0) {
+            return null;
+        }
+        return new Item(itemName, price, quantity);
+    }
+
+    /**
+     * Integer.parseInt(substring) 대신 문자열 복사 없이 파싱, 숫자가 아니거나 범위를 넘으면 null
+     */
+    static Integer parseInt(String s, int from, int to) {
+        while (from < to && s.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && (s.charAt(to - 1) == ' ' || s.charAt(to - 1) == '\r')) {
+            to--;
+        }
+        if (from == to || to - from > 10) {
+            return null;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? null : (int) value;
+    }
+}
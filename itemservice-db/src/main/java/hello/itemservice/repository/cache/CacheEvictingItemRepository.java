@@ -0,0 +1,105 @@
+package hello.itemservice.repository.cache;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 하이버네이트를 거치지 않는 레파지토리(JdbcTemplate, MyBatis)용 2차 캐시 무효화 데코레이터
+ *
+ * JPA 로 변경하면 하이버네이트가 엔티티 캐시와 쿼리 캐시(update timestamps)를 직접 갱신하지만,
+ * 직접 SQL 을 실행하면 하이버네이트는 변경 사실을 모름 -> 캐시에 이전 값이 남음
+ * => 커밋이 끝난 후에 Item 엔티티 캐시와 쿼리 캐시를 비움 (커밋 전에 비우면 다른 트랜잭션이 이전 값을 다시 캐싱할 수 있음)
+ */
+@Slf4j
+public class CacheEvictingItemRepository implements ItemRepository {
+
+    private final ItemRepository target;
+    private final EntityManagerFactory emf;
+
+    public CacheEvictingItemRepository(ItemRepository target, EntityManagerFactory emf) {
+        this.target = target;
+        this.emf = emf;
+    }
+
+    @Override
+    public Item save(Item item) {
+        Item savedItem = target.save(item);
+        evictAfterCommit(List.of());   // 새 상품이 기존 조회 조건에 포함될 수 있으므로 쿼리 캐시만 비움
+        return savedItem;
+    }
+
+    @Override
+    public void update(Long itemId, ItemUpdateDto updateParam) {
+        target.update(itemId, updateParam);
+        evictAfterCommit(List.of(itemId));
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        List<Item> savedItems = target.saveAll(items);
+        evictAfterCommit(List.of());
+        return savedItems;
+    }
+
+    @Override
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        target.updateAll(updates);   // 대상 레파지토리의 배치 UPDATE 사용
+        evictAfterCommit(List.copyOf(updates.keySet()));
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        return target.findById(id);
+    }
+
+    @Override
+    public List<Item> findAllById(Collection<Long> ids) {
+        return target.findAllById(ids);
+    }
+
+    @Override
+    public List<Item> findAll(ItemSearchCond cond) {
+        return target.findAll(cond);
+    }
+
+    @Override
+    public List<ItemRow> findAllRows(ItemSearchCond cond) {
+        return target.findAllRows(cond);
+    }
+
+    private void evictAfterCommit(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(itemIds);   // 트랜잭션 밖이면 이미 자동 커밋됨
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(itemIds);
+            }
+        });
+    }
+
+    private void evict(Collection<Long> itemIds) {
+        Cache cache = emf.getCache();
+        for (Long itemId : itemIds) {
+            cache.evict(Item.class, itemId);
+        }
+        emf.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        log.debug("evict second level cache itemIds={}", itemIds);
+    }
+}
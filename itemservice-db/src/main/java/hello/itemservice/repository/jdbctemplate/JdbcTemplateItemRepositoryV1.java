@@ -1,20 +1,25 @@
 package hello.itemservice.repository.jdbctemplate;
 
+import hello.itemservice.deadline.DeadlineJdbcTemplate;
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemIdChunks;
+import hello.itemservice.repository.ItemInsertSql;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSearchShape;
 import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.ItemUpdateSql;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
 import java.sql.PreparedStatement;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,7 +32,7 @@ public class JdbcTemplateItemRepositoryV1 implements ItemRepository {
     private final JdbcTemplate template;
 
     public JdbcTemplateItemRepositoryV1(DataSource dataSource) {
-        this.template = new JdbcTemplate(dataSource);
+        this.template = new DeadlineJdbcTemplate(dataSource);   // 남은 요청 예산 -> 쿼리 타임아웃
     }
 
     @Override
@@ -45,22 +50,39 @@ public class JdbcTemplateItemRepositoryV1 implements ItemRepository {
 
         long key = keyHolder.getKey().longValue();   // DB에서 자동 생성된 키 가져오기
         item.setId(key);
+        item.setVersion(0L);   // DB 기본값
         return item;
     }
 
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
-        String sql = "update item set item_name=?, price=?, quantity=? where id=?";
-        template.update(sql,
-                updateParam.getItemName(),
-                updateParam.getPrice(),
-                updateParam.getQuantity(),
-                itemId);
+        if (!updateParam.hasChanges()) {
+            return;
+        }
+        String sql = ItemUpdateSql.sql(updateParam);   // 변경된 칼럼만 UPDATE
+        int updatedRows = template.update(sql, ItemUpdateSql.params(itemId, updateParam));
+        ItemUpdateSql.checkUpdated(itemId, updateParam, updatedRows);   // 버전 충돌
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        return ItemInsertSql.batchInsert(template, items);   // 배치 INSERT (BATCH_SIZE 건마다 한 번 왕복)
+    }
+
+    @Override
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        ItemUpdateSql.batchUpdate(template, updates);
+    }
+
+    @Override
+    public List<Item> findAllById(Collection<Long> ids) {
+        return ItemIdChunks.load(ids, chunk ->
+                template.query(ItemIdChunks.sql(chunk.size()), itemRowMapper(), chunk.toArray()));
     }
 
     @Override
     public Optional<Item> findById(Long id) {
-        String sql = "select id, item_name, price, quantity from item where id=?";
+        String sql = "select id, item_name, price, quantity, version from item where id=?";
 
         try {
             Item item = template.queryForObject(sql, itemRowMapper(), id);  // 반환값이 하나일 때 사용
@@ -77,41 +99,18 @@ public class JdbcTemplateItemRepositoryV1 implements ItemRepository {
             item.setItemName(rs.getString("item_name"));
             item.setPrice(rs.getInt("price"));
             item.setQuantity(rs.getInt("quantity"));
+            item.setVersion(rs.getLong("version"));
             return item;
         });
     }
 
     /**
-     * 검색 조건에 따른 모든 상황에 SQL들을 동적으로 생성해야 하는 문제 발생
+     * 검색 조건 모양별로 미리 만들어 둔 SQL 사용 (ItemSearchShape), 파라미터는 배열로 순서대로 바인딩
      */
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        String itemName = cond.getItemName();
-        Integer maxPrice = cond.getMaxPrice();
-        String sql = "select id, item_name, price, quantity from item";
-
-        //동적 쿼리
-        if (StringUtils.hasText(itemName) || maxPrice != null) {
-            sql += " where";
-        }
-
-        boolean andFlag = false;
-        List<Object> param = new ArrayList<>();
-        if (StringUtils.hasText(itemName)) {
-            sql += " item_name like concat('%',?,'%')";
-            param.add(itemName);
-            andFlag = true;
-        }
-
-        if (maxPrice != null) {
-            if (andFlag) {
-                sql += " and";
-            }
-            sql += " price <= ?";
-            param.add(maxPrice);
-        }
-
-        log.info("sql={}", sql);
-        return template.query(sql, itemRowMapper(), param.toArray());   // 결과가 하나 이상일 때 사용
+        ItemSearchShape shape = ItemSearchShape.of(cond);
+        log.debug("shape={}", shape);
+        return template.query(shape.sql(), itemRowMapper(), shape.params(cond));   // 결과가 하나 이상일 때 사용
     }
 }
@@ -1,20 +1,24 @@
 package hello.itemservice.repository.jdbctemplate;
 
+import hello.itemservice.deadline.DeadlineJdbcTemplate;
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemIdChunks;
+import hello.itemservice.repository.ItemInsertSql;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSearchShape;
 import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.ItemUpdateSql;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -32,7 +36,7 @@ public class JdbcTemplateItemRepositoryV2 implements ItemRepository {
     private final NamedParameterJdbcTemplate template;
 
     public JdbcTemplateItemRepositoryV2(DataSource dataSource) {
-        this.template = new NamedParameterJdbcTemplate(dataSource);
+        this.template = new NamedParameterJdbcTemplate(new DeadlineJdbcTemplate(dataSource));   // 남은 요청 예산 -> 쿼리 타임아웃
     }
 
     @Override
@@ -45,22 +49,39 @@ public class JdbcTemplateItemRepositoryV2 implements ItemRepository {
 
         long key = keyHolder.getKey().longValue();   // DB에서 자동 생성된 키 가져오기
         item.setId(key);
+        item.setVersion(0L);   // DB 기본값
         return item;
     }
 
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
-        String sql = "update item set item_name=:itemName, price=:price, quantity=:quantity where id=:id";
-        MapSqlParameterSource param = new MapSqlParameterSource()
-                .addValue("itemName", updateParam.getItemName())
-                .addValue("price", updateParam.getPrice())
-                .addValue("quantity", updateParam.getQuantity());
-        template.update(sql, param);
+        if (!updateParam.hasChanges()) {
+            return;
+        }
+        String sql = ItemUpdateSql.sql(updateParam);   // 변경된 칼럼만 UPDATE
+        int updatedRows = template.getJdbcTemplate().update(sql, ItemUpdateSql.params(itemId, updateParam));
+        ItemUpdateSql.checkUpdated(itemId, updateParam, updatedRows);   // 버전 충돌
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        return ItemInsertSql.batchInsert(template.getJdbcTemplate(), items);   // 배치 INSERT (BATCH_SIZE 건마다 한 번 왕복)
+    }
+
+    @Override
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        ItemUpdateSql.batchUpdate(template.getJdbcTemplate(), updates);
+    }
+
+    @Override
+    public List<Item> findAllById(Collection<Long> ids) {
+        return ItemIdChunks.load(ids, chunk ->
+                template.getJdbcTemplate().query(ItemIdChunks.sql(chunk.size()), itemRowMapper(), chunk.toArray()));
     }
 
     @Override
     public Optional<Item> findById(Long id) {
-        String sql = "select id, item_name as itemName, price, quantity from item where id=:id";
+        String sql = "select id, item_name as itemName, price, quantity, version from item where id=:id";
 
         try {
             Map<String, Long> param = Map.of("id", id);
@@ -72,35 +93,13 @@ public class JdbcTemplateItemRepositoryV2 implements ItemRepository {
     }
 
     /**
-     * 검색 조건에 따른 모든 상황에 SQL들을 동적으로 생성해야 하는 문제 발생
+     * 검색 조건 모양별로 미리 만들어 둔 SQL 사용 (ItemSearchShape), 파라미터는 배열로 순서대로 바인딩
      */
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        String itemName = cond.getItemName();
-        Integer maxPrice = cond.getMaxPrice();
-        String sql = "select id, item_name, price, quantity from item";
-        BeanPropertySqlParameterSource param = new BeanPropertySqlParameterSource(cond);
-
-        //동적 쿼리
-        if (StringUtils.hasText(itemName) || maxPrice != null) {
-            sql += " where";
-        }
-
-        boolean andFlag = false;
-        if (StringUtils.hasText(itemName)) {
-            sql += " item_name like concat('%', :itemName,'%')";
-            andFlag = true;
-        }
-
-        if (maxPrice != null) {
-            if (andFlag) {
-                sql += " and";
-            }
-            sql += " price <= :maxPrice";
-        }
-
-        log.info("sql={}", sql);
-        return template.query(sql, param, itemRowMapper());   // 결과가 하나 이상일 때 사용
+        ItemSearchShape shape = ItemSearchShape.of(cond);
+        log.debug("shape={}", shape);
+        return template.getJdbcTemplate().query(shape.sql(), itemRowMapper(), shape.params(cond));   // 결과가 하나 이상일 때 사용
     }
 
     /**
@@ -1,21 +1,26 @@
 package hello.itemservice.repository.jdbctemplate;
 
+import hello.itemservice.deadline.DeadlineJdbcTemplate;
 import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemIdChunks;
+import hello.itemservice.repository.ItemInsertSql;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSearchShape;
 import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.ItemUpdateSql;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
-import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -32,11 +37,12 @@ public class JdbcTemplateItemRepositoryV3 implements ItemRepository {
     private final SimpleJdbcInsert jdbcInsert;
 
     public JdbcTemplateItemRepositoryV3(DataSource dataSource) {
-        this.template = new NamedParameterJdbcTemplate(dataSource);
-        this.jdbcInsert = new SimpleJdbcInsert(dataSource)
+        DeadlineJdbcTemplate jdbcTemplate = new DeadlineJdbcTemplate(dataSource);   // 남은 요청 예산 -> 쿼리 타임아웃
+        this.template = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.jdbcInsert = new SimpleJdbcInsert(jdbcTemplate)
                 .withTableName("item")
-                .usingGeneratedKeyColumns("id");  // PK
-//                .usingColumns("item_name", "price", "quantity"); // INSERT할 특정 칼럼 지정, 생략하면 모든 칼럼 사용
+                .usingGeneratedKeyColumns("id")  // PK
+                .usingColumns("item_name", "price", "quantity"); // INSERT할 특정 칼럼 지정, 생략하면 모든 칼럼 사용 (version 은 DB 기본값)
     }
 
     @Override
@@ -44,23 +50,39 @@ public class JdbcTemplateItemRepositoryV3 implements ItemRepository {
         SqlParameterSource params = new BeanPropertySqlParameterSource(item);
         Number key = jdbcInsert.executeAndReturnKey(params);
         item.setId(key.longValue());
+        item.setVersion(0L);   // DB 기본값
         return item;
     }
 
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
-        String sql = "update item set item_name=:itemName, price=:price, quantity=:quantity where id=:id";
-        MapSqlParameterSource param = new MapSqlParameterSource()
-                .addValue("id", itemId)
-                .addValue("itemName", updateParam.getItemName())
-                .addValue("price", updateParam.getPrice())
-                .addValue("quantity", updateParam.getQuantity());
-        template.update(sql, param);
+        if (!updateParam.hasChanges()) {
+            return;
+        }
+        String sql = ItemUpdateSql.sql(updateParam);   // 변경된 칼럼만 UPDATE
+        int updatedRows = template.getJdbcTemplate().update(sql, ItemUpdateSql.params(itemId, updateParam));
+        ItemUpdateSql.checkUpdated(itemId, updateParam, updatedRows);   // 버전 충돌
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        return ItemInsertSql.batchInsert(template.getJdbcTemplate(), items);   // 배치 INSERT (BATCH_SIZE 건마다 한 번 왕복)
+    }
+
+    @Override
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        ItemUpdateSql.batchUpdate(template.getJdbcTemplate(), updates);
+    }
+
+    @Override
+    public List<Item> findAllById(Collection<Long> ids) {
+        return ItemIdChunks.load(ids, chunk ->
+                template.getJdbcTemplate().query(ItemIdChunks.sql(chunk.size()), itemRowMapper(), chunk.toArray()));
     }
 
     @Override
     public Optional<Item> findById(Long id) {
-        String sql = "select id, item_name as itemName, price, quantity from item where id=:id";
+        String sql = "select id, item_name as itemName, price, quantity, version from item where id=:id";
 
         try {
             Map<String, Long> param = Map.of("id", id);
@@ -72,38 +94,38 @@ public class JdbcTemplateItemRepositoryV3 implements ItemRepository {
     }
 
     /**
-     * 검색 조건에 따른 모든 상황에 SQL들을 동적으로 생성해야 하는 문제 발생
+     * 검색 조건 모양별로 미리 만들어 둔 SQL 사용 (ItemSearchShape), 파라미터는 배열로 순서대로 바인딩
      */
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        String itemName = cond.getItemName();
-        Integer maxPrice = cond.getMaxPrice();
-        String sql = "select id, item_name, price, quantity from item";
-        BeanPropertySqlParameterSource param = new BeanPropertySqlParameterSource(cond);
-
-        //동적 쿼리
-        if (StringUtils.hasText(itemName) || maxPrice != null) {
-            sql += " where";
-        }
-
-        boolean andFlag = false;
-        if (StringUtils.hasText(itemName)) {
-            sql += " item_name like concat('%', :itemName,'%')";
-            andFlag = true;
-        }
-
-        if (maxPrice != null) {
-            if (andFlag) {
-                sql += " and";
-            }
-            sql += " price <= :maxPrice";
-        }
+        ItemSearchShape shape = ItemSearchShape.of(cond);
+        log.debug("shape={}", shape);
+        return template.getJdbcTemplate().query(shape.sql(), itemRowMapper(), shape.params(cond));   // 결과가 하나 이상일 때 사용
+    }
 
-        log.info("sql={}", sql);
-        return template.query(sql, param, itemRowMapper());   // 결과가 하나 이상일 때 사용
+    @Override
+    public List<ItemRow> findAllRows(ItemSearchCond cond) {
+        ItemSearchShape shape = ItemSearchShape.of(cond);
+        log.debug("shape={}", shape);
+        return template.getJdbcTemplate().query(shape.sql(), itemRowRowMapper(), shape.params(cond));
     }
 
     private RowMapper<Item> itemRowMapper() {
         return BeanPropertyRowMapper.newInstance(Item.class);  // RDB의 언더스코어(_) -> 카멜 표기법으로 자동 변환
     }
+
+    /**
+     * getObject() 대신 getLong()/getInt() + wasNull() -> 박싱 없이 매핑
+     */
+    private RowMapper<ItemRow> itemRowRowMapper() {
+        return (rs, rowNum) -> {
+            long id = rs.getLong("id");
+            String itemName = rs.getString("item_name");
+            int price = rs.getInt("price");
+            boolean priceNull = rs.wasNull();
+            int quantity = rs.getInt("quantity");
+            boolean quantityNull = rs.wasNull();
+            return ItemRow.of(id, itemName, price, priceNull, quantity, quantityNull);
+        };
+    }
 }
@@ -1,16 +1,19 @@
 package hello.itemservice.repository.jpa;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemIdChunks;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,9 +38,7 @@ public class JpaItemRepository implements ItemRepository {
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         Item item = em.find(Item.class, itemId);
-        item.setItemName(updateParam.getItemName());
-        item.setPrice(updateParam.getPrice());
-        item.setQuantity(updateParam.getQuantity());
+        updateParam.applyTo(item);   // 변경된 필드만 반영 -> @DynamicUpdate 로 바뀐 칼럼만 UPDATE
     }
 
     @Override
@@ -46,6 +47,14 @@ public class JpaItemRepository implements ItemRepository {
         return Optional.ofNullable(item);
     }
 
+    @Override
+    public List<Item> findAllById(Collection<Long> ids) {
+        String jpql = "select i from Item i where i.id in :ids";
+        return ItemIdChunks.load(ids, chunk -> em.createQuery(jpql, Item.class)
+                .setParameter("ids", chunk)
+                .getResultList());
+    }
+
     /**
      * JPA는 동적 쿼리를 해결해주지 X, QueryDSL 사용
      */
@@ -73,7 +82,8 @@ public class JpaItemRepository implements ItemRepository {
         }
 
         log.info("jpql={}", jpql);
-        TypedQuery<Item> query = em.createQuery(jpql, Item.class);
+        TypedQuery<Item> query = em.createQuery(jpql, Item.class)
+                .setHint(QueryHints.CACHEABLE, true);   // 쿼리 캐시 : jpql + 파라미터 값이 키
 
         if (StringUtils.hasText(itemName)) {
             query.setParameter("itemName", itemName);
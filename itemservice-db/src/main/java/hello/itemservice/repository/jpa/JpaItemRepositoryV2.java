@@ -1,6 +1,7 @@
 package hello.itemservice.repository.jpa;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemIdChunks;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,9 +35,7 @@ public class JpaItemRepositoryV2 implements ItemRepository {
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         Item item = repository.findById(itemId).orElseThrow();
-        item.setItemName(updateParam.getItemName());
-        item.setPrice(updateParam.getPrice());
-        item.setQuantity(updateParam.getQuantity());
+        updateParam.applyTo(item);   // 변경된 필드만 반영 -> @DynamicUpdate 로 바뀐 칼럼만 UPDATE
     }
 
     @Override
@@ -43,6 +43,11 @@ public class JpaItemRepositoryV2 implements ItemRepository {
         return repository.findById(id);
     }
 
+    @Override
+    public List<Item> findAllById(Collection<Long> ids) {
+        return ItemIdChunks.load(ids, repository::findAllById);   // where id in (...)
+    }
+
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
         String itemName = cond.getItemName();
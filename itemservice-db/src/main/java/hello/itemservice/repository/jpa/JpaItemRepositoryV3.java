@@ -1,16 +1,21 @@
 package hello.itemservice.repository.jpa;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import hello.itemservice.deadline.RequestDeadline;
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemIdChunks;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,9 +43,7 @@ public class JpaItemRepositoryV3 implements ItemRepository {
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         Item item = em.find(Item.class, itemId);
-        item.setItemName(updateParam.getItemName());
-        item.setPrice(updateParam.getPrice());
-        item.setQuantity(updateParam.getQuantity());
+        updateParam.applyTo(item);   // 변경된 필드만 반영 -> @DynamicUpdate 로 바뀐 칼럼만 UPDATE
     }
 
     @Override
@@ -49,18 +52,34 @@ public class JpaItemRepositoryV3 implements ItemRepository {
         return Optional.ofNullable(item);
     }
 
+    @Override
+    public List<Item> findAllById(Collection<Long> ids) {
+        return ItemIdChunks.load(ids, chunk -> query.selectFrom(item)
+                .where(item.id.in(chunk))
+                .fetch());
+    }
+
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
         // QItem item = new QItem("i");
         String itemName = cond.getItemName();
         Integer maxPrice = cond.getMaxPrice();
 
-        return query.select(item)
+        return withDeadline(query.select(item)
                 .from(item)
                 .where(likeItemName(itemName), maxPrice(maxPrice))  // AND 조건 처리, null 이면 무시
+                .setHint(QueryHints.CACHEABLE, true))
                 .fetch();
     }
 
+    /**
+     * 남은 요청 예산을 쿼리 타임아웃 힌트로 (트랜잭션 timeout 보다 짧을 수 있음)
+     */
+    private <T> JPAQuery<T> withDeadline(JPAQuery<T> query) {
+        RequestDeadline.queryTimeoutHint().ifPresent(millis -> query.setHint(RequestDeadline.QUERY_TIMEOUT_HINT, millis));
+        return query;
+    }
+
     private BooleanExpression likeItemName(String itemName) {
         if (StringUtils.hasText(itemName)) {
             return item.itemName.like("%" + itemName + "%");
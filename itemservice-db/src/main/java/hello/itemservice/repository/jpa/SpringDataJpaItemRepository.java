@@ -3,21 +3,34 @@ package hello.itemservice.repository.jpa;
 import hello.itemservice.domain.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
+import static org.hibernate.annotations.QueryHints.CACHEABLE;
+
 /**
  * @Repository 스프링 예외 변환(DataAccessException) 기능을 프록시가 모두 자동으로 처리
  */
 public interface SpringDataJpaItemRepository extends JpaRepository<Item, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))   // 쿼리 캐시 (조건 없는 전체 조회)
+    List<Item> findAll();
+
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     List<Item> findByItemNameLike(String itemName);
+
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     List<Item> findByPriceLessThanEqual(Integer price);
 
     // 쿼리 메서드
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     List<Item> findByItemNameLikeAndPriceLessThanEqual(String itemName, Integer price);
 
     // 쿼리 직접 실행 : 명시적인 파라미터 바인딩 필수
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     @Query("select i from Item i where i.itemName like :itemName and i.price <= :price")
     List<Item> findItems(@Param("itemName") String itemName, @Param("price") Integer price);
 }
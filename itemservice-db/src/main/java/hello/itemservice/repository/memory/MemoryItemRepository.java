@@ -19,6 +19,7 @@ public class MemoryItemRepository implements ItemRepository {
     @Override
     public Item save(Item item) {
         item.setId(++sequence);
+        item.setVersion(0L);
         store.put(item.getId(), item);
         return item;
     }
@@ -26,9 +27,8 @@ public class MemoryItemRepository implements ItemRepository {
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         Item findItem = findById(itemId).orElseThrow();
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        updateParam.applyTo(findItem);
+        findItem.setVersion(findItem.getVersion() + 1);
     }
 
     @Override
@@ -36,10 +36,20 @@ public class MemoryItemRepository implements ItemRepository {
         return Optional.ofNullable(store.get(id));
     }
 
+    @Override
+    public List<Item> findAllById(Collection<Long> ids) {
+        return ids.stream()
+                .distinct()
+                .map(store::get)
+                .filter(Objects::nonNull)   // id 가 null 이거나 없는 상품은 제외
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
         String itemName = cond.getItemName();
         Integer maxPrice = cond.getMaxPrice();
+        int limit = maxPrice == null ? Integer.MAX_VALUE : maxPrice;   // 언박싱은 루프 밖에서 한 번만
         return store.values().stream()
                 .filter(item -> {
                     if (ObjectUtils.isEmpty(itemName)) {
@@ -50,7 +60,7 @@ public class MemoryItemRepository implements ItemRepository {
                     if (maxPrice == null) {
                         return true;
                     }
-                    return item.getPrice() <= maxPrice;
+                    return item.getPrice() <= limit;
                 })
                 .collect(Collectors.toList());
     }
@@ -1,7 +1,7 @@
 package hello.itemservice.repository.mybatis;
 
 import hello.itemservice.domain.Item;
-import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.domain.ItemRow;
 import hello.itemservice.repository.ItemUpdateDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -14,9 +14,26 @@ public interface ItemMapper {
 
     void save(Item item);
 
-    void update(@Param("id") Long id, @Param("updateParam") ItemUpdateDto updateParam);
+    int update(@Param("id") Long id, @Param("updateParam") ItemUpdateDto updateParam);   // 변경된 행 수
 
-    List<Item> findAll(ItemSearchCond itemSearchCond);
+    // 검색 조건 모양(ItemSearchShape)별 정적 쿼리
+    List<Item> findAll();
+
+    List<Item> findByItemName(@Param("itemName") String itemName);
+
+    List<Item> findByMaxPrice(@Param("maxPrice") Integer maxPrice);
+
+    List<Item> findByItemNameAndMaxPrice(@Param("itemName") String itemName, @Param("maxPrice") Integer maxPrice);
+
+    List<ItemRow> findAllRows();
+
+    List<ItemRow> findRowsByItemName(@Param("itemName") String itemName);
+
+    List<ItemRow> findRowsByMaxPrice(@Param("maxPrice") Integer maxPrice);
+
+    List<ItemRow> findRowsByItemNameAndMaxPrice(@Param("itemName") String itemName, @Param("maxPrice") Integer maxPrice);
 
     Optional<Item> findById(Long id);
+
+    List<Item> findAllById(@Param("ids") List<Long> ids);   // 크기를 맞춘 id 목록 (ItemIdChunks)
 }
@@ -1,13 +1,18 @@
 package hello.itemservice.repository.mybatis;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemIdChunks;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSearchShape;
 import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.ItemUpdateSql;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,12 +27,17 @@ public class MyBatisItemRepository implements ItemRepository {
     public Item save(Item item) {
         log.info("itemMapper class={}", itemMapper.getClass());  // com.sun.proxy.$Proxy69
         itemMapper.save(item);
+        item.setVersion(0L);   // DB 기본값
         return item;
     }
 
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
-        itemMapper.update(itemId, updateParam);
+        if (!updateParam.hasChanges()) {
+            return;   // 변경된 칼럼이 없으면 SET 절이 비어서 SQL 오류
+        }
+        int updatedRows = itemMapper.update(itemId, updateParam);
+        ItemUpdateSql.checkUpdated(itemId, updateParam, updatedRows);   // 버전 충돌
     }
 
     @Override
@@ -35,8 +45,36 @@ public class MyBatisItemRepository implements ItemRepository {
         return itemMapper.findById(id);
     }
 
+    @Override
+    public List<Item> findAllById(Collection<Long> ids) {
+        return ItemIdChunks.load(ids, itemMapper::findAllById);
+    }
+
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        return itemMapper.findAll(cond);
+        switch (ItemSearchShape.of(cond)) {
+            case NAME:
+                return itemMapper.findByItemName(cond.getItemName());
+            case PRICE:
+                return itemMapper.findByMaxPrice(cond.getMaxPrice());
+            case NAME_AND_PRICE:
+                return itemMapper.findByItemNameAndMaxPrice(cond.getItemName(), cond.getMaxPrice());
+            default:
+                return itemMapper.findAll();
+        }
+    }
+
+    @Override
+    public List<ItemRow> findAllRows(ItemSearchCond cond) {
+        switch (ItemSearchShape.of(cond)) {
+            case NAME:
+                return itemMapper.findRowsByItemName(cond.getItemName());
+            case PRICE:
+                return itemMapper.findRowsByMaxPrice(cond.getMaxPrice());
+            case NAME_AND_PRICE:
+                return itemMapper.findRowsByItemNameAndMaxPrice(cond.getItemName(), cond.getMaxPrice());
+            default:
+                return itemMapper.findAllRows();
+        }
     }
 }
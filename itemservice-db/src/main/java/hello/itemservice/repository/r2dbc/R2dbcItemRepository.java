@@ -0,0 +1,208 @@
+package hello.itemservice.repository.r2dbc;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.ReactiveItemRepository;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * R2DBC
+ *
+ * : 커넥션 획득, 쿼리 실행, 결과 수신이 모두 Publisher 로 표현 => 대기 중 스레드 반납
+ * : Mono.usingWhen/Flux.usingWhen 으로 구독이 끝나면(완료, 에러, 취소) 커넥션 반납을 보장
+ * : 바인딩 마커는 $1, $2 ... 이고 bind 인덱스는 0부터 시작
+ */
+@Slf4j
+public class R2dbcItemRepository implements ReactiveItemRepository, AutoCloseable {
+
+    private static final String SCHEMA = "create table if not exists item (" +
+            "id bigint generated by default as identity, " +
+            "item_name varchar(10), " +
+            "price integer, " +
+            "quantity integer, " +
+            "version bigint default 0 not null, " +
+            "primary key (id))";
+
+    private final ConnectionFactory connectionFactory;
+
+    public R2dbcItemRepository(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    public Mono<Void> initSchema() {
+        return Mono.usingWhen(connectionFactory.create(),
+                con -> Flux.from(con.createStatement(SCHEMA).execute())
+                        .concatMap(Result::getRowsUpdated)
+                        .then(),
+                Connection::close);
+    }
+
+    @Override
+    public Mono<Item> save(Item item) {
+        String sql = "insert into item(item_name, price, quantity) values ($1, $2, $3)";
+        return Mono.usingWhen(connectionFactory.create(),
+                        con -> {
+                            Statement statement = con.createStatement(sql).returnGeneratedValues("id");
+                            bind(statement, 0, item.getItemName(), String.class);
+                            bind(statement, 1, item.getPrice(), Integer.class);
+                            bind(statement, 2, item.getQuantity(), Integer.class);
+                            return Flux.from(statement.execute())
+                                    .concatMap(result -> result.map((row, meta) -> row.get(0, Long.class)))  // DB에서 자동 생성된 키
+                                    .next();
+                        },
+                        Connection::close)
+                .map(key -> {
+                    item.setId(key);
+                    item.setVersion(0L);   // DB 기본값
+                    return item;
+                });
+    }
+
+    @Override
+    public Mono<Void> update(Long itemId, ItemUpdateDto updateParam) {
+        if (!updateParam.hasChanges()) {
+            return Mono.empty();
+        }
+
+        //변경된 칼럼만 UPDATE
+        List<String> columns = new ArrayList<>();
+        if (updateParam.isItemNameChanged()) {
+            columns.add("item_name=$" + (columns.size() + 1));
+        }
+        if (updateParam.isPriceChanged()) {
+            columns.add("price=$" + (columns.size() + 1));
+        }
+        if (updateParam.isQuantityChanged()) {
+            columns.add("quantity=$" + (columns.size() + 1));
+        }
+        columns.add("version=version + 1");
+        String sql = "update item set " + String.join(", ", columns) + " where id=$" + columns.size();
+        if (updateParam.getVersion() != null) {
+            sql += " and version=$" + (columns.size() + 1);   // 낙관적 락
+        }
+        String query = sql;
+
+        return Mono.usingWhen(connectionFactory.create(),
+                con -> {
+                    Statement statement = con.createStatement(query);
+                    int index = 0;
+                    if (updateParam.isItemNameChanged()) {
+                        bind(statement, index++, updateParam.getItemName(), String.class);
+                    }
+                    if (updateParam.isPriceChanged()) {
+                        bind(statement, index++, updateParam.getPrice(), Integer.class);
+                    }
+                    if (updateParam.isQuantityChanged()) {
+                        bind(statement, index++, updateParam.getQuantity(), Integer.class);
+                    }
+                    statement.bind(index++, itemId);
+                    if (updateParam.getVersion() != null) {
+                        statement.bind(index, updateParam.getVersion());
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(Result::getRowsUpdated)
+                            .reduce(0, Integer::sum);
+                },
+                Connection::close)
+                .flatMap(updatedRows -> {
+                    if (updatedRows == 0 && updateParam.getVersion() != null) {
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "item " + itemId + " was updated by another transaction (version " + updateParam.getVersion() + ")"));
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Item> findById(Long id) {
+        String sql = "select id, item_name, price, quantity, version from item where id=$1";
+        return Mono.usingWhen(connectionFactory.create(),
+                con -> Flux.from(con.createStatement(sql).bind(0, id).execute())
+                        .concatMap(result -> result.map(this::mapRow))
+                        .next(),     // 결과가 없으면 빈 Mono
+                Connection::close);
+    }
+
+    /**
+     * 결과를 한 번에 모으지 않고 행 단위로 흘려보냄
+     * 구독자가 느리면 요청량만큼만 받아가고, 구독 취소 시 커넥션도 즉시 반납
+     */
+    @Override
+    public Flux<Item> findAll(ItemSearchCond cond) {
+        String itemName = cond.getItemName();
+        Integer maxPrice = cond.getMaxPrice();
+
+        //동적 쿼리
+        List<Object> param = new ArrayList<>();
+        List<String> where = new ArrayList<>();
+        if (StringUtils.hasText(itemName)) {
+            param.add(itemName);
+            where.add("item_name like concat('%', $" + param.size() + ", '%')");
+        }
+        if (maxPrice != null) {
+            param.add(maxPrice);
+            where.add("price <= $" + param.size());
+        }
+
+        String sql = "select id, item_name, price, quantity, version from item";
+        if (!where.isEmpty()) {
+            sql += " where " + String.join(" and ", where);
+        }
+
+        log.debug("sql={}", sql);
+        String query = sql;
+        return Flux.usingWhen(connectionFactory.create(),
+                con -> {
+                    Statement statement = con.createStatement(query);
+                    for (int i = 0; i < param.size(); i++) {
+                        statement.bind(i, param.get(i));
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(result -> result.map(this::mapRow));
+                },
+                Connection::close);
+    }
+
+    private Item mapRow(Row row, RowMetadata meta) {   // Row -> 객체로 변환
+        Item item = new Item();
+        item.setId(row.get("id", Long.class));
+        item.setItemName(row.get("item_name", String.class));
+        item.setPrice(row.get("price", Integer.class));
+        item.setQuantity(row.get("quantity", Integer.class));
+        item.setVersion(row.get("version", Long.class));
+        return item;
+    }
+
+    private void bind(Statement statement, int index, Object value, Class<?> type) {
+        if (value == null) {
+            statement.bindNull(index, type);   // null 은 타입 정보와 함께 바인딩해야 함
+        } else {
+            statement.bind(index, value);
+        }
+    }
+
+    /**
+     * 커넥션 풀(r2dbc-pool)을 사용하는 경우 애플리케이션 종료 시 풀 정리
+     */
+    @Override
+    public void close() {
+        if (connectionFactory instanceof Disposable) {
+            ((Disposable) connectionFactory).dispose();
+        }
+    }
+}
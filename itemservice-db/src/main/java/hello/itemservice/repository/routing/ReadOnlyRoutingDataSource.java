@@ -0,0 +1,35 @@
+package hello.itemservice.repository.routing;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 현재 트랜잭션이 readOnly 이면 읽기 DataSource, 아니면 쓰기 DataSource 로 커넥션 획득
+ *
+ * 트랜잭션 매니저는 readOnly 플래그를 동기화 매니저에 등록하기 전에 커넥션부터 얻음
+ * -> 그대로 쓰면 항상 쓰기 DB 로 라우팅, 반드시 lazy() 로 감싸서 첫 SQL 실행 시점까지 획득을 미뤄야 함
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String WRITE = "write";
+    public static final String READ = "read";
+
+    public ReadOnlyRoutingDataSource(DataSource write, DataSource read) {
+        setTargetDataSources(Map.of(WRITE, write, READ, read));
+        setDefaultTargetDataSource(write);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READ : WRITE;
+    }
+
+    public DataSource lazy() {
+        return new LazyConnectionDataSourceProxy(this);
+    }
+}
@@ -0,0 +1,555 @@
+package hello.itemservice.repository.snapshot;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 테이블 전체를 힙 밖(direct ByteBuffer)에 고정 폭 컬럼 형태로 보관하는 스냅샷
+ *
+ * 행 하나 = 8(id) + 8(version) + 4(price) + 4(quantity) + 1(null 플래그) + 1(이름 길이) + 20(이름 10자) = 46 byte
+ * -> Item 객체(헤더 + 박싱된 Long/Integer + String)보다 훨씬 작고, GC 대상 객체도 컬럼 수만큼만 존재
+ *
+ * : id 컬럼은 오름차순 정렬 유지 -> findById 는 이진 탐색
+ * : findAll 은 컬럼을 직접 훑어서 조건에 맞는 행 번호만 모음, Item 은 결과를 꺼낼 때(렌더링 시점) 생성
+ * : 전체 적재(load)는 시작할 때 한 번, 이후에는 바뀐 행만 반영 (apply, update, applyIfNewer, remove)
+ */
+public class ItemSnapshot {
+
+    public static final int NAME_LENGTH = 10;   // item_name varchar(10)
+
+    private static final int NAME_NULL = 1;
+    private static final int PRICE_NULL = 1 << 1;
+    private static final int QUANTITY_NULL = 1 << 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns(16);
+
+    /**
+     * 전체 교체 : 새 컬럼을 다 채운 뒤 참조만 바꿈 (조회는 교체 중에도 이전 스냅샷을 사용)
+     */
+    public void load(Collection<Item> items) {
+        Loader loader = new Loader(items.size());
+        for (Item item : sortById(items)) {
+            loader.add(item);
+        }
+        load(loader);
+    }
+
+    public void load(Loader loader) {
+        lock.writeLock().lock();
+        try {
+            columns = loader.columns;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 적재용 : 원본 커서에서 읽는 대로 컬럼에 바로 복사 (목록 X, 같은 Item 을 행 버퍼로 재사용해도 됨)
+     * 행은 id 오름차순으로 추가해야 함
+     */
+    public static class Loader {
+
+        private Columns columns;
+
+        public Loader(int expectedRows) {
+            this.columns = new Columns(Math.max(16, expectedRows));
+        }
+
+        public void add(Item row) {
+            if (columns.size > 0 && columns.id(columns.size - 1) >= row.getId()) {
+                throw new IllegalArgumentException("id 오름차순으로 추가해야 함, id=" + row.getId());
+            }
+            if (columns.size == columns.capacity) {
+                columns = columns.grow();
+            }
+            columns.write(columns.size++, row);
+        }
+    }
+
+    /**
+     * 증분 반영 : 이미 있으면 그 자리에 덮어쓰고, 없으면 정렬 위치에 삽입
+     */
+    public void apply(Item item) {
+        lock.writeLock().lock();
+        try {
+            Columns current = columns;
+            int pos = current.indexOf(item.getId());
+            if (pos >= 0) {
+                current.write(pos, item);
+                return;
+            }
+            int insertAt = -(pos + 1);
+            if (insertAt == current.size && current.size < current.capacity) {
+                current.write(current.size++, item);   // 대부분 id 가 증가하는 순서로 추가됨
+                return;
+            }
+            columns = current.copyWithGap(insertAt, item);   // 공간이 부족하거나 중간 삽입 -> 새 컬럼으로 복사
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 커밋된 수정 반영 : 바뀐 칼럼만 덮어쓰고 version + 1 (DB 의 UPDATE 와 동일) -> 원본을 다시 읽지 않음
+     * 스냅샷에 없는 상품이면 무시 (다음 sync 에서 반영)
+     *
+     * @param change 변경된 필드만 기록된 값 (version 검사는 DB 에서 이미 끝남)
+     */
+    public void update(Long id, ItemUpdateDto change) {
+        lock.writeLock().lock();
+        try {
+            Columns current = columns;
+            int pos = current.indexOf(id);
+            if (pos < 0) {
+                return;
+            }
+            Item item = current.read(pos);
+            change.applyTo(item);
+            item.setVersion(item.getVersion() + 1);
+            current.write(pos, item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 증분 동기화 (다른 서버의 변경) : 원본을 읽은 값이 스냅샷보다 새로울 때만 덮어쓰기 / 삽입
+     * (읽은 뒤 이 서버가 반영한 더 새로운 값은 유지)
+     *
+     * @return 반영 여부
+     */
+    public boolean applyIfNewer(Item item) {
+        lock.writeLock().lock();
+        try {
+            int pos = columns.indexOf(item.getId());
+            if (pos >= 0 && versionOf(item) <= columns.version(pos)) {
+                return false;
+            }
+            apply(item);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 삭제는 드묾 -> 새 컬럼으로 복사 (이미 만든 결과의 행 번호 유지)
+     *
+     * @param ids 오름차순
+     */
+    public void remove(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            columns = columns.copyWithout(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 원본의 (id, version) 을 id 오름차순으로 넘겨 받아 스냅샷과 비교 -> 다시 읽어야 할 id, 지울 id 만 모음
+     * 원본 행 전체(Item)를 힙에 만들지 않음, 행마다 짧게 읽기 락 (원본을 읽는 동안 조회/반영을 막지 않음)
+     */
+    public KeyDiff diff() {
+        lock.readLock().lock();
+        try {
+            return new KeyDiff(columns.size == 0 ? Long.MIN_VALUE : columns.id(columns.size - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public class KeyDiff {
+
+        private final long maxId;   // 비교 시작 시점의 마지막 id (이후에 이 서버가 추가한 행은 지우지 않음)
+        private long lastId = Long.MIN_VALUE;
+        private final List<Long> changedIds = new ArrayList<>();
+        private final List<Long> removedIds = new ArrayList<>();
+
+        private KeyDiff(long maxId) {
+            this.maxId = maxId;
+        }
+
+        public void next(long id, long version) {
+            lock.readLock().lock();
+            try {
+                int pos = columns.indexOf(id);
+                collectRemoved(pos < 0 ? -(pos + 1) : pos);
+                if (pos < 0 || version > columns.version(pos)) {
+                    changedIds.add(id);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            lastId = id;
+        }
+
+        /**
+         * 원본의 마지막 id 뒤에 남은 행 (시작 시점의 마지막 id 까지) -> 삭제 대상
+         */
+        public void finish() {
+            lock.readLock().lock();
+            try {
+                int pos = columns.indexOf(maxId);
+                collectRemoved(pos < 0 ? -(pos + 1) : pos + 1);
+            } finally {
+                lock.readLock().unlock();
+            }
+            lastId = maxId;
+        }
+
+        /**
+         * 직전 원본 id 와 to 사이에 있는 스냅샷 행 = 원본에서 사라진 행
+         */
+        private void collectRemoved(int to) {
+            int from = 0;
+            if (lastId != Long.MIN_VALUE) {
+                int last = columns.indexOf(lastId);
+                from = last < 0 ? -(last + 1) : last + 1;
+            }
+            for (int pos = from; pos < to; pos++) {
+                if (columns.id(pos) <= maxId) {
+                    removedIds.add(columns.id(pos));
+                }
+            }
+        }
+
+        public List<Long> changedIds() {
+            return changedIds;
+        }
+
+        public List<Long> removedIds() {
+            return removedIds;
+        }
+    }
+
+    public Optional<Item> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int pos = columns.indexOf(id);
+            return pos < 0 ? Optional.empty() : Optional.of(columns.read(pos));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Item> findAll(ItemSearchCond cond) {
+        lock.readLock().lock();
+        try {
+            Columns current = columns;
+            int[] rows = new int[current.size];
+            int count = match(current, cond, rows);
+            return new RowView(current, rows, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 조회 전용 : 컬럼에서 바로 ItemRow 생성 (Item, 박싱 객체 X)
+     */
+    public List<ItemRow> findAllRows(ItemSearchCond cond) {
+        lock.readLock().lock();
+        try {
+            Columns current = columns;
+            int[] rows = new int[current.size];
+            int count = match(current, cond, rows);
+            List<ItemRow> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(current.readRow(rows[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int match(Columns current, ItemSearchCond cond, int[] rows) {
+        String itemName = cond.getItemName();
+        boolean filterName = StringUtils.hasText(itemName);
+        boolean filterPrice = cond.getMaxPrice() != null;
+        int maxPrice = filterPrice ? cond.getMaxPrice() : 0;
+
+        int count = 0;
+        for (int pos = 0; pos < current.size; pos++) {
+            if (filterName && !current.nameContains(pos, itemName)) {
+                continue;
+            }
+            if (filterPrice && !current.priceLoe(pos, maxPrice)) {
+                continue;
+            }
+            rows[count++] = pos;
+        }
+        return count;
+    }
+
+    private static Item[] sortById(Collection<Item> items) {
+        Item[] sorted = items.toArray(new Item[0]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.getId(), b.getId()));
+        return sorted;
+    }
+
+    private static long versionOf(Item item) {
+        return item.getVersion() == null ? 0 : item.getVersion();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 조회 결과 : 행 번호만 들고 있다가 get() 시점에 Item 생성
+     * 중간 삽입은 새 컬럼을 만들기 때문에, 이미 만든 결과의 행 번호는 그대로 유효
+     */
+    private class RowView extends AbstractList<Item> {
+
+        private final Columns source;
+        private final int[] rows;
+        private final int size;
+
+        RowView(Columns source, int[] rows, int size) {
+            this.source = source;
+            this.rows = rows;
+            this.size = size;
+        }
+
+        @Override
+        public Item get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+            }
+            lock.readLock().lock();   // 같은 자리 덮어쓰기와 겹치지 않도록
+            try {
+                return source.read(rows[index]);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static class Columns {
+
+        private final int capacity;
+        private int size;
+
+        private final ByteBuffer ids;
+        private final ByteBuffer versions;
+        private final ByteBuffer prices;
+        private final ByteBuffer quantities;
+        private final ByteBuffer flags;
+        private final ByteBuffer nameLengths;
+        private final ByteBuffer names;
+
+        Columns(int capacity) {
+            this.capacity = capacity;
+            this.ids = ByteBuffer.allocateDirect(capacity * Long.BYTES);
+            this.versions = ByteBuffer.allocateDirect(capacity * Long.BYTES);
+            this.prices = ByteBuffer.allocateDirect(capacity * Integer.BYTES);
+            this.quantities = ByteBuffer.allocateDirect(capacity * Integer.BYTES);
+            this.flags = ByteBuffer.allocateDirect(capacity);
+            this.nameLengths = ByteBuffer.allocateDirect(capacity);
+            this.names = ByteBuffer.allocateDirect(capacity * NAME_LENGTH * Character.BYTES);
+        }
+
+        long id(int pos) {
+            return ids.getLong(pos * Long.BYTES);
+        }
+
+        long version(int pos) {
+            return versions.getLong(pos * Long.BYTES);
+        }
+
+        int indexOf(long id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midId = id(mid);
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void write(int pos, Item item) {
+            String itemName = item.getItemName();
+            if (itemName != null && itemName.length() > NAME_LENGTH) {
+                throw new IllegalArgumentException("상품명은 " + NAME_LENGTH + "자를 넘을 수 없음, itemName=" + itemName);
+            }
+            int flag = 0;
+            ids.putLong(pos * Long.BYTES, item.getId());
+            versions.putLong(pos * Long.BYTES, versionOf(item));
+
+            if (item.getPrice() == null) {
+                flag |= PRICE_NULL;
+            } else {
+                prices.putInt(pos * Integer.BYTES, item.getPrice());
+            }
+            if (item.getQuantity() == null) {
+                flag |= QUANTITY_NULL;
+            } else {
+                quantities.putInt(pos * Integer.BYTES, item.getQuantity());
+            }
+            if (itemName == null) {
+                flag |= NAME_NULL;
+                nameLengths.put(pos, (byte) 0);
+            } else {
+                int base = pos * NAME_LENGTH * Character.BYTES;
+                for (int i = 0; i < itemName.length(); i++) {
+                    names.putChar(base + i * Character.BYTES, itemName.charAt(i));
+                }
+                nameLengths.put(pos, (byte) itemName.length());
+            }
+            flags.put(pos, (byte) flag);
+        }
+
+        Item read(int pos) {
+            int flag = flags.get(pos);
+            Item item = new Item();
+            item.setId(id(pos));
+            item.setVersion(version(pos));
+            item.setPrice((flag & PRICE_NULL) != 0 ? null : prices.getInt(pos * Integer.BYTES));
+            item.setQuantity((flag & QUANTITY_NULL) != 0 ? null : quantities.getInt(pos * Integer.BYTES));
+            item.setItemName(name(pos, flag));
+            return item;
+        }
+
+        ItemRow readRow(int pos) {
+            int flag = flags.get(pos);
+            return ItemRow.of(id(pos), name(pos, flag),
+                    prices.getInt(pos * Integer.BYTES), (flag & PRICE_NULL) != 0,
+                    quantities.getInt(pos * Integer.BYTES), (flag & QUANTITY_NULL) != 0);
+        }
+
+        private String name(int pos, int flag) {
+            if ((flag & NAME_NULL) != 0) {
+                return null;
+            }
+            int length = nameLengths.get(pos);
+            int base = pos * NAME_LENGTH * Character.BYTES;
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = names.getChar(base + i * Character.BYTES);
+            }
+            return new String(chars);
+        }
+
+        /**
+         * String 을 만들지 않고 버퍼 위에서 바로 부분 문자열 비교 (String.contains 와 동일)
+         */
+        boolean nameContains(int pos, String keyword) {
+            if ((flags.get(pos) & NAME_NULL) != 0) {
+                return false;
+            }
+            int length = nameLengths.get(pos);
+            int base = pos * NAME_LENGTH * Character.BYTES;
+            for (int start = 0; start + keyword.length() <= length; start++) {
+                int i = 0;
+                while (i < keyword.length()
+                        && names.getChar(base + (start + i) * Character.BYTES) == keyword.charAt(i)) {
+                    i++;
+                }
+                if (i == keyword.length()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean priceLoe(int pos, int maxPrice) {
+            return (flags.get(pos) & PRICE_NULL) == 0 && prices.getInt(pos * Integer.BYTES) <= maxPrice;
+        }
+
+        /**
+         * insertAt 위치를 비워서 복사한 새 컬럼 (용량이 부족하면 2배로)
+         */
+        Columns copyWithGap(int insertAt, Item item) {
+            Columns copy = new Columns(size < capacity ? capacity : capacity * 2);
+            copyRows(this, 0, copy, 0, insertAt);
+            copyRows(this, insertAt, copy, insertAt + 1, size - insertAt);
+            copy.size = size + 1;
+            copy.write(insertAt, item);
+            return copy;
+        }
+
+        Columns grow() {
+            Columns copy = new Columns(capacity * 2);
+            copyRows(this, 0, copy, 0, size);
+            copy.size = size;
+            return copy;
+        }
+
+        /**
+         * removedIds(오름차순) 행을 뺀 새 컬럼 (용량은 그대로)
+         */
+        Columns copyWithout(List<Long> removedIds) {
+            Columns copy = new Columns(capacity);
+            int from = 0;
+            for (Long id : removedIds) {
+                int pos = indexOf(id);
+                if (pos < 0) {
+                    continue;
+                }
+                copyRows(this, from, copy, copy.size, pos - from);
+                copy.size += pos - from;
+                from = pos + 1;
+            }
+            copyRows(this, from, copy, copy.size, size - from);
+            copy.size += size - from;
+            return copy;
+        }
+
+        private static void copyRows(Columns src, int from, Columns dst, int to, int count) {
+            copy(src.ids, dst.ids, from, to, count, Long.BYTES);
+            copy(src.versions, dst.versions, from, to, count, Long.BYTES);
+            copy(src.prices, dst.prices, from, to, count, Integer.BYTES);
+            copy(src.quantities, dst.quantities, from, to, count, Integer.BYTES);
+            copy(src.flags, dst.flags, from, to, count, 1);
+            copy(src.nameLengths, dst.nameLengths, from, to, count, 1);
+            copy(src.names, dst.names, from, to, count, NAME_LENGTH * Character.BYTES);
+        }
+
+        private static void copy(ByteBuffer src, ByteBuffer dst, int from, int to, int count, int width) {
+            if (count == 0) {
+                return;
+            }
+            ByteBuffer source = src.duplicate();
+            source.position(from * width).limit((from + count) * width);
+            ByteBuffer target = dst.duplicate();
+            target.position(to * width);
+            target.put(source);
+        }
+    }
+}
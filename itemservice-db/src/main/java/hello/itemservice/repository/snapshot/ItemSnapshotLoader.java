@@ -0,0 +1,96 @@
+package hello.itemservice.repository.snapshot;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemIdChunks;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 원본 테이블 -> 스냅샷 : 목록(List<Item>)을 만들지 않고 커서에서 한 행씩 읽어서 바로 컬럼에 씀
+ *
+ * load : 전체 적재 (시작할 때 한 번)
+ * sync : (id, version) 두 칼럼만 훑어서 스냅샷과 비교 -> 새 행 / version 이 바뀐 행만 IN 절로 다시 읽고, 사라진 행은 삭제
+ *        version 은 행마다 따로 증가하므로(version = version + 1) "version > ?" 한 번으로는 바뀐 행을 찾을 수 없음
+ */
+public class ItemSnapshotLoader {
+
+    private static final String ALL_SQL = "select id, item_name, price, quantity, version from item order by id";
+    private static final String KEYS_SQL = "select id, version from item order by id";
+
+    private final JdbcTemplate template;
+
+    public ItemSnapshotLoader(DataSource dataSource, int fetchSize) {
+        this.template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+    }
+
+    public void load(ItemSnapshot snapshot) {
+        Integer count = template.queryForObject("select count(*) from item", Integer.class);
+        ItemSnapshot.Loader loader = new ItemSnapshot.Loader(count == null ? 0 : count);
+        Item row = new Item();   // 행 버퍼 (값은 컬럼으로 복사됨)
+        template.query(ALL_SQL, (RowCallbackHandler) rs -> loader.add(read(rs, row)));
+        snapshot.load(loader);
+    }
+
+    /**
+     * @return 반영한 행 수 (변경 + 삭제)
+     */
+    public int sync(ItemSnapshot snapshot) {
+        ItemSnapshot.KeyDiff diff = snapshot.diff();
+        template.query(KEYS_SQL, (RowCallbackHandler) rs -> diff.next(rs.getLong(1), rs.getLong(2)));
+        diff.finish();
+
+        int changed = 0;
+        List<Long> changedIds = diff.changedIds();
+        Item row = new Item();
+        for (int from = 0; from < changedIds.size(); from += ItemIdChunks.MAX_CHUNK) {
+            List<Long> chunk = ItemIdChunks.pad(changedIds.subList(from, Math.min(from + ItemIdChunks.MAX_CHUNK, changedIds.size())));
+            CountingHandler handler = new CountingHandler(snapshot, row);
+            template.query(ItemIdChunks.sql(chunk.size()), handler, chunk.toArray());
+            changed += handler.applied;
+        }
+        snapshot.remove(diff.removedIds());
+        return changed + diff.removedIds().size();
+    }
+
+    private static Item read(ResultSet rs, Item row) throws SQLException {
+        row.setId(rs.getLong("id"));
+        row.setItemName(rs.getString("item_name"));
+        row.setPrice(getInteger(rs, "price"));
+        row.setQuantity(getInteger(rs, "quantity"));
+        row.setVersion(rs.getLong("version"));
+        return row;
+    }
+
+    private static Integer getInteger(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * 채운 IN 목록은 마지막 id 가 반복되지만 결과 행은 한 번만 나옴
+     */
+    private static class CountingHandler implements RowCallbackHandler {
+
+        private final ItemSnapshot snapshot;
+        private final Item row;
+        private int applied;
+
+        CountingHandler(ItemSnapshot snapshot, Item row) {
+            this.snapshot = snapshot;
+            this.row = row;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (snapshot.applyIfNewer(read(rs, row))) {
+                applied++;
+            }
+        }
+    }
+}
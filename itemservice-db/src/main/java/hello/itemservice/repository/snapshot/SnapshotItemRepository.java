@@ -0,0 +1,135 @@
+package hello.itemservice.repository.snapshot;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 읽기 위주 배포용 레파지토리
+ *
+ * 조회 : 힙 밖 스냅샷(ItemSnapshot)에서 처리 -> DB 접근 X
+ * 변경 : 원본 레파지토리에 쓰고, 커밋 이후 변경된 행만 스냅샷에 반영
+ * : 커밋된 변경 내용을 그대로 스냅샷에 적용 (DB 를 다시 읽지 않음)
+ * 전체 적재는 시작할 때 한 번(커서에서 바로 컬럼으로), 다른 서버에서 변경한 내용은 refresh() 로 주기적으로 바뀐 행만 다시 읽음
+ */
+@Slf4j
+public class SnapshotItemRepository implements ItemRepository {
+
+    private final ItemRepository target;
+    private final ItemSnapshotLoader loader;
+    private final ItemSnapshot snapshot = new ItemSnapshot();
+
+    public SnapshotItemRepository(ItemRepository target, ItemSnapshotLoader loader) {
+        this.target = target;
+        this.loader = loader;
+        long start = System.currentTimeMillis();
+        loader.load(snapshot);
+        log.info("item snapshot loaded, size={}, {}ms", snapshot.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 증분 동기화 : (id, version) 만 비교하고, 새 행 / version 이 바뀐 행만 다시 읽음 (ItemSnapshotLoader)
+     */
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        int changed = loader.sync(snapshot);
+        log.info("item snapshot synced, changed={}, size={}, {}ms", changed, snapshot.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public Item save(Item item) {
+        Item savedItem = target.save(item);
+        Item copy = copyOf(savedItem);   // 커밋 전에 호출한 쪽에서 객체를 바꿔도 영향 X
+        afterCommit(() -> snapshot.apply(copy));
+        return savedItem;
+    }
+
+    @Override
+    public void update(Long itemId, ItemUpdateDto updateParam) {
+        target.update(itemId, updateParam);
+        ItemUpdateDto change = changesOf(updateParam);
+        afterCommit(() -> snapshot.update(itemId, change));
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        List<Item> savedItems = target.saveAll(items);
+        List<Item> copies = new ArrayList<>(savedItems.size());
+        for (Item savedItem : savedItems) {
+            copies.add(copyOf(savedItem));
+        }
+        afterCommit(() -> copies.forEach(snapshot::apply));
+        return savedItems;
+    }
+
+    @Override
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        target.updateAll(updates);
+        Map<Long, ItemUpdateDto> changes = new LinkedHashMap<>();
+        updates.forEach((itemId, updateParam) -> changes.put(itemId, changesOf(updateParam)));
+        afterCommit(() -> changes.forEach(snapshot::update));
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        return snapshot.findById(id);
+    }
+
+    @Override
+    public List<Item> findAll(ItemSearchCond cond) {
+        return snapshot.findAll(cond);
+    }
+
+    @Override
+    public List<ItemRow> findAllRows(ItemSearchCond cond) {
+        return snapshot.findAllRows(cond);
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private Item copyOf(Item item) {
+        Item copy = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+        copy.setId(item.getId());
+        copy.setVersion(item.getVersion() == null ? 0L : item.getVersion());   // JDBC 저장은 DB 기본값 0
+        return copy;
+    }
+
+    /**
+     * 변경된 필드만 복사 (version 검사는 DB 에서 끝났으므로 제외)
+     */
+    private ItemUpdateDto changesOf(ItemUpdateDto updateParam) {
+        ItemUpdateDto change = new ItemUpdateDto();
+        if (updateParam.isItemNameChanged()) {
+            change.setItemName(updateParam.getItemName());
+        }
+        if (updateParam.isPriceChanged()) {
+            change.setPrice(updateParam.getPrice());
+        }
+        if (updateParam.isQuantityChanged()) {
+            change.setQuantity(updateParam.getQuantity());
+        }
+        return change;
+    }
+}
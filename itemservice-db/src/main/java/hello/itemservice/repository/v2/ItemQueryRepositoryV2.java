@@ -1,9 +1,18 @@
 package hello.itemservice.repository.v2;
 
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import hello.itemservice.deadline.RequestDeadline;
 import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemInsertSql;
 import hello.itemservice.repository.ItemSearchCond;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.Queryable;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
@@ -18,22 +27,60 @@ import static hello.itemservice.domain.QItem.item;
 @Repository
 public class ItemQueryRepositoryV2 {
 
+    private final EntityManager em;
     private final JPAQueryFactory query;
 
     public ItemQueryRepositoryV2(EntityManager em) {
+        this.em = em;
         this.query = new JPAQueryFactory(em);
     }
 
+    /**
+     * 대량 등록 : IDENTITY 라 하이버네이트는 INSERT 배치를 사용하지 않음 -> 같은 커넥션(트랜잭션)에서 JDBC 배치 INSERT
+     * 하이버네이트를 거치지 않으므로 네이티브 DML 과 같은 방식으로 Item 캐시 무효화 예약 (커밋 전후 update timestamps 갱신)
+     * 저장한 상품은 영속성 컨텍스트에 올리지 않음
+     */
+    public List<Item> saveAll(List<Item> items) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        session.doWork(con -> ItemInsertSql.batchInsert(con, items));
+        Queryable persister = (Queryable) session.getFactory().getMetamodel().entityPersister(Item.class);
+        session.getActionQueue().addAction(new BulkOperationCleanupAction(session, persister));
+        return items;
+    }
+
     public List<Item> findAll(ItemSearchCond cond) {
-        return query.select(item)
+        return withDeadline(query.select(item)
                 .from(item)
                 .where(
                         likeItemName(cond.getItemName()),
                         maxPrice(cond.getMaxPrice())
                 )
+                .setHint(QueryHints.CACHEABLE, true))   // 쿼리 캐시
                 .fetch();
     }
 
+    /**
+     * 조회 전용 프로젝션 : 엔티티를 영속성 컨텍스트에 올리지 않음 (스냅샷, 더티 체킹 X)
+     */
+    public List<ItemRow> findAllRows(ItemSearchCond cond) {
+        return withDeadline(query.select(Projections.constructor(ItemRow.class,
+                        item.id, item.itemName, item.price, item.quantity))
+                .from(item)
+                .where(
+                        likeItemName(cond.getItemName()),
+                        maxPrice(cond.getMaxPrice())
+                ))
+                .fetch();
+    }
+
+    /**
+     * 남은 요청 예산을 쿼리 타임아웃 힌트로 (트랜잭션 timeout 보다 짧을 수 있음)
+     */
+    private <T> JPAQuery<T> withDeadline(JPAQuery<T> query) {
+        RequestDeadline.queryTimeoutHint().ifPresent(millis -> query.setHint(RequestDeadline.QUERY_TIMEOUT_HINT, millis));
+        return query;
+    }
+
     private BooleanExpression likeItemName(String itemName) {
         if (StringUtils.hasText(itemName)) {
             return item.itemName.like("%" + itemName + "%");
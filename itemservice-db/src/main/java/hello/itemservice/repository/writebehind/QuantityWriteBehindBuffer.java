@@ -0,0 +1,370 @@
+package hello.itemservice.repository.writebehind;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 재고 수량 변경 쓰기 지연(write-behind) 버퍼
+ *
+ * : 상품 id 별 수량 변화량(delta)을 LongAdder 에 모아두고, 일정 주기 또는 일정 개수마다
+ *   "quantity = quantity + ?" 배치 업데이트로 한 번에 반영 => 같은 상품의 변경 N번이 UPDATE 1번으로 합쳐짐
+ *   (version 도 함께 올려서, 그 사이 수정 폼을 연 사용자의 수량 덮어쓰기는 충돌로 처리)
+ *
+ * 장애 대비
+ * : 버퍼에 넣기 전에 로컬 저널 파일(추가 전용)에 먼저 기록 -> 재시작 시 저널을 다시 읽어서 복구
+ * : 플러시할 때마다 새 저널 세그먼트로 교체, DB 반영 트랜잭션에서 반영된 세그먼트 번호(체크포인트)를 함께 저장
+ *   -> DB 커밋 후 세그먼트 파일을 지우기 전에 죽어도, 재시작 시 체크포인트 이하 세그먼트는 건너뜀 (두 번 반영 X)
+ *
+ * read-your-writes
+ * : 버퍼를 비울 때 같은 쓰기 락 안에서 반영 중(inFlight)으로 옮기고, DB 커밋이 끝나는 시점에 inFlight 에서 제거
+ * : 조회는 readConsistent 로 감싸서 "커밋 전 DB 값 + inFlight" 또는 "커밋 후 DB 값" 중 하나만 보도록 함
+ *   (조회 도중 플러시 커밋이 끼어들면 다시 조회 -> 변화량을 빠뜨리거나 두 번 더하지 않음)
+ */
+@Slf4j
+public class QuantityWriteBehindBuffer implements AutoCloseable {
+
+    private static final int RECORD_SIZE = Long.BYTES * 2;   // itemId + delta
+    private static final String SEGMENT_PREFIX = "quantity-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final JdbcTemplate template;
+    private final TransactionTemplate txTemplate;
+    private final Path journalDir;
+    private final int maxEntries;
+    private final boolean syncEachWrite;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();   // DB 반영 중인 변화량 (조회 시 합산)
+    private final AtomicLong commitSeq = new AtomicLong();                  // 홀수 : 플러시 커밋 중
+
+    // 읽기 락 : 저널 기록 + 버퍼 적재 / 쓰기 락 : 세그먼트 교체 + 버퍼 비우기 -> 둘이 섞이지 않음
+    private final ReadWriteLock segmentLock = new ReentrantReadWriteLock();
+    private final Object flushMonitor = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    private FileChannel journal;
+    private long segment;
+
+    public QuantityWriteBehindBuffer(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                     Path journalDir, long flushIntervalMillis, int maxEntries, boolean syncEachWrite) {
+        this.template = new JdbcTemplate(dataSource);
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.journalDir = journalDir;
+        this.maxEntries = maxEntries;
+        this.syncEachWrite = syncEachWrite;
+
+        initCheckpoint();
+        replay();
+        flush();   // 복구한 변화량을 바로 반영
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "quantity-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 수량 변화량 추가 : 저널에 먼저 기록한 뒤 버퍼에 누적
+     */
+    public void add(Long itemId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        segmentLock.readLock().lock();
+        try {
+            appendJournal(itemId, delta);
+            pending.computeIfAbsent(itemId, id -> new LongAdder()).add(delta);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+
+        if (pending.size() >= maxEntries && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 변화량 (read-your-writes 용, DB 조회와 함께 쓸 때는 readConsistent 안에서 호출)
+     */
+    public long pendingDelta(Long itemId) {
+        segmentLock.readLock().lock();   // 버퍼 -> inFlight 로 옮기는 중간 상태를 보지 않음
+        try {
+            LongAdder adder = pending.get(itemId);
+            long buffered = adder == null ? 0 : adder.sum();
+            return buffered + inFlight.getOrDefault(itemId, 0L);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * DB 조회 + pendingDelta 를 플러시 커밋과 겹치지 않게 실행 (겹치면 다시 실행하므로 read 는 부수 효과가 없어야 함)
+     */
+    public <T> T readConsistent(Supplier<T> read) {
+        while (true) {
+            long seq = commitSeq.get();
+            if ((seq & 1) != 0) {
+                Thread.yield();   // 커밋 중 -> 끝날 때까지 대기
+                continue;
+            }
+            T result = read.get();
+            if (commitSeq.get() == seq) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * 버퍼를 비우고 배치 업데이트로 반영, 반영된 행 수 반환
+     */
+    public int flush() {
+        synchronized (flushMonitor) {
+            flushRequested.set(false);
+            Map<Long, Long> deltas = new HashMap<>();
+            long flushedSegment;
+
+            segmentLock.writeLock().lock();
+            try {
+                for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+                    long delta = entry.getValue().sumThenReset();
+                    if (delta != 0) {
+                        deltas.put(entry.getKey(), delta);
+                    }
+                }
+                pending.entrySet().removeIf(entry -> entry.getValue().sum() == 0);
+                inFlight.putAll(deltas);   // 버퍼에서 빠진 순간 바로 반영 중으로 보임
+                flushedSegment = segment;
+                rotate();   // 이후 변화량은 새 세그먼트에 기록
+            } finally {
+                segmentLock.writeLock().unlock();
+            }
+
+            if (deltas.isEmpty()) {
+                deleteSegmentsUpTo(flushedSegment);
+                return 0;
+            }
+
+            try {
+                writeBatch(deltas, flushedSegment);   // 커밋되면 inFlight 에서 제거
+            } catch (RuntimeException e) {
+                segmentLock.writeLock().lock();
+                try {
+                    deltas.forEach((itemId, delta) -> pending.computeIfAbsent(itemId, id -> new LongAdder()).add(delta));
+                    deltas.keySet().forEach(inFlight::remove);
+                } finally {
+                    segmentLock.writeLock().unlock();
+                }
+                throw e;   // 세그먼트 파일은 남아 있으므로 재시작해도 유실 X
+            }
+            deleteSegmentsUpTo(flushedSegment);
+            log.debug("write-behind flush segment={}, items={}", flushedSegment, deltas.size());
+            return deltas.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        closeJournal();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("write-behind flush 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    private void writeBatch(Map<Long, Long> deltas, long flushedSegment) {
+        List<Object[]> params = new ArrayList<>(deltas.size());
+        deltas.forEach((itemId, delta) -> params.add(new Object[]{delta, itemId}));
+
+        txTemplate.executeWithoutResult(status -> {
+            template.batchUpdate("update item set quantity = quantity + ?, version = version + 1 where id = ?", params);
+            template.update("update item_quantity_flush set segment = ? where id = 1", flushedSegment);
+            TransactionSynchronizationManager.registerSynchronization(new InFlightRelease(deltas));
+        });
+    }
+
+    /**
+     * 커밋 시작 ~ inFlight 제거까지 commitSeq 를 홀수로 유지 -> 그 사이의 조회는 readConsistent 가 다시 실행
+     */
+    private class InFlightRelease implements TransactionSynchronization {
+
+        private final Map<Long, Long> deltas;
+        private boolean committing;
+
+        InFlightRelease(Map<Long, Long> deltas) {
+            this.deltas = deltas;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitSeq.incrementAndGet();
+            committing = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                deltas.keySet().forEach(inFlight::remove);
+            }
+            if (committing) {
+                commitSeq.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * item_quantity_flush 테이블은 schema.sql 에서 생성, 체크포인트 행만 없으면 추가
+     */
+    private void initCheckpoint() {
+        Integer count = template.queryForObject("select count(*) from item_quantity_flush where id = 1", Integer.class);
+        if (count == null || count == 0) {
+            template.update("insert into item_quantity_flush (id, segment) values (1, 0)");
+        }
+    }
+
+    /**
+     * 체크포인트 이후 세그먼트를 다시 읽어서 버퍼에 적재 (이미 저널에 있으므로 다시 기록하지 않음)
+     */
+    private void replay() {
+        try {
+            Files.createDirectories(journalDir);
+            Long checkpoint = template.queryForObject("select segment from item_quantity_flush where id = 1", Long.class);
+            TreeMap<Long, Path> segments = listSegments();
+            long replayed = 0;
+            for (Map.Entry<Long, Path> entry : segments.entrySet()) {
+                if (entry.getKey() <= checkpoint) {
+                    Files.deleteIfExists(entry.getValue());   // 이미 DB 에 반영된 세그먼트
+                    continue;
+                }
+                replayed += readSegment(entry.getValue());
+            }
+            segment = segments.isEmpty() ? checkpoint : Math.max(checkpoint, segments.lastKey());
+            if (replayed > 0) {
+                log.info("write-behind journal replay records={}, items={}", replayed, pending.size());
+            }
+            openSegment(segment + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readSegment(Path path) throws IOException {
+        ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(path));
+        long count = 0;
+        while (records.remaining() >= RECORD_SIZE) {   // 마지막 레코드가 잘린 경우(기록 중 장애)는 버림
+            pending.computeIfAbsent(records.getLong(), id -> new LongAdder()).add(records.getLong());
+            count++;
+        }
+        return count;
+    }
+
+    private void appendJournal(Long itemId, long delta) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).putLong(itemId).putLong(delta);
+        record.flip();
+        try {
+            synchronized (this) {   // 레코드 단위로 끼어들지 않도록
+                while (record.hasRemaining()) {
+                    journal.write(record);
+                }
+                if (syncEachWrite) {
+                    journal.force(false);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void rotate() {
+        closeJournal();
+        try {
+            openSegment(segment + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void openSegment(long next) throws IOException {
+        segment = next;
+        journal = FileChannel.open(segmentPath(next),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void closeJournal() {
+        try {
+            if (journal != null) {
+                journal.force(false);
+                journal.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteSegmentsUpTo(long upTo) {
+        try {
+            for (Map.Entry<Long, Path> entry : listSegments().headMap(upTo, true).entrySet()) {
+                Files.deleteIfExists(entry.getValue());
+            }
+        } catch (IOException e) {
+            log.warn("저널 세그먼트 삭제 실패, 재시작 시 체크포인트로 건너뜀", e);
+        }
+    }
+
+    private TreeMap<Long, Path> listSegments() throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(journalDir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), path);
+            }
+        }
+        return segments;
+    }
+
+    private Path segmentPath(long seq) {
+        return journalDir.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, seq, SEGMENT_SUFFIX));
+    }
+}
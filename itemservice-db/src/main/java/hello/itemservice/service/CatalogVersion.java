@@ -0,0 +1,34 @@
+package hello.itemservice.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 카탈로그 버전 : 상품이 저장/수정될 때마다 1 증가 (CatalogVersioningItemService)
+ *
+ * : 목록 화면의 ETag / Last-Modified, 렌더링된 표 조각 캐시의 키로 사용
+ * : 서버마다, 재시작마다 다른 bootId 를 ETag 에 붙여서 다른 인스턴스의 버전과 섞이지 않음
+ */
+public class CatalogVersion {
+
+    private final String bootId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+
+    public long bump() {
+        lastModified = System.currentTimeMillis();
+        return version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public String etag() {
+        return "\"" + bootId + "-" + version.get() + "\"";
+    }
+}
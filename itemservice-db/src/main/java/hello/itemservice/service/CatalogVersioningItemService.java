@@ -0,0 +1,85 @@
+package hello.itemservice.service;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 저장/수정이 끝나면(트랜잭션 커밋 후) 카탈로그 버전 증가
+ * -> 트랜잭션이 걸린 서비스 바깥에서 감싸야 커밋 전에 새 버전으로 옛 데이터를 캐시하지 않음
+ * -> 바깥에 더 큰 트랜잭션이 있으면 그 트랜잭션의 커밋 이후로 미룸 (롤백되면 증가 X)
+ */
+@RequiredArgsConstructor
+public class CatalogVersioningItemService implements ItemService {
+
+    private final ItemService target;
+    private final CatalogVersion catalogVersion;
+
+    @Override
+    public Item save(Item item) {
+        Item savedItem = target.save(item);
+        bumpAfterCommit();
+        return savedItem;
+    }
+
+    @Override
+    public void update(Long itemId, ItemUpdateDto updateParam) {
+        target.update(itemId, updateParam);
+        bumpAfterCommit();
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        List<Item> savedItems = target.saveAll(items);
+        bumpAfterCommit();   // 여러 건이어도 한 번만
+        return savedItems;
+    }
+
+    @Override
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        target.updateAll(updates);
+        bumpAfterCommit();
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        return target.findById(id);
+    }
+
+    @Override
+    public List<Item> findItemsByIds(Collection<Long> itemIds) {
+        return target.findItemsByIds(itemIds);
+    }
+
+    @Override
+    public List<Item> findItems(ItemSearchCond cond) {
+        return target.findItems(cond);
+    }
+
+    @Override
+    public List<ItemRow> findItemRows(ItemSearchCond cond) {
+        return target.findItemRows(cond);
+    }
+
+    private void bumpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            catalogVersion.bump();   // 트랜잭션 밖이면 이미 커밋됨
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                catalogVersion.bump();
+            }
+        });
+    }
+}
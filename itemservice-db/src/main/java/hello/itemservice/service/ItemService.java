@@ -1,10 +1,13 @@
 package hello.itemservice.service;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ItemService {
@@ -13,7 +16,15 @@ public interface ItemService {
 
     void update(Long itemId, ItemUpdateDto updateParam);
 
+    List<Item> saveAll(List<Item> items);   // 입력 순서대로
+
+    void updateAll(Map<Long, ItemUpdateDto> updates);   // itemId -> 변경 필드
+
     Optional<Item> findById(Long id);
 
+    List<Item> findItemsByIds(Collection<Long> itemIds);   // 중복 제거, 입력 순서대로
+
     List<Item> findItems(ItemSearchCond itemSearch);
+
+    List<ItemRow> findItemRows(ItemSearchCond itemSearch);   // 조회 전용 (화면 목록)
 }
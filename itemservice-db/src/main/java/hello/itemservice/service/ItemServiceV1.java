@@ -1,13 +1,16 @@
 package hello.itemservice.service;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -26,13 +29,33 @@ public class ItemServiceV1 implements ItemService {
         itemRepository.update(itemId, updateParam);
     }
 
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        return itemRepository.saveAll(items);
+    }
+
+    @Override
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        itemRepository.updateAll(updates);
+    }
+
     @Override
     public Optional<Item> findById(Long id) {
         return itemRepository.findById(id);
     }
 
+    @Override
+    public List<Item> findItemsByIds(Collection<Long> itemIds) {
+        return itemRepository.findAllById(itemIds);
+    }
+
     @Override
     public List<Item> findItems(ItemSearchCond cond) {
         return itemRepository.findAll(cond);
     }
+
+    @Override
+    public List<ItemRow> findItemRows(ItemSearchCond cond) {
+        return itemRepository.findAllRows(cond);
+    }
 }
@@ -1,6 +1,9 @@
 package hello.itemservice.service;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.partition.PoolPartition;
+import hello.itemservice.repository.ItemIdChunks;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
 import hello.itemservice.repository.v2.ItemQueryRepositoryV2;
@@ -9,28 +12,73 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * 기본은 읽기 전용 트랜잭션, 변경 메서드만 @Transactional 로 덮어씀
+ *
+ * readOnly = true 이면 JpaTransactionManager(HibernateJpaDialect) 가
+ * - Session.setDefaultReadOnly(true) : 조회한 엔티티의 스냅샷 X -> 더티 체킹 대상 X
+ * - FlushMode.MANUAL : 커밋 시 플러시 X
+ * - Connection.setReadOnly(true) : 드라이버 최적화, 읽기 DB 라우팅 (ReadOnlyRoutingConfig)
+ *
+ * @PoolPartition : 목록 조회는 scan, 변경은 critical 파티션에서 커넥션을 가져옴 (PoolPartitionConfig 를 등록했을 때만)
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class ItemServiceV2 implements ItemService {
 
     private final ItemRepositoryV2 itemRepository;
     private final ItemQueryRepositoryV2 queryRepository;
 
     @Override
+    @Transactional
+    @PoolPartition("critical")
     public Item save(Item item) {
         return itemRepository.save(item);
     }
 
     @Override
+    @Transactional
+    @PoolPartition("critical")
     public void update(Long itemId, ItemUpdateDto updateParam) {
         Item item = itemRepository.findById(itemId).orElseThrow();
-        item.setItemName(updateParam.getItemName());
-        item.setPrice(updateParam.getPrice());
-        item.setQuantity(updateParam.getQuantity());
+        updateParam.applyTo(item);   // 변경된 필드만 반영 -> @DynamicUpdate 로 바뀐 칼럼만 UPDATE
+    }
+
+    /**
+     * 한 트랜잭션에서 JDBC 배치 INSERT (Spring Data saveAll 은 IDENTITY 라 건마다 INSERT)
+     */
+    @Override
+    @Transactional
+    @PoolPartition("critical")
+    public List<Item> saveAll(List<Item> items) {
+        return queryRepository.saveAll(items);
+    }
+
+    /**
+     * IN 절로 한 번에 조회 후 변경 감지 -> 커밋 시 UPDATE 를 JDBC 배치로 전송 (hibernate.jdbc.batch_size)
+     */
+    @Override
+    @Transactional
+    @PoolPartition("critical")
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        Map<Long, Item> items = ItemIdChunks.load(updates.keySet(), itemRepository::findAllById).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        updates.forEach((itemId, updateParam) -> {
+            Item item = items.get(itemId);
+            if (item == null) {
+                throw new NoSuchElementException("item not found from itemId = " + itemId);
+            }
+            updateParam.applyTo(item);
+        });
     }
 
     @Override
@@ -39,7 +87,19 @@ public class ItemServiceV2 implements ItemService {
     }
 
     @Override
+    public List<Item> findItemsByIds(Collection<Long> itemIds) {
+        return ItemIdChunks.load(itemIds, itemRepository::findAllById);
+    }
+
+    @Override
+    @PoolPartition("scan")
     public List<Item> findItems(ItemSearchCond cond) {
         return queryRepository.findAll(cond);
     }
+
+    @Override
+    @PoolPartition("scan")
+    public List<ItemRow> findItemRows(ItemSearchCond cond) {
+        return queryRepository.findAllRows(cond);
+    }
 }
@@ -0,0 +1,107 @@
+package hello.itemservice.service;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemUpdateDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 낙관적 락 충돌 시 다시 읽고 병합해서 재시도
+ *
+ * adjustQuantity : 수량 변화량(delta)은 순서와 상관없이 합쳐도 되므로 충돌하면 최신 수량에 다시 더함
+ * update         : 사용자가 본 상태(base)와 비교해서
+ *                  - 수량은 사용자가 바꾼 만큼(delta)만 최신 수량에 반영
+ *                  - 상품명/가격은 양쪽이 모두 다르게 바꾼 경우에만 진짜 충돌 -> 예외 그대로 전달
+ *
+ * 수량이 없는(null) 상품은 0 으로 보고 더함
+ *
+ * 행 락(select ... for update) 없이 인기 상품도 계속 수정 가능, 재시도마다 짧은 랜덤 대기로 충돌 분산
+ */
+@Slf4j
+public class OptimisticItemUpdater {
+
+    private final ItemService itemService;
+    private final int maxAttempts;
+
+    public OptimisticItemUpdater(ItemService itemService, int maxAttempts) {
+        this.itemService = itemService;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public void adjustQuantity(Long itemId, int delta) {
+        for (int attempt = 1; ; attempt++) {
+            Item item = itemService.findById(itemId).orElseThrow();
+            ItemUpdateDto updateParam = new ItemUpdateDto();
+            updateParam.setQuantity(quantityOf(item.getQuantity()) + delta);
+            updateParam.setVersion(item.getVersion());
+            try {
+                itemService.update(itemId, updateParam);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                retryOrThrow(itemId, attempt, e);
+            }
+        }
+    }
+
+    /**
+     * @param base        사용자가 수정 폼을 열 때 읽은 상품 (updateParam.version 과 같은 버전)
+     * @param updateParam 사용자가 변경한 필드
+     */
+    public void update(Long itemId, Item base, ItemUpdateDto updateParam) {
+        ItemUpdateDto attemptParam = updateParam;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                itemService.update(itemId, attemptParam);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                retryOrThrow(itemId, attempt, e);
+                Item current = itemService.findById(itemId).orElseThrow();
+                attemptParam = merge(base, current, updateParam, e);
+            }
+        }
+    }
+
+    private ItemUpdateDto merge(Item base, Item current, ItemUpdateDto updateParam, OptimisticLockingFailureException e) {
+        ItemUpdateDto merged = new ItemUpdateDto();
+        if (updateParam.isItemNameChanged()) {
+            merged.setItemName(resolve(base.getItemName(), current.getItemName(), updateParam.getItemName(), e));
+        }
+        if (updateParam.isPriceChanged()) {
+            merged.setPrice(resolve(base.getPrice(), current.getPrice(), updateParam.getPrice(), e));
+        }
+        if (updateParam.isQuantityChanged() && updateParam.getQuantity() == null) {
+            merged.setQuantity(resolve(base.getQuantity(), current.getQuantity(), null, e));   // 수량을 지운 경우는 변화량이 없음
+        } else if (updateParam.isQuantityChanged()) {
+            int delta = updateParam.getQuantity() - quantityOf(base.getQuantity());
+            merged.setQuantity(quantityOf(current.getQuantity()) + delta);
+        }
+        merged.setVersion(current.getVersion());
+        return merged;
+    }
+
+    /**
+     * 다른 쪽이 안 바꿨거나, 같은 값으로 바꿨으면 사용자 값 사용
+     */
+    private <T> T resolve(T base, T current, T mine, OptimisticLockingFailureException e) {
+        if (Objects.equals(base, current) || Objects.equals(current, mine)) {
+            return mine;
+        }
+        throw e;
+    }
+
+    private static int quantityOf(Integer quantity) {
+        return quantity == null ? 0 : quantity;
+    }
+
+    private void retryOrThrow(Long itemId, int attempt, OptimisticLockingFailureException e) {
+        if (attempt >= maxAttempts) {
+            throw e;
+        }
+        log.debug("item {} version conflict, retry {}/{}", itemId, attempt, maxAttempts);
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(1_000_000L << Math.min(attempt, 5)));   // 최대 약 32ms
+    }
+}
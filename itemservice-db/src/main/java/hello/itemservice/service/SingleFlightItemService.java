@@ -0,0 +1,210 @@
+package hello.itemservice.service;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * findById 요청 합치기(single-flight) 서비스 데코레이터
+ *
+ * : 같은 id 를 동시에 조회하면 처음 요청(리더)만 DB 를 조회하고, 나머지는 그 결과를 기다렸다가 함께 받음
+ * : 조회가 끝나면 바로 목록에서 빠짐 -> 결과를 저장해 두는 캐시가 아니므로 오래된 값이 보이지 않음
+ *
+ * 마이크로 배치 (batchWindowMicros > 0)
+ * : 리더가 바로 조회하지 않고 짧은 시간 동안 들어온 서로 다른 id 를 모아서 IN 쿼리(findItemsByIds) 한 번으로 조회
+ *
+ * 지표 : item.lookup.requests(전체 요청), item.lookup.loads(DB 조회), item.lookup.coalescing.ratio(합쳐진 비율)
+ */
+@Slf4j
+public class SingleFlightItemService implements ItemService, AutoCloseable {
+
+    private final ItemService target;
+    private final long batchWindowMicros;
+    private final Map<Long, CompletableFuture<Optional<Item>>> inFlight = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService batchExecutor;
+    private final Object batchLock = new Object();
+    private List<Long> batch = new ArrayList<>();   // batchLock
+
+    private final Counter requests;
+    private final Counter loads;
+
+    public SingleFlightItemService(ItemService target, long batchWindowMicros, MeterRegistry registry) {
+        this.target = target;
+        this.batchWindowMicros = batchWindowMicros;
+        this.batchExecutor = batchWindowMicros > 0
+                ? Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "item-lookup-batch");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        this.requests = registry.counter("item.lookup.requests");
+        this.loads = registry.counter("item.lookup.loads");
+        Gauge.builder("item.lookup.coalescing.ratio", this, SingleFlightItemService::coalescingRatio)
+                .description("DB 조회 없이 다른 요청의 결과를 받은 비율")
+                .register(registry);
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        if (id == null) {   // ConcurrentHashMap 키로 사용
+            throw new IllegalArgumentException("id 는 null 일 수 없음");
+        }
+        requests.increment();
+        CompletableFuture<Optional<Item>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<Item>> leader = inFlight.putIfAbsent(id, flight);
+        if (leader != null) {
+            return await(leader);   // 이미 조회 중 -> 결과만 기다림
+        }
+
+        if (batchExecutor == null) {
+            loads.increment();
+            complete(id, flight, target::findById);
+        } else {
+            enqueue(id, flight);
+        }
+        return await(flight);
+    }
+
+    /**
+     * 예약에 실패하면(close() 이후 RejectedExecutionException) 이 요청만 실패시키고 목록에서 뺌 -> 기다리는 요청이 남지 않음
+     */
+    private void enqueue(Long id, CompletableFuture<Optional<Item>> flight) {
+        synchronized (batchLock) {
+            batch.add(id);
+            if (batch.size() == 1) {   // 창의 첫 id 가 플러시 예약
+                try {
+                    batchExecutor.schedule(this::loadBatch, batchWindowMicros, TimeUnit.MICROSECONDS);
+                } catch (Throwable e) {
+                    batch = new ArrayList<>();
+                    fail(id, flight, e);
+                }
+            }
+        }
+    }
+
+    private void loadBatch() {
+        List<Long> ids;
+        synchronized (batchLock) {
+            ids = batch;
+            batch = new ArrayList<>();
+        }
+        log.debug("item lookup batch size={}", ids.size());
+        loads.increment();
+        Map<Long, Item> found;
+        try {
+            found = target.findItemsByIds(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+        } catch (Throwable e) {
+            for (Long id : ids) {
+                fail(id, inFlight.get(id), e);
+            }
+            return;
+        }
+        for (Long id : ids) {
+            complete(id, inFlight.get(id), key -> Optional.ofNullable(found.get(key)));
+        }
+    }
+
+    /**
+     * 목록에서 먼저 빼고 결과 전달 -> 그 이후 요청은 새로 조회 (수정 직후 값을 놓치지 않음)
+     * Error 도 함께 처리 -> 목록에 완료되지 않은 조회가 남아서 같은 id 요청이 영원히 기다리는 일 X
+     */
+    private void complete(Long id, CompletableFuture<Optional<Item>> flight, Function<Long, Optional<Item>> loader) {
+        Optional<Item> item;
+        try {
+            item = loader.apply(id);
+        } catch (Throwable e) {
+            fail(id, flight, e);
+            return;
+        }
+        inFlight.remove(id, flight);
+        flight.complete(item);
+    }
+
+    private void fail(Long id, CompletableFuture<Optional<Item>> flight, Throwable e) {
+        inFlight.remove(id, flight);
+        flight.completeExceptionally(e);
+    }
+
+    private Optional<Item> await(CompletableFuture<Optional<Item>> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();   // 리더가 받은 예외 그대로 전달
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public double coalescingRatio() {
+        double total = requests.count();
+        return total == 0 ? 0 : 1 - loads.count() / total;
+    }
+
+    @Override
+    public Item save(Item item) {
+        return target.save(item);
+    }
+
+    @Override
+    public void update(Long itemId, ItemUpdateDto updateParam) {
+        target.update(itemId, updateParam);
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        return target.saveAll(items);
+    }
+
+    @Override
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        target.updateAll(updates);
+    }
+
+    @Override
+    public List<Item> findItemsByIds(Collection<Long> itemIds) {
+        return target.findItemsByIds(itemIds);
+    }
+
+    @Override
+    public List<Item> findItems(ItemSearchCond cond) {
+        return target.findItems(cond);
+    }
+
+    @Override
+    public List<ItemRow> findItemRows(ItemSearchCond cond) {
+        return target.findItemRows(cond);
+    }
+
+    @Override
+    public void close() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdown();
+        }
+    }
+}
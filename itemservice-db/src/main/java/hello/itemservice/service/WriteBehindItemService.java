@@ -0,0 +1,96 @@
+package hello.itemservice.service;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.writebehind.QuantityWriteBehindBuffer;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.Optional;
+
+/**
+ * 재고 수량 변경을 쓰기 지연 버퍼로 보내는 서비스 데코레이터
+ *
+ * addQuantity : 행 전체 UPDATE 대신 변화량만 버퍼에 적재 (DB 반영은 QuantityWriteBehindBuffer 가 모아서 처리)
+ * findById    : 아직 반영되지 않은 변화량을 더해서 반환 (read-your-writes, 플러시 커밋과 겹치면 다시 조회)
+ */
+@RequiredArgsConstructor
+public class WriteBehindItemService implements ItemService {
+
+    private final ItemService target;
+    private final QuantityWriteBehindBuffer buffer;
+
+    public void addQuantity(Long itemId, int delta) {
+        buffer.add(itemId, delta);
+    }
+
+    @Override
+    public Item save(Item item) {
+        return target.save(item);
+    }
+
+    /**
+     * 수량을 절대값으로 덮어쓰는 경우, 그 전에 쌓인 변화량을 먼저 반영해서 순서를 지킴
+     */
+    @Override
+    public void update(Long itemId, ItemUpdateDto updateParam) {
+        if (updateParam.isQuantityChanged()) {
+            buffer.flush();
+        }
+        target.update(itemId, updateParam);
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        return target.saveAll(items);
+    }
+
+    @Override
+    public void updateAll(Map<Long, ItemUpdateDto> updates) {
+        if (updates.values().stream().anyMatch(ItemUpdateDto::isQuantityChanged)) {
+            buffer.flush();
+        }
+        target.updateAll(updates);
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        return buffer.readConsistent(() -> target.findById(id).map(this::withPendingQuantity));
+    }
+
+    @Override
+    public List<Item> findItemsByIds(Collection<Long> itemIds) {
+        return buffer.readConsistent(() -> target.findItemsByIds(itemIds).stream()
+                .map(this::withPendingQuantity)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Item> findItems(ItemSearchCond cond) {
+        return target.findItems(cond);   // 목록은 플러시 주기만큼 늦게 보일 수 있음
+    }
+
+    @Override
+    public List<ItemRow> findItemRows(ItemSearchCond cond) {
+        return target.findItemRows(cond);
+    }
+
+    /**
+     * JPA 엔티티를 직접 바꾸면 변경 감지로 DB 에 반영될 수 있으므로 복사본에 더함
+     */
+    private Item withPendingQuantity(Item item) {
+        long delta = buffer.pendingDelta(item.getId());
+        if (delta == 0 || item.getQuantity() == null) {
+            return item;
+        }
+        Item copy = new Item(item.getItemName(), item.getPrice(), Math.toIntExact(item.getQuantity() + delta));
+        copy.setId(item.getId());
+        copy.setVersion(item.getVersion());
+        return copy;
+    }
+}
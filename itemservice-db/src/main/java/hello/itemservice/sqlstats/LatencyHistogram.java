@@ -0,0 +1,62 @@
+package hello.itemservice.sqlstats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 락 없는 로그-선형 히스토그램 (나노초)
+ * 2의 거듭제곱 구간마다 SUB_BUCKETS 개로 나눔 -> 상대 오차 최대 1/SUB_BUCKETS (25%)
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+
+    void record(long nanos) {
+        buckets.incrementAndGet(index(Math.max(1, nanos)));
+    }
+
+    /**
+     * @param percentile 0 ~ 100
+     * @return 해당 구간의 상한값(나노초), 기록이 없으면 0
+     */
+    long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(buckets.length() - 1);
+    }
+
+    static int index(long nanos) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+        if (magnitude < SUB_BITS) {
+            return (int) nanos;   // 0 ~ 3ns 는 그대로
+        }
+        int sub = (int) (nanos >>> (magnitude - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return magnitude * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int index) {
+        int magnitude = index / SUB_BUCKETS;
+        int sub = index % SUB_BUCKETS;
+        if (magnitude < SUB_BITS) {
+            return index;
+        }
+        long base = 1L << magnitude;
+        long step = base >>> SUB_BITS;
+        return base + step * (sub + 1) - 1;
+    }
+}
@@ -0,0 +1,29 @@
+package hello.itemservice.sqlstats;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 느린 SQL 한 건 (바인딩 값 포함)
+ */
+@Getter
+public class SlowQuerySample {
+
+    private final String sql;
+    private final String fingerprint;
+    private final List<Object> params;
+    private final long elapsedMicros;
+    private final Instant at;
+    private final String thread;
+
+    SlowQuerySample(String sql, String fingerprint, List<Object> params, long elapsedMicros) {
+        this.sql = sql;
+        this.fingerprint = fingerprint;
+        this.params = params;
+        this.elapsedMicros = elapsedMicros;
+        this.at = Instant.now();
+        this.thread = Thread.currentThread().getName();
+    }
+}
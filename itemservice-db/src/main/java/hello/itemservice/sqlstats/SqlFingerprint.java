@@ -0,0 +1,99 @@
+package hello.itemservice.sqlstats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 지문 : 리터럴, 공백, 대소문자, IN 목록 크기가 달라도 같은 모양이면 같은 문자열
+ *
+ * select id, item_name from item where id in (?, ?, ?)   -> select id,item_name from item where id in(?+)
+ * ... where item_name like concat('%', ?, '%')            -> ... where item_name like concat(?,?,?)
+ * (MyBatis 의 여러 줄 SQL, JdbcTemplate 의 한 줄 SQL, ItemIdChunks 의 IN 크기별 SQL 이 하나로 모임)
+ *
+ * 같은 SQL 문자열은 계속 재사용되므로 결과를 캐시 (최대 MAX_CACHED 개, 넘으면 매번 계산)
+ */
+public final class SqlFingerprint {
+
+    static final int MAX_CACHED = 10_000;
+
+    private static final String TIGHT_BEFORE = "(,=<>!";   // 이 문자 뒤의 공백 제거
+    private static final String TIGHT_AFTER = "(),=<>!";   // 이 문자 앞의 공백 제거
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\((\\?,)*\\?\\)");
+    private static final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String fingerprint = cache.get(sql);
+        if (fingerprint == null) {
+            fingerprint = normalize(sql);
+            if (cache.size() < MAX_CACHED) {
+                cache.putIfAbsent(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        boolean pendingSpace = false;
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (c == '\'') {   // 문자열 리터럴 ('' 는 이스케이프)
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    i++;
+                }
+                pendingSpace = append(out, '?', pendingSpace);
+                continue;
+            }
+            if (Character.isDigit(c) && !endsWithWord(out, pendingSpace)) {   // 숫자 리터럴 (item0_ 같은 식별자는 그대로)
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                pendingSpace = append(out, '?', pendingSpace);
+                continue;
+            }
+            pendingSpace = append(out, Character.toLowerCase(c), pendingSpace);
+            i++;
+        }
+        return IN_LIST.matcher(out).replaceAll("in(?+)");
+    }
+
+    /**
+     * 공백은 하나로, 괄호/쉼표/비교 연산자 주변 공백은 제거
+     */
+    private static boolean append(StringBuilder out, char c, boolean pendingSpace) {
+        if (pendingSpace && out.length() > 0
+                && TIGHT_BEFORE.indexOf(out.charAt(out.length() - 1)) < 0 && TIGHT_AFTER.indexOf(c) < 0) {
+            out.append(' ');
+        }
+        out.append(c);
+        return false;
+    }
+
+    private static boolean endsWithWord(StringBuilder out, boolean pendingSpace) {
+        if (pendingSpace || out.length() == 0) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_';
+    }
+}
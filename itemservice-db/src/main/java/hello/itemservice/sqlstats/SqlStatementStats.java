@@ -0,0 +1,74 @@
+package hello.itemservice.sqlstats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지문 하나의 누적 통계 (여러 스레드가 동시에 기록, 락 X)
+ */
+public class SqlStatementStats {
+
+    private final String fingerprint;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    SqlStatementStats(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    void record(long nanos, boolean failed) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    void addRows(long rowCount) {
+        rows.add(rowCount);
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(totalNanos.sum());
+    }
+
+    public long getMeanMicros() {
+        long calls = count.sum();
+        return calls == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.sum() / calls);
+    }
+
+    public long getP50Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.percentile(50));
+    }
+
+    public long getP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.percentile(99));
+    }
+
+    public long getMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxNanos.get());
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+}
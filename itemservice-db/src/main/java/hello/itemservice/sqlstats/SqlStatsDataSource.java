@@ -0,0 +1,232 @@
+package hello.itemservice.sqlstats;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 실행되는 모든 SQL 을 SqlStatsRegistry 에 기록하는 DataSource 프록시
+ * JdbcTemplate, MyBatis, 하이버네이트 모두 DataSource 에서 커넥션을 얻으므로 한 곳에서 수집
+ *
+ * 문장마다 : 프록시 생성(생성자 캐시), nanoTime 2번, 지문 캐시 조회, LongAdder/히스토그램 기록 -> 1µs 미만
+ * 바인딩 값은 배열에 참조만 보관하고, 느린 SQL 일 때만 복사
+ */
+public class SqlStatsDataSource extends DelegatingDataSource {
+
+    private static final Constructor<?> CONNECTION_PROXY = proxyConstructor(Connection.class);
+    private static final Constructor<?> STATEMENT_PROXY = proxyConstructor(Statement.class);
+    private static final Constructor<?> PREPARED_PROXY = proxyConstructor(PreparedStatement.class);
+    private static final Constructor<?> CALLABLE_PROXY = proxyConstructor(CallableStatement.class);
+    private static final Constructor<?> RESULT_SET_PROXY = proxyConstructor(ResultSet.class);
+
+    private final SqlStatsRegistry registry;
+
+    public SqlStatsDataSource(DataSource target, SqlStatsRegistry registry) {
+        super(target);
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return (Connection) newProxy(CONNECTION_PROXY, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (Connection) newProxy(CONNECTION_PROXY, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, proxy, method, args);
+            if (result instanceof Statement) {
+                String name = method.getName();
+                if (name.equals("prepareStatement")) {
+                    return newProxy(PREPARED_PROXY, new StatementHandler((Statement) result, (String) args[0]));
+                }
+                if (name.equals("prepareCall")) {
+                    return newProxy(CALLABLE_PROXY, new StatementHandler((Statement) result, (String) args[0]));
+                }
+                if (name.equals("createStatement")) {
+                    return newProxy(STATEMENT_PROXY, new StatementHandler((Statement) result, null));
+                }
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private Object[] params = new Object[8];
+        private String batchSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(proxy, method, args, name);
+            }
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(params, null);
+            } else if (name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql = (String) args[0];   // Statement.addBatch(sql)
+            }
+            return invokeTarget(target, proxy, method, args);
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args, String name) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+                    : preparedSql != null ? preparedSql : batchSql;
+            long start = System.nanoTime();
+            boolean failed = true;
+            Object result;
+            SqlStatementStats stats;
+            try {
+                result = invokeTarget(target, proxy, method, args);
+                failed = false;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                stats = sql == null ? null : registry.record(sql, elapsed, failed, this::paramsSnapshot);
+            }
+            if (stats == null) {
+                return result;
+            }
+            if (result instanceof ResultSet) {
+                return newProxy(RESULT_SET_PROXY, new ResultSetHandler((ResultSet) result, stats));
+            }
+            if (result instanceof Integer) {
+                stats.addRows((Integer) result);
+            } else if (result instanceof Long) {
+                stats.addRows((Long) result);
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    stats.addRows(Math.max(0, count));   // SUCCESS_NO_INFO(-2) 는 0
+                }
+            }
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index >= params.length) {
+                params = Arrays.copyOf(params, Math.max(index + 1, params.length * 2));
+            }
+            params[index] = value;
+        }
+
+        private List<Object> paramsSnapshot() {
+            int last = params.length - 1;
+            while (last > 0 && params[last] == null) {
+                last--;
+            }
+            if (last <= 0) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(params).subList(1, last + 1)));   // JDBC 인덱스는 1부터
+        }
+    }
+
+    /**
+     * next() 가 true 를 반환한 횟수 = 읽은 행 수, close() 할 때 지문 통계에 추가
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final SqlStatementStats stats;
+        private long rows;
+        private boolean closed;
+
+        ResultSetHandler(ResultSet target, SqlStatementStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, proxy, method, args);
+            String name = method.getName();
+            if (name.equals("next")) {
+                if ((Boolean) result) {
+                    rows++;
+                }
+            } else if (name.equals("close") && !closed) {
+                closed = true;
+                stats.addRows(rows);
+            }
+            return result;
+        }
+    }
+
+    private static Object invokeTarget(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            case "isWrapperFor":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return true;
+                }
+                break;
+            default:
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static Constructor<?> proxyConstructor(Class<?> type) {
+        Object sample = Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> null);
+        try {
+            return sample.getClass().getConstructor(InvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object newProxy(Constructor<?> constructor, InvocationHandler handler) {
+        try {
+            return constructor.newInstance(handler);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.sqlstats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/sqlstats?limit=10&orderBy=total|count|p99|rows : 지문별 상위 N 개 + 최근 느린 SQL
+ * DELETE /actuator/sqlstats : 초기화
+ */
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+
+    private final SqlStatsRegistry registry;
+
+    @ReadOperation
+    public Map<String, Object> top(@Nullable Integer limit, @Nullable SqlStatsRegistry.Order orderBy) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statements", registry.top(limit == null ? 10 : limit, orderBy == null ? SqlStatsRegistry.Order.TOTAL : orderBy));
+        result.put("slowQueries", registry.slowQueries());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
@@ -0,0 +1,111 @@
+package hello.itemservice.sqlstats;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 지문별 SQL 통계 + 최근 느린 SQL (원형 버퍼, 오래된 것부터 덮어씀)
+ */
+public class SqlStatsRegistry {
+
+    public enum Order {
+        TOTAL(Comparator.comparingLong(SqlStatementStats::getTotalMicros)),
+        COUNT(Comparator.comparingLong(SqlStatementStats::getCount)),
+        P99(Comparator.comparingLong(SqlStatementStats::getP99Micros)),
+        ROWS(Comparator.comparingLong(SqlStatementStats::getRows));
+
+        private final Comparator<SqlStatementStats> comparator;
+
+        Order(Comparator<SqlStatementStats> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    static final int MAX_FINGERPRINTS = 5_000;
+    static final String OVERFLOW = "(other)";
+
+    private final Map<String, SqlStatementStats> statements = new ConcurrentHashMap<>();
+    private final long slowThresholdNanos;
+    private final AtomicReferenceArray<SlowQuerySample> slowSamples;
+    private final AtomicLong slowCursor = new AtomicLong();
+    private volatile SqlStatementStats overflow = new SqlStatementStats(OVERFLOW);
+
+    /**
+     * @param slowThreshold 이 시간 이상 걸린 SQL 은 바인딩 값과 함께 보관
+     * @param slowSamples   보관할 느린 SQL 최대 개수
+     */
+    public SqlStatsRegistry(Duration slowThreshold, int slowSamples) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowSamples = new AtomicReferenceArray<>(slowSamples);
+    }
+
+    /**
+     * @param params 느린 SQL 일 때만 호출 (바인딩 값 복사 비용은 느린 SQL 에만)
+     * @return 지문 통계 (조회 SQL 은 ResultSet 을 닫을 때 행 수 추가)
+     */
+    SqlStatementStats record(String sql, long nanos, boolean failed, Supplier<List<Object>> params) {
+        String fingerprint = SqlFingerprint.of(sql);
+        SqlStatementStats stats = statsOf(fingerprint);
+        stats.record(nanos, failed);
+        if (nanos >= slowThresholdNanos) {
+            int slot = (int) (slowCursor.getAndIncrement() % slowSamples.length());
+            slowSamples.set(slot, new SlowQuerySample(sql, fingerprint, params.get(), TimeUnit.NANOSECONDS.toMicros(nanos)));
+        }
+        return stats;
+    }
+
+    public List<SqlStatementStats> top(int limit, Order order) {
+        List<SqlStatementStats> all = new ArrayList<>(statements.values());
+        SqlStatementStats other = overflow;
+        if (other.getCount() > 0) {
+            all.add(other);
+        }
+        return all.stream()
+                .sorted(order.comparator.reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 최근 느린 SQL, 느린 순
+     */
+    public List<SlowQuerySample> slowQueries() {
+        List<SlowQuerySample> samples = new ArrayList<>();
+        for (int i = 0; i < slowSamples.length(); i++) {
+            SlowQuerySample sample = slowSamples.get(i);
+            if (sample != null) {
+                samples.add(sample);
+            }
+        }
+        samples.sort(Comparator.comparingLong(SlowQuerySample::getElapsedMicros).reversed());
+        return samples;
+    }
+
+    public void reset() {
+        statements.clear();
+        overflow = new SqlStatementStats(OVERFLOW);
+        for (int i = 0; i < slowSamples.length(); i++) {
+            slowSamples.set(i, null);
+        }
+    }
+
+    private SqlStatementStats statsOf(String fingerprint) {
+        SqlStatementStats stats = statements.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        if (statements.size() >= MAX_FINGERPRINTS) {
+            return overflow;   // 리터럴을 직접 이어 붙인 SQL 등으로 지문이 끝없이 늘어나는 경우
+        }
+        return statements.computeIfAbsent(fingerprint, SqlStatementStats::new);
+    }
+}
@@ -0,0 +1,30 @@
+package hello.itemservice.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 요청 예산 초과, 드라이버 쿼리 타임아웃, 트랜잭션 timeout -> 503
+ * /actuator/metrics/itemservice.deadline.exceeded (cause 태그로 구분)
+ */
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class DeadlineExceededHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    @ExceptionHandler({QueryTimeoutException.class, TransactionTimedOutException.class})
+    public ResponseEntity<String> deadlineExceeded(RuntimeException e) {
+        meterRegistry.counter("itemservice.deadline.exceeded", "cause", e.getClass().getSimpleName()).increment();
+        log.warn("deadline exceeded: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+}
@@ -0,0 +1,97 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.bulk.ItemCatalogExporter;
+import hello.itemservice.service.ItemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 JSON API (프로그램 클라이언트용)
+ *
+ * 화면(ItemController)과 달리 리다이렉트 / HTML 렌더링 없이 한 번의 요청으로 처리
+ * : POST  /api/items            [{itemName, price, quantity}, ...]   -> 한 트랜잭션으로 저장(배치 INSERT), 저장된 상품 목록(201)
+ * : PATCH /api/items            {"itemId": {변경 필드, version}, ...} -> 한 트랜잭션으로 수정(배치 UPDATE), 204
+ * : GET   /api/items?ids=1,2,3  여러 상품 한 번에 조회 (IN 절)
+ * : GET   /api/items?itemName=&maxPrice=   NDJSON 스트리밍 (DB 커서 -> 응답, 목록을 메모리에 모으지 않음)
+ *
+ * 요청/응답은 ItemSaveDto / ItemDto (엔티티 Item 을 직접 바인딩/직렬화하지 않음)
+ * 한 요청의 최대 건수는 itemservice.api.max-bulk-size (기본 1000)
+ */
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+public class ItemApiController {
+
+    private final ItemService itemService;
+    private final ItemCatalogExporter exporter;
+
+    @Value("${itemservice.api.max-bulk-size:1000}")
+    private int maxBulkSize;
+
+    @GetMapping("/{itemId}")
+    public ResponseEntity<ItemDto> item(@PathVariable long itemId) {
+        return ResponseEntity.of(itemService.findById(itemId).map(ItemDto::of));
+    }
+
+    @GetMapping(params = "ids")
+    public List<ItemDto> items(@RequestParam List<Long> ids) {
+        checkBulkSize(ids);
+        return toDtos(itemService.findItemsByIds(ids));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody search(@ModelAttribute ItemSearchCond itemSearch) {
+        return out -> exporter.streamItems(itemSearch, out);
+    }
+
+    @PostMapping
+    public ResponseEntity<List<ItemDto>> addItems(@RequestBody List<ItemSaveDto> items) {
+        checkBulkSize(items);
+        List<Item> savedItems = itemService.saveAll(items.stream().map(ItemSaveDto::toItem).collect(Collectors.toList()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toDtos(savedItems));
+    }
+
+    @PatchMapping
+    public ResponseEntity<Void> editItems(@RequestBody Map<Long, ItemUpdateDto> updates) {
+        checkBulkSize(updates.keySet());
+        itemService.updateAll(updates);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> conflict(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());   // 전체 롤백, 최신 값을 다시 읽고 재시도
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> notFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    private static List<ItemDto> toDtos(List<Item> items) {
+        return items.stream().map(ItemDto::of).collect(Collectors.toList());
+    }
+
+    private void checkBulkSize(Collection<?> values) {
+        if (values.size() > maxBulkSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "max " + maxBulkSize + " items per request (" + values.size() + ")");
+        }
+    }
+}
@@ -3,14 +3,27 @@ package hello.itemservice.web;
 import hello.itemservice.domain.Item;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.bulk.ItemCatalogExporter;
+import hello.itemservice.service.CatalogVersion;
 import hello.itemservice.service.ItemService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @Controller
 @RequestMapping("/items")
@@ -18,14 +31,58 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemCatalogExporter exporter;
+    private final CatalogVersion catalogVersion;
+    private final ItemTableCache itemTableCache;
 
+    /**
+     * 카탈로그 버전이 그대로면 304 (ETag / Last-Modified 조건부 요청), 표는 ItemTableCache 에서 재사용
+     */
     @GetMapping
-    public String items(@ModelAttribute("itemSearch") ItemSearchCond itemSearch, Model model) {
-        List<Item> items = itemService.findItems(itemSearch);
-        model.addAttribute("items", items);
+    public String items(@ModelAttribute("itemSearch") ItemSearchCond itemSearch, Model model,
+                        WebRequest webRequest, HttpServletRequest request, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");   // 브라우저가 매번 재검증
+        if (webRequest.checkNotModified(catalogVersion.etag(), catalogVersion.lastModified())) {
+            return null;   // 304, 응답 본문 X
+        }
+        model.addAttribute("itemTable", itemTableCache.render(itemSearch, itemService::findItemRows, request, response));
         return "items";
     }
 
+    /**
+     * 카탈로그 내보내기 : /items/export?format=csv|ndjson&gzip=true (검색 조건 itemName, maxPrice 사용 가능)
+     * Content-Length 없이 응답 -> chunked 전송, 요청 스레드가 아닌 MVC 비동기 스레드에서 스트리밍
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@ModelAttribute("itemSearch") ItemSearchCond itemSearch,
+                                                        @RequestParam(defaultValue = "csv") String format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        ItemCatalogExporter.Format exportFormat = exportFormat(format);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 1 << 16);
+                exporter.export(itemSearch, exportFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                exporter.export(itemSearch, exportFormat, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"items" + exportFormat.extension() + (gzip ? ".gz" : "") + "\"")
+                .body(body);
+    }
+
+    private ItemCatalogExporter.Format exportFormat(String format) {
+        try {
+            return ItemCatalogExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown export format: " + format + " (csv|ndjson)");
+        }
+    }
+
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) {
         Item item = itemService.findById(itemId).get();
@@ -54,8 +111,15 @@ public class ItemController {
     }
 
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, @ModelAttribute ItemUpdateDto updateParam) {
-        itemService.update(itemId, updateParam);
+    public String edit(@PathVariable Long itemId, @ModelAttribute ItemUpdateDto updateParam,
+                       RedirectAttributes redirectAttributes) {
+        try {
+            itemService.update(itemId, updateParam);
+        } catch (OptimisticLockingFailureException e) {
+            // 폼을 연 뒤 다른 사용자가 먼저 수정 -> 최신 값으로 폼을 다시 보여줌
+            redirectAttributes.addAttribute("conflict", true);
+            return "redirect:/items/{itemId}/edit";
+        }
         return "redirect:/items/{itemId}";
     }
 
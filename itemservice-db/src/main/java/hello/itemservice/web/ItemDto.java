@@ -0,0 +1,28 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import lombok.Data;
+
+/**
+ * 상품 API 응답 (JPA 엔티티를 그대로 직렬화하지 않음 -> 엔티티 변경이 API 에 바로 노출 X, 지연 로딩 프록시 직렬화 X)
+ * version : 수정 요청(PATCH)에 그대로 보내면 낙관적 락
+ */
+@Data
+public class ItemDto {
+
+    private Long id;
+    private String itemName;
+    private Integer price;
+    private Integer quantity;
+    private Long version;
+
+    public static ItemDto of(Item item) {
+        ItemDto dto = new ItemDto();
+        dto.setId(item.getId());
+        dto.setItemName(item.getItemName());
+        dto.setPrice(item.getPrice());
+        dto.setQuantity(item.getQuantity());
+        dto.setVersion(item.getVersion());
+        return dto;
+    }
+}
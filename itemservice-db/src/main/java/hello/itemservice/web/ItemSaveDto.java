@@ -0,0 +1,19 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import lombok.Data;
+
+/**
+ * 상품 등록 API 요청 (id, version 은 받지 않음 -> 엔티티를 바인딩해서 기존 상품을 덮어쓰는 일 X)
+ */
+@Data
+public class ItemSaveDto {
+
+    private String itemName;
+    private Integer price;
+    private Integer quantity;
+
+    public Item toItem() {
+        return new Item(itemName, price, quantity);
+    }
+}
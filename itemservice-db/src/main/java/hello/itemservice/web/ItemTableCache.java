@@ -0,0 +1,89 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.service.CatalogVersion;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 상품 목록 표(fragments/itemTable.html) 렌더링 결과 캐시
+ *
+ * : 키 = 카탈로그 버전 + 검색 조건 -> 같은 조건이면 DB 조회와 템플릿 렌더링 모두 생략
+ * : 상품이 저장/수정되면 버전이 바뀌어 이전 버전의 조각은 더 이상 사용되지 않음 (버전이 바뀔 때 비움)
+ * : LRU, 최대 maxEntries 개
+ */
+@Slf4j
+@Component
+public class ItemTableCache {
+
+    private final ITemplateEngine templateEngine;
+    private final CatalogVersion catalogVersion;
+    private final Map<Key, String> cache;
+    private long cachedVersion;   // this 로 동기화
+
+    public ItemTableCache(ITemplateEngine templateEngine, CatalogVersion catalogVersion,
+                          @Value("${itemservice.item-table-cache.max-entries:256}") int maxEntries) {
+        this.templateEngine = templateEngine;
+        this.catalogVersion = catalogVersion;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public String render(ItemSearchCond cond, Function<ItemSearchCond, List<ItemRow>> loader,
+                         HttpServletRequest request, HttpServletResponse response) {
+        long version = catalogVersion.current();   // 조회 전에 읽음 -> 조회 중 수정되면 옛 버전 키로 저장되어 다시 쓰이지 않음
+        Key key = new Key(version, cond.getItemName(), cond.getMaxPrice());
+        String html = get(key);
+        if (html != null) {
+            return html;
+        }
+
+        WebContext context = new WebContext(request, response, request.getServletContext(), request.getLocale());
+        context.setVariable("items", loader.apply(cond));
+        html = templateEngine.process("fragments/itemTable", Set.of("itemTable"), context);   // 조각만 렌더링
+        put(key, html);
+        return html;
+    }
+
+    private synchronized String get(Key key) {
+        if (key.version != cachedVersion) {
+            if (key.version > cachedVersion) {
+                log.debug("catalog version {} -> {}, clear {} fragments", cachedVersion, key.version, cache.size());
+                cache.clear();
+                cachedVersion = key.version;
+            }
+            return null;
+        }
+        return cache.get(key);
+    }
+
+    private synchronized void put(Key key, String html) {
+        if (key.version == cachedVersion) {
+            cache.put(key, html);
+        }
+    }
+
+    @Data
+    private static class Key {
+        private final long version;
+        private final String itemName;
+        private final Integer maxPrice;
+    }
+}
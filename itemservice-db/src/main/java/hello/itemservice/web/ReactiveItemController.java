@@ -0,0 +1,48 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.ReactiveItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 리액티브 조회/저장 API
+ *
+ * 스프링 MVC 도 Mono/Flux 반환을 지원 -> 서블릿 비동기 처리로 전환되어 DB 응답을 기다리는 동안 톰캣 스레드를 반납
+ * 목록은 NDJSON 으로 한 건씩 흘려보내므로 응답 전체를 메모리에 모으지 않음
+ */
+@RestController
+@RequestMapping("/reactive/items")
+@RequiredArgsConstructor
+public class ReactiveItemController {
+
+    private final ReactiveItemRepository reactiveItemRepository;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Item> items(@ModelAttribute ItemSearchCond itemSearch) {
+        return reactiveItemRepository.findAll(itemSearch);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Item>> item(@PathVariable long itemId) {
+        return reactiveItemRepository.findById(itemId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<Item> addItem(@RequestBody Item item) {
+        return reactiveItemRepository.save(item);
+    }
+
+    @PostMapping("/{itemId}/edit")
+    public Mono<Void> edit(@PathVariable Long itemId, @RequestBody ItemUpdateDto updateParam) {
+        return reactiveItemRepository.update(itemId, updateParam);
+    }
+}
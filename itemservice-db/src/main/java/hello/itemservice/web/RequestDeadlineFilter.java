@@ -0,0 +1,60 @@
+package hello.itemservice.web;
+
+import hello.itemservice.deadline.RequestDeadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 요청마다 시간 예산 설정 (itemservice.deadline.budget)
+ * 호출하는 쪽이 X-Request-Timeout(ms) 헤더로 남은 시간을 보내면 더 짧은 쪽 사용 (늘릴 수는 없음)
+ *
+ * 비동기 스트리밍(내보내기, NDJSON 검색)은 다른 스레드에서 실행되므로 예산 적용 X
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Duration budget;
+
+    public RequestDeadlineFilter(@Value("${itemservice.deadline.budget:5s}") Duration budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            RequestDeadline.call(budgetOf(request), () -> {
+                filterChain.doFilter(request, response);
+                return null;
+            });
+        } catch (ServletException | IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    private Duration budgetOf(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (!StringUtils.hasText(header)) {
+            return budget;
+        }
+        try {
+            Duration requested = Duration.ofMillis(Math.max(0, Long.parseLong(header.trim())));
+            return requested.compareTo(budget) < 0 ? requested : budget;
+        } catch (NumberFormatException e) {
+            return budget;
+        }
+    }
+}
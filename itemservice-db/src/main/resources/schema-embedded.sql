@@ -0,0 +1,25 @@
+-- 내장 H2 프로파일(embedded) 스키마 : 재시작해도 데이터가 유지되도록 drop 하지 않음
+-- sql/schema.sql 과 같은 칼럼 구성
+create table if not exists item
+(
+    id        bigint generated by default as identity,
+    item_name varchar(10),
+    price     integer,
+    quantity  integer,
+    version   bigint default 0 not null,  -- 낙관적 락 (수정할 때마다 1 증가)
+    primary key (id)
+);
+
+-- 대량 가져오기 체크포인트 (ItemBulkImporter : 파일별 마지막 반영 줄 번호)
+create table if not exists item_import_checkpoint
+(
+    source varchar(1024) primary key,
+    line   bigint not null
+);
+
+-- 재고 수량 쓰기 지연 체크포인트 (QuantityWriteBehindBuffer : DB 에 반영된 마지막 저널 세그먼트 번호)
+create table if not exists item_quantity_flush
+(
+    id      int primary key,
+    segment bigint not null
+);
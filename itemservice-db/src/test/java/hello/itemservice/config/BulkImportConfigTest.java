@@ -0,0 +1,71 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.bulk.ItemBulkImporter;
+import hello.itemservice.service.CatalogVersion;
+import hello.itemservice.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가져오기는 JDBC 로 바로 INSERT -> 끝나면 쿼리 캐시에 남은 목록 결과가 버려져야 함
+ * (가져오기는 자체 트랜잭션으로 커밋하므로 @Transactional 없이 실행하고 직접 정리)
+ */
+@SpringBootTest
+@Import(BulkImportConfig.class)
+class BulkImportConfigTest {
+
+    @Autowired
+    ItemBulkImporter importer;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    CatalogVersion catalogVersion;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void after() {
+        new JdbcTemplate(dataSource).update("delete from item where item_name like 'bulkA%'");
+        importer.resetCheckpoint(dir.resolve("catalog.csv"));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void importEvictsQueryCache() throws IOException {
+        ItemSearchCond cond = new ItemSearchCond("bulkA", null);
+        assertThat(itemService.findItems(cond)).isEmpty();   // 빈 결과가 쿼리 캐시에 저장됨
+        String etag = catalogVersion.etag();
+
+        Path csv = Files.writeString(dir.resolve("catalog.csv"),
+                "item_name,price,quantity\nbulkA1,1000,1\nbulkA2,2000,2\nbulkA3,3000,3\n", StandardCharsets.UTF_8);
+        importer.importFile(csv);
+
+        assertThat(itemService.findItems(cond)).extracting(Item::getItemName).containsExactlyInAnyOrder("bulkA1", "bulkA2", "bulkA3");
+        assertThat(catalogVersion.etag()).isNotEqualTo(etag);
+    }
+}
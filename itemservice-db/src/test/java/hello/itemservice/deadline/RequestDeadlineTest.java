@@ -0,0 +1,67 @@
+package hello.itemservice.deadline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+class RequestDeadlineTest {
+
+    // 10^10 행 -> 예산 안에 끝나지 않는 스캔
+    static final String SLOW_SQL = "select count(*) from system_range(1, 100000) a, system_range(1, 100000) b";
+
+    JdbcTemplate template = new DeadlineJdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @Test
+    void cancelSlowQuery() {
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> RequestDeadline.call(Duration.ofMillis(500),
+                () -> template.queryForObject(SLOW_SQL, Long.class)))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("cancelled after {}ms", elapsed);
+        assertThat(elapsed).isLessThan(5_000);   // 쿼리 타임아웃은 초 단위 (올림 -> 1초)
+    }
+
+    @Test
+    void spentBudget() {
+        assertThatThrownBy(() -> RequestDeadline.call(Duration.ZERO, () -> template.queryForObject("select 1", Integer.class)))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    @Test
+    void noDeadline() {
+        assertThat(RequestDeadline.isSet()).isFalse();
+        assertThat(template.queryForObject("select 1", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void nestedBudgetCannotExtend() throws Exception {
+        int inner = RequestDeadline.call(Duration.ofSeconds(2),
+                () -> RequestDeadline.call(Duration.ofMinutes(1), () -> RequestDeadline.remainingMillis().getAsInt()));
+
+        assertThat(inner).isLessThanOrEqualTo(2_000);
+        assertThat(RequestDeadline.isSet()).isFalse();
+    }
+
+    @Test
+    void transactionTimeout() throws Exception {
+        assertThat(RequestDeadline.transactionTimeout(-1)).isEqualTo(-1);   // 예산 없음 -> 선언된 값 그대로
+
+        RequestDeadline.call(Duration.ofMillis(2_500), () -> {
+            assertThat(RequestDeadline.transactionTimeout(-1)).isEqualTo(3);    // 기본값(무제한) -> 남은 예산
+            assertThat(RequestDeadline.transactionTimeout(10)).isEqualTo(3);
+            assertThat(RequestDeadline.transactionTimeout(1)).isEqualTo(1);     // 선언된 값이 더 짧음
+            return null;
+        });
+    }
+}
@@ -8,11 +8,13 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Transactional  // 테스트는 커밋하지 않고 롤백 하기 때문에 JPA Update 쿼리가 보이지 X (flush=commmit 해야함)
 @SpringBootTest // @SpringBootApplication 찾아서 설정을 그대로 적용
@@ -60,6 +62,55 @@ class ItemRepositoryTest {
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
 
+    @Test
+    void updatePartial() {
+        //given
+        Item item = new Item("item1", 10000, 10);
+        Long itemId = itemRepository.save(item).getId();
+
+        //when : 가격만 변경
+        ItemUpdateDto updateParam = new ItemUpdateDto();
+        updateParam.setPrice(20000);
+        itemRepository.update(itemId, updateParam);
+
+        //then
+        Item findItem = itemRepository.findById(itemId).get();
+        assertThat(findItem.getItemName()).isEqualTo("item1");
+        assertThat(findItem.getPrice()).isEqualTo(20000);
+        assertThat(findItem.getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void updateVersionConflict() {
+        //given
+        Item item = new Item("item1", 10000, 10);
+        Long itemId = itemRepository.save(item).getId();
+
+        //when : 폼을 연 뒤 다른 사용자가 먼저 수정해서 버전이 달라진 경우
+        ItemUpdateDto updateParam = new ItemUpdateDto();
+        updateParam.setQuantity(20);
+        updateParam.setVersion(item.getVersion() + 1);
+
+        //then
+        assertThatThrownBy(() -> itemRepository.update(itemId, updateParam))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(itemRepository.findById(itemId).get().getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void findAllById() {
+        //given
+        Long id1 = itemRepository.save(new Item("itemA-1", 10000, 10)).getId();
+        Long id2 = itemRepository.save(new Item("itemA-2", 20000, 20)).getId();
+        Long id3 = itemRepository.save(new Item("itemB-1", 30000, 30)).getId();
+
+        //when : 중복, 없는 id 포함
+        List<Item> result = itemRepository.findAllById(List.of(id3, id1, id3, -1L, id2));
+
+        //then : 중복 제거, 입력 순서대로
+        assertThat(result).extracting(Item::getId).containsExactly(id3, id1, id2);
+    }
+
     @Test
     void findItems() {
         //given
@@ -0,0 +1,86 @@
+package hello.itemservice.domain;
+
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대량 조회 시 Item(박싱 필드) vs ItemRow(기본 타입 필드) 할당량 비교
+ */
+@Slf4j
+@Transactional
+@SpringBootTest
+class ItemRowAllocationTest {
+
+    static final int ROWS = 10_000;
+    static final int WARMUP = 5;
+    static final int ITERATIONS = 20;
+
+    @Autowired
+    DataSource dataSource;
+
+    JdbcTemplateItemRepositoryV3 repository;
+
+    @BeforeEach
+    void init() {
+        repository = new JdbcTemplateItemRepositoryV3(dataSource);
+        List<Object[]> params = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            params.add(new Object[]{"alloc" + i, 1000 + i, i});
+        }
+        new JdbcTemplate(dataSource).batchUpdate("insert into item(item_name, price, quantity) values (?, ?, ?)", params);
+    }
+
+    @Test
+    void bytesPerSearch() {
+        ItemSearchCond cond = new ItemSearchCond("alloc", null);
+
+        long itemBytes = allocatedBytesPerOp(() -> repository.findAll(cond));
+        long rowBytes = allocatedBytesPerOp(() -> repository.findAllRows(cond));
+
+        log.info("rows={} Item={} bytes/op, ItemRow={} bytes/op ({}%)",
+                ROWS, itemBytes, rowBytes, rowBytes * 100 / itemBytes);
+        assertThat(rowBytes).isLessThan(itemBytes);
+    }
+
+    @Test
+    void sameResult() {
+        ItemSearchCond cond = new ItemSearchCond("alloc", 1100);
+
+        List<Item> items = repository.findAll(cond);
+        List<ItemRow> rows = repository.findAllRows(cond);
+
+        assertThat(rows).hasSize(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertThat(rows.get(i)).isEqualTo(ItemRow.from(items.get(i)));
+        }
+    }
+
+    private long allocatedBytesPerOp(Supplier<List<?>> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(search.get()).hasSize(ROWS);
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            search.get();
+        }
+        return (threadMXBean.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+}
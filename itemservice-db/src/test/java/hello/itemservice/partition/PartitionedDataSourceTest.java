@@ -0,0 +1,164 @@
+package hello.itemservice.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * capacity 4 = scan 보장 1 + critical 보장 1 + 공유 2
+ * (서비스 단위로 스캔 부하 중에도 쓰기가 처리되는지는 PoolPartitionConfigTest)
+ */
+class PartitionedDataSourceTest {
+
+    static final String SCAN = "scan";
+    static final String CRITICAL = "critical";
+
+    DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:partition;DB_CLOSE_DELAY=-1", "sa", "");
+    PartitionedDataSource dataSource;
+    List<Connection> held = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        dataSource = new PartitionedDataSource(target, 4, List.of(
+                new PartitionedDataSource.Partition(PartitionContext.DEFAULT, 0, 1, 0, Duration.ZERO),
+                new PartitionedDataSource.Partition(SCAN, 1, 3, 1, Duration.ofMillis(100)),
+                new PartitionedDataSource.Partition(CRITICAL, 1, 2, 10, Duration.ofSeconds(2))));
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        releaseHeld();
+    }
+
+    @Test
+    void guaranteedMinimum() throws Exception {
+        // scan 이 보장 1 + 공유 2 를 모두 사용
+        hold(SCAN, 3);
+        assertThat(dataSource.partition(SCAN).getInUse()).isEqualTo(3);
+
+        // critical 은 보장된 1개를 바로 가져감
+        Connection critical = PartitionContext.call(CRITICAL, dataSource::getConnection);
+        assertThat(critical.isValid(1)).isTrue();
+        critical.close();
+        assertThat(dataSource.partition(CRITICAL).getInUse()).isZero();
+    }
+
+    @Test
+    void failFast() throws Exception {
+        hold(SCAN, 3);
+
+        // 대기열 1 : 첫 번째는 timeout 까지 대기
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> PartitionContext.call(SCAN, dataSource::getConnection))
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("timed out");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(100);
+
+        // 대기열이 차 있으면 기다리지 않고 바로 실패
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> getConnection(SCAN));
+        awaitWaiting(SCAN);
+        assertThatThrownBy(() -> PartitionContext.call(SCAN, dataSource::getConnection))
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("queue full");
+        assertThat(dataSource.partition(SCAN).getRejected()).isEqualTo(1);
+        assertThat(waiter).failsWithin(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void borrowAndHandOff() throws Exception {
+        hold(SCAN, 3);       // 보장 1 + 공유 2
+        hold(CRITICAL, 1);   // 보장 1
+
+        // critical 은 공유 여유분이 없어서 대기, scan 이 빌린 것을 반납하면 받음
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> getConnection(CRITICAL));
+        awaitWaiting(CRITICAL);
+        held.remove(0).close();
+        held.add(waiter.get(1, TimeUnit.SECONDS));
+
+        assertThat(dataSource.partition(CRITICAL).getInUse()).isEqualTo(2);
+        assertThat(dataSource.partition(SCAN).getInUse()).isEqualTo(2);
+    }
+
+    @Test
+    void closeTwice() throws Exception {
+        Connection connection = PartitionContext.call(SCAN, dataSource::getConnection);
+        connection.close();
+        connection.close();   // 중복 반납 X
+
+        assertThat(connection.isClosed()).isTrue();
+        assertThat(dataSource.partition(SCAN).getInUse()).isZero();
+    }
+
+    @Test
+    void selectByAnnotationAndClass() {
+        PoolPartitionInterceptor interceptor = new PoolPartitionInterceptor(Map.of(UnannotatedRepository.class, SCAN));
+        AnnotatedService service = interceptor.proxy(new AnnotatedService());
+        UnannotatedRepository repository = interceptor.proxy(new UnannotatedRepository());
+
+        assertThat(service.classLevel()).isEqualTo(CRITICAL);
+        assertThat(service.methodLevel()).isEqualTo(SCAN);
+        assertThat(repository.current()).isEqualTo(SCAN);
+        assertThat(PartitionContext.current()).isEqualTo(PartitionContext.DEFAULT);   // 호출 후 원래대로
+    }
+
+    private void hold(String partition, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            held.add(PartitionContext.call(partition, dataSource::getConnection));
+        }
+    }
+
+    private void releaseHeld() throws SQLException {
+        for (Connection connection : held) {
+            connection.close();
+        }
+        held.clear();
+    }
+
+    private Connection getConnection(String partition) {
+        try {
+            return PartitionContext.call(partition, dataSource::getConnection);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitWaiting(String partition) throws InterruptedException {
+        while (dataSource.partition(partition).getWaiting() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    @PoolPartition(CRITICAL)
+    static class AnnotatedService {
+
+        public String classLevel() {
+            return PartitionContext.current();
+        }
+
+        @PoolPartition(SCAN)
+        public String methodLevel() {
+            return PartitionContext.current();
+        }
+    }
+
+    static class UnannotatedRepository {
+
+        public String current() {
+            return PartitionContext.current();
+        }
+    }
+}
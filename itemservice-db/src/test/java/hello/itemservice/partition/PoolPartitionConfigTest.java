@@ -0,0 +1,84 @@
+package hello.itemservice.partition;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.config.PoolPartitionConfig;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.bulk.ItemCatalogExporter;
+import hello.itemservice.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * scan 파티션을 다 쓰고 있어도 (느린 목록 조회가 몰린 상황) 등록/수정, 단건 조회는 영향 X
+ */
+@SpringBootTest(properties = {"itemservice.pool.scan.maximum=2", "itemservice.pool.scan.max-queue=0"})
+@Import(PoolPartitionConfig.class)
+class PoolPartitionConfigTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemCatalogExporter exporter;
+
+    List<Connection> held = new ArrayList<>();
+
+    @AfterEach
+    void after() throws SQLException {
+        for (Connection connection : held) {
+            connection.close();
+        }
+        new JdbcTemplate(dataSource).update("delete from item where item_name = ?", "partA");
+    }
+
+    @Test
+    void scanSaturated() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            held.add(PartitionContext.call("scan", dataSource::getConnection));
+        }
+
+        //목록 조회, 내보내기 -> scan 파티션, 대기열 0 이라 바로 실패
+        assertThatThrownBy(() -> itemService.findItems(new ItemSearchCond()))
+                .hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+        assertThatThrownBy(() -> exporter.streamItems(new ItemSearchCond(), OutputStream.nullOutputStream()))
+                .hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+
+        //등록 -> critical, 단건 조회 -> default
+        Item saved = itemService.save(new Item("partA", 1000, 1));
+        assertThat(itemService.findById(saved.getId())).isPresent();
+
+        held.remove(0).close();   // scan 커넥션 반납 -> 목록 조회 가능
+        assertThat(itemService.findItems(new ItemSearchCond("partA", null))).hasSize(1);
+    }
+
+    /**
+     * 파티션으로 감싸도 히카리 풀까지 unwrap (스프링 부트의 풀 메타데이터, 메트릭)
+     */
+    @Test
+    void unwrapToHikari() throws SQLException {
+        assertThat(dataSource.isWrapperFor(PartitionedDataSource.class)).isTrue();
+        assertThat(dataSource.unwrap(HikariDataSource.class)).isNotNull();
+        assertThat(DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class)).isNotNull();
+    }
+}
@@ -0,0 +1,109 @@
+package hello.itemservice.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TCP 서버 모드 vs 내장(in-process) 모드 (application-embedded.properties 와 같은 URL 옵션)
+ * TCP 는 H2 서버가 떠 있을 때만 실행, ~/db 의 기존 테이블 대신 전용 스키마(itembench)에서 실행 (끝나면 스키마 삭제)
+ * 서버는 원격 DB 생성을 막으므로(-ifNotExists X) 이미 있는 ~/db 에 스키마만 만듦
+ */
+@Slf4j
+class EmbeddedH2BenchmarkTest {
+
+    static final String BENCH_SCHEMA = "itembench";
+    static final String TCP_URL = "jdbc:h2:tcp://localhost/~/db;INIT=create schema if not exists " + BENCH_SCHEMA
+            + "\\;set schema " + BENCH_SCHEMA;
+    static final int ITEMS = 2_000;
+    static final int READS = 20_000;
+
+    static Connection keepAlive;
+
+    @TempDir
+    Path dbDir;
+
+    @BeforeAll
+    static void connectTcp() {
+        try {
+            keepAlive = DriverManager.getConnection(TCP_URL, "sa", "");
+        } catch (SQLException e) {
+            log.info("H2 TCP 서버 없음 : {}", e.getMessage());   // TCP 비교는 건너뜀
+        }
+    }
+
+    @AfterAll
+    static void closeTcp() throws SQLException {
+        if (keepAlive != null) {
+            try (Statement stmt = keepAlive.createStatement()) {
+                stmt.execute("drop schema " + BENCH_SCHEMA + " cascade");
+            } finally {
+                keepAlive.close();
+            }
+        }
+    }
+
+    /**
+     * 같은 작업을 내장 모드로 실행하면 네트워크 왕복 + 직렬화가 없으므로 TCP 보다 빨라야 함
+     */
+    @Test
+    void embeddedFasterThanTcp() {
+        run("jdbc:h2:mem:warmup");   // JIT 워밍업 (먼저 실행한 쪽이 불리하지 않도록)
+        long nioMapped = run("jdbc:h2:nioMapped:" + dbDir.resolve("bench-mapped") + ";CACHE_SIZE=65536");
+        long nio = run("jdbc:h2:nio:" + dbDir.resolve("bench-nio") + ";CACHE_SIZE=65536");
+        log.info("embedded(nioMapped) {}ms, embedded(nio) {}ms", nioMapped, nio);
+
+        Assumptions.assumeTrue(keepAlive != null, "H2 TCP 서버가 실행 중일 때만");
+        long tcp = run(TCP_URL);
+        log.info("tcp {}ms", tcp);
+
+        assertThat(nioMapped).isLessThan(tcp);
+        assertThat(nio).isLessThan(tcp);
+    }
+
+    private long run(String url) {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername("sa");
+            dataSource.setMaximumPoolSize(4);
+            new ResourceDatabasePopulator(new ClassPathResource("schema-embedded.sql")).execute(dataSource);
+
+            JdbcTemplateItemRepositoryV3 repository = new JdbcTemplateItemRepositoryV3(dataSource);
+            long start = System.nanoTime();
+
+            List<Long> ids = new ArrayList<>(ITEMS);
+            for (int i = 0; i < ITEMS; i++) {
+                ids.add(repository.save(new Item("bench" + i, 1000 + i, i)).getId());
+            }
+            for (int i = 0; i < READS; i++) {
+                assertThat(repository.findById(ids.get(i % ITEMS))).isPresent();
+            }
+            ItemUpdateDto updateParam = new ItemUpdateDto();
+            for (int i = 0; i < ITEMS; i++) {
+                updateParam.setQuantity(i + 1);
+                repository.update(ids.get(i), updateParam);
+            }
+            assertThat(repository.findAllById(ids)).hasSize(ITEMS);
+
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+}
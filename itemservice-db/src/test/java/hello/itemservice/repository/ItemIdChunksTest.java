@@ -0,0 +1,53 @@
+package hello.itemservice.repository;
+
+import hello.itemservice.domain.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemIdChunksTest {
+
+    @Test
+    void padToPowerOfTwo() {
+        assertThat(ItemIdChunks.pad(List.of(1L))).containsExactly(1L);
+        assertThat(ItemIdChunks.pad(List.of(1L, 2L, 3L))).containsExactly(1L, 2L, 3L, 3L);
+        assertThat(ItemIdChunks.pad(List.of(1L, 2L, 3L, 4L, 5L))).hasSize(8);
+        assertThat(ItemIdChunks.sql(4)).endsWith("where id in (?, ?, ?, ?)");
+    }
+
+    @Test
+    void chunkDedupAndKeepInputOrder() {
+        List<Long> ids = LongStream.rangeClosed(1, 300).boxed().collect(Collectors.toList());
+        Collections.reverse(ids);
+        ids.add(10L);       // 중복
+        ids.add(1000L);     // 없는 id
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Item> result = ItemIdChunks.load(ids, chunk -> {
+            chunkSizes.add(chunk.size());
+            return chunk.stream()
+                    .filter(id -> id <= 300)
+                    .distinct()
+                    .sorted()     // DB 는 순서를 보장하지 않음
+                    .map(this::item)
+                    .collect(Collectors.toList());
+        });
+
+        assertThat(chunkSizes).containsExactly(128, 128, 64);   // 128 + 128 + 45(->64)
+        assertThat(result).hasSize(300);
+        assertThat(result.get(0).getId()).isEqualTo(300L);
+        assertThat(result.get(299).getId()).isEqualTo(1L);
+    }
+
+    private Item item(long id) {
+        Item item = new Item("item" + id, 1000, 1);
+        item.setId(id);
+        return item;
+    }
+}
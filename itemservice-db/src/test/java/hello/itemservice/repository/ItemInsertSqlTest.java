@@ -0,0 +1,58 @@
+package hello.itemservice.repository;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemInsertSqlTest {
+
+    DriverManagerDataSource dataSource;
+    JdbcTemplate template;
+
+    @BeforeEach
+    void init() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:itemInsert;DB_CLOSE_DELAY=-1", "sa", "");
+        template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, version bigint default 0 not null, primary key (id))");
+    }
+
+    @AfterEach
+    void after() {
+        template.execute("drop table item");
+    }
+
+    @Test
+    void keysInInputOrderAcrossBatches() {
+        int count = ItemInsertSql.BATCH_SIZE * 2 + 1;   // 배치 3번
+        List<Item> items = IntStream.range(0, count)
+                .mapToObj(i -> new Item("item" + i, i, i == 0 ? null : 1))
+                .collect(Collectors.toList());
+
+        List<Item> saved = new JdbcTemplateItemRepositoryV3(dataSource).saveAll(items);
+
+        assertThat(saved).hasSize(count);
+        assertThat(saved).allSatisfy(item -> assertThat(item.getVersion()).isZero());
+        for (Item item : saved) {
+            assertThat(template.queryForObject("select item_name from item where id = ?", String.class, item.getId()))
+                    .isEqualTo(item.getItemName());
+        }
+        assertThat(template.queryForObject("select quantity from item where id = ?", Integer.class, saved.get(0).getId()))
+                .isNull();
+    }
+
+    @Test
+    void empty() {
+        assertThat(ItemInsertSql.batchInsert(template, List.of())).isEmpty();
+    }
+}
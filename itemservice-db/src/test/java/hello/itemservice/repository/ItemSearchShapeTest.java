@@ -0,0 +1,132 @@
+package hello.itemservice.repository;
+
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCountCallbackHandler;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Transactional
+@SpringBootTest
+class ItemSearchShapeTest {
+
+    static final int ITERATIONS = 3_000;
+    static final int ROUNDS = 5;
+
+    static final List<ItemSearchCond> CONDS = List.of(
+            new ItemSearchCond("shape9", null),
+            new ItemSearchCond(null, 1005),
+            new ItemSearchCond("shape", 1005));   // 결과 행이 적은 조건 -> 행 매핑이 아니라 SQL 준비/바인딩 비용이 드러남
+
+    @Autowired
+    DataSource dataSource;
+
+    @BeforeEach
+    void init() {
+        List<Object[]> params = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            params.add(new Object[]{"shape" + i, 1000 + i, i});
+        }
+        new JdbcTemplate(dataSource).batchUpdate("insert into item(item_name, price, quantity) values (?, ?, ?)", params);
+    }
+
+    @Test
+    void shapes() {
+        assertThat(ItemSearchShape.of(new ItemSearchCond(null, null))).isEqualTo(ItemSearchShape.ALL);
+        assertThat(ItemSearchShape.of(new ItemSearchCond("", null))).isEqualTo(ItemSearchShape.ALL);
+        assertThat(ItemSearchShape.of(new ItemSearchCond("a", null))).isEqualTo(ItemSearchShape.NAME);
+        assertThat(ItemSearchShape.of(new ItemSearchCond(null, 10))).isEqualTo(ItemSearchShape.PRICE);
+        assertThat(ItemSearchShape.of(new ItemSearchCond("a", 10))).isEqualTo(ItemSearchShape.NAME_AND_PRICE);
+
+        assertThat(ItemSearchShape.NAME_AND_PRICE.params(new ItemSearchCond("a", 10))).containsExactly("a", 10);
+        assertThat(ItemSearchShape.ALL.params(new ItemSearchCond())).isEmpty();
+    }
+
+    /**
+     * 같은 조건이면 ItemSearchShape(고정 SQL + 위치 파라미터)와 이전 방식의 결과가 같음
+     * CPU 비용은 로그로만 비교 (같은 JVM 안의 타이밍은 JIT 순서, GC 에 따라 흔들림)
+     * 행은 세기만 함 (매핑 비용은 두 방식이 같으므로 제외), 번갈아 ROUNDS 번 측정해서 각자 가장 좋은 값
+     */
+    @Test
+    void cpuPerQuery() {
+        NamedParameterJdbcTemplate legacy = new NamedParameterJdbcTemplate(dataSource);
+        JdbcTemplateItemRepositoryV3 repository = new JdbcTemplateItemRepositoryV3(dataSource);
+
+        JdbcTemplate shapeTemplate = new JdbcTemplate(dataSource);
+
+        for (ItemSearchCond cond : CONDS) {
+            assertThat(repository.findAll(cond)).hasSize(legacyCount(legacy, cond)).isNotEmpty();
+            assertThat(shapeCount(shapeTemplate, cond)).isEqualTo(legacyCount(legacy, cond));
+        }
+
+        long legacyNanos = Long.MAX_VALUE;
+        long shapeNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            legacyNanos = Math.min(legacyNanos, cpuNanosPerQuery(cond -> legacyCount(legacy, cond)));
+            shapeNanos = Math.min(shapeNanos, cpuNanosPerQuery(cond -> shapeCount(shapeTemplate, cond)));
+        }
+        log.info("cpu per query : concat + BeanPropertySqlParameterSource={}ns, ItemSearchShape={}ns", legacyNanos, shapeNanos);
+    }
+
+    private long cpuNanosPerQuery(ToIntFunction<ItemSearchCond> search) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            search.applyAsInt(CONDS.get(i % CONDS.size()));   // warm up
+        }
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            search.applyAsInt(CONDS.get(i % CONDS.size()));
+        }
+        return (threadMXBean.getCurrentThreadCpuTime() - start) / ITERATIONS;
+    }
+
+    private int shapeCount(JdbcTemplate template, ItemSearchCond cond) {
+        ItemSearchShape shape = ItemSearchShape.of(cond);
+        RowCountCallbackHandler counter = new RowCountCallbackHandler();
+        template.query(shape.sql(), counter, shape.params(cond));
+        return counter.getRowCount();
+    }
+
+    /**
+     * 이전 방식 : 호출마다 SQL 문자열 조립 + 리플렉션 기반 파라미터 바인딩
+     */
+    private int legacyCount(NamedParameterJdbcTemplate template, ItemSearchCond cond) {
+        String itemName = cond.getItemName();
+        Integer maxPrice = cond.getMaxPrice();
+        String sql = "select id, item_name, price, quantity, version from item";
+        if (StringUtils.hasText(itemName) || maxPrice != null) {
+            sql += " where";
+        }
+        boolean andFlag = false;
+        if (StringUtils.hasText(itemName)) {
+            sql += " item_name like concat('%', :itemName,'%')";
+            andFlag = true;
+        }
+        if (maxPrice != null) {
+            if (andFlag) {
+                sql += " and";
+            }
+            sql += " price <= :maxPrice";
+        }
+        RowCountCallbackHandler counter = new RowCountCallbackHandler();
+        template.query(sql, new BeanPropertySqlParameterSource(cond), counter);
+        return counter.getRowCount();
+    }
+}
@@ -0,0 +1,133 @@
+package hello.itemservice.repository.bulk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class ItemBulkImporterTest {
+
+    static final int ROWS = 50_000;
+
+    @TempDir
+    Path dir;
+
+    JdbcTemplate template;
+    ItemBulkImporter importer;
+
+    @BeforeEach
+    void init() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1", "sa", "");
+        template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, version bigint default 0 not null, primary key (id))");
+        template.execute("create index idx_item_name on item(item_name)");
+        template.execute("create table if not exists item_import_checkpoint (source varchar(1024) primary key, line bigint not null)");
+        importer = new ItemBulkImporter(dataSource, new DataSourceTransactionManager(dataSource), 1_000, 500, 4)
+                .deferIndex("idx_item_name", "create index idx_item_name on item(item_name)");
+    }
+
+    @AfterEach
+    void after() {
+        template.execute("drop table item");
+        template.execute("drop table item_import_checkpoint");
+    }
+
+    @Test
+    void importCsv() throws IOException {
+        Path csv = writeCsv("catalog.csv");
+        List<ImportResult> progress = new ArrayList<>();
+        importer.onProgress(10_000, progress::add);
+
+        ImportResult result = importer.importFile(csv);
+        log.info("imported={} {} rows/s", result.getImported(), result.rowsPerSecond());
+
+        assertThat(result.getImported()).isEqualTo(ROWS);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(count()).isEqualTo(ROWS);
+        assertThat(progress).isNotEmpty();
+        assertThat(template.queryForObject("select price from item where item_name = 'a,b'", Integer.class)).isEqualTo(500);
+
+        //이미 끝난 파일은 다시 실행해도 중복 X
+        assertThat(importer.importFile(csv).getImported()).isZero();
+        assertThat(count()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void resumeFromCheckpoint() throws IOException {
+        Path csv = writeCsv("resume.csv");
+        //20,005 번째 줄(헤더 1 + 잘못된 행 3 + 정상 20,001)까지 반영된 뒤 실패했다고 가정
+        template.update("merge into item_import_checkpoint key(source) values (?, ?)",
+                csv.toAbsolutePath().normalize().toString(), 20_005L);
+
+        ImportResult result = importer.importFile(csv);
+
+        assertThat(result.getImported()).isEqualTo(ROWS - 20_001);
+        assertThat(count()).isEqualTo(ROWS - 20_001);
+    }
+
+    @Test
+    void importJsonl() throws IOException {
+        Path jsonl = dir.resolve("catalog.jsonl");
+        Files.write(jsonl, List.of(
+                "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}",
+                "{\"itemName\":\"itemB\",\"price\":20000,\"quantity\":20}",
+                "{\"itemName\":\"itemC\",\"price\":\"free\",\"quantity\":1}",
+                "not json"));
+
+        ImportResult result = importer.importFile(jsonl);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+    }
+
+    @Test
+    void importWithCsvRead() throws IOException {
+        Path csv = writeCsv("csvread.csv");
+
+        ImportResult result = importer.importWithCsvRead(csv);
+
+        assertThat(result.getImported()).isEqualTo(ROWS);   // 잘못된 행 3개는 where 조건으로 제외
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(count()).isEqualTo(ROWS);
+    }
+
+    /**
+     * 헤더 + 정상 ROWS 행 (중간에 잘못된 행 3개)
+     */
+    private Path writeCsv(String name) throws IOException {
+        Path csv = dir.resolve(name);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("item_name,price,quantity\n");
+            for (int i = 0; i < ROWS - 1; i++) {
+                writer.write("item" + i + "," + (1000 + i % 9000) + "," + (i % 100) + "\n");
+                if (i == 100) {
+                    writer.write("waytoolongname,1000,1\n");   // 상품명 10자 초과
+                    writer.write("itemX,-1,1\n");              // 음수 가격
+                    writer.write("itemY,abc,1\n");             // 숫자 아님
+                }
+            }
+            writer.write("\"a,b\",500,1\n");
+        }
+        return csv;
+    }
+
+    private long count() {
+        return template.queryForObject("select count(*) from item", Long.class);
+    }
+}
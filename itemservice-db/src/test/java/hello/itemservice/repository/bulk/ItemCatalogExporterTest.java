@@ -0,0 +1,167 @@
+package hello.itemservice.repository.bulk;
+
+import hello.itemservice.repository.ItemSearchCond;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemCatalogExporterTest {
+
+    static final int ROWS = 20_000;
+
+    DataSource dataSource;
+    JdbcTemplate template;
+    ItemCatalogExporter exporter;
+
+    @BeforeEach
+    void init() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:export;DB_CLOSE_DELAY=-1", "sa", "");
+        template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, version bigint default 0 not null, primary key (id))");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{"item" + i, 1000 + i % 100, i % 10});
+        }
+        rows.add(new Object[]{"a,\"b\"", null, 1});
+        template.batchUpdate("insert into item(item_name, price, quantity) values (?, ?, ?)", rows);
+        exporter = new ItemCatalogExporter(dataSource, 100);
+    }
+
+    @AfterEach
+    void after() {
+        template.execute("drop table item");
+    }
+
+    @Test
+    void exportCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.export(new ItemSearchCond(), ItemCatalogExporter.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(ROWS + 1);
+        assertThat(lines).hasSize(ROWS + 2);   // 헤더 포함
+        assertThat(lines[0]).isEqualTo("item_name,price,quantity");
+        assertThat(lines[1]).isEqualTo("item0,1000,0");
+        assertThat(lines[ROWS + 1]).isEqualTo("\"a,\"\"b\"\"\",,1");
+    }
+
+    @Test
+    void exportNdjsonWithCondition() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.export(new ItemSearchCond("item1", 1000), ItemCatalogExporter.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize((int) rows);
+        assertThat(lines[0]).isEqualTo("{\"itemName\":\"item100\",\"price\":1000,\"quantity\":0}");
+    }
+
+    /**
+     * 출력 스트림이 막히면(느린 클라이언트) DB 커서도 멈춤 -> 내보내기 쪽에 행이 쌓이지 않음 (버퍼 64KB 만큼만 읽고 대기)
+     */
+    @Test
+    void slowClientStallsCursor() throws Exception {
+        AtomicLong rowsRead = new AtomicLong();
+        ItemCatalogExporter countingExporter = new ItemCatalogExporter(countingRows(dataSource, rowsRead), 100);
+        BlockingOutputStream out = new BlockingOutputStream();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<Long> export = executor.submit(() -> countingExporter.export(new ItemSearchCond(), ItemCatalogExporter.Format.CSV, out));
+        assertThat(out.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long stalledAt = rowsRead.get();
+        Thread.sleep(200);
+        assertThat(rowsRead.get()).isEqualTo(stalledAt);   // 막혀 있는 동안 다음 행을 읽지 않음
+        assertThat(stalledAt).isLessThan(ROWS / 2);
+
+        out.release.countDown();
+        assertThat(export.get(10, TimeUnit.SECONDS)).isEqualTo(ROWS + 1);
+        executor.shutdown();
+    }
+
+    /**
+     * ResultSet.next() 호출 수 = 커서에서 읽은 행 수
+     */
+    private DataSource countingRows(DataSource target, AtomicLong rowsRead) {
+        return new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return countingProxy(Connection.class, super.getConnection(), rowsRead);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T countingProxy(Class<T> type, T target, AtomicLong rowsRead) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (result instanceof PreparedStatement) {
+                return countingProxy(PreparedStatement.class, (PreparedStatement) result, rowsRead);
+            }
+            if (result instanceof ResultSet) {
+                return countingProxy(ResultSet.class, (ResultSet) result, rowsRead);
+            }
+            if (type == ResultSet.class && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rowsRead.incrementAndGet();
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 첫 번째 쓰기에서 release 될 때까지 대기 (응답을 읽지 않는 클라이언트)
+     */
+    static class BlockingOutputStream extends OutputStream {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package hello.itemservice.repository.cache;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import hello.itemservice.repository.jpa.SpringDataJpaItemRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 2차 캐시는 커밋 이후에 반영되므로 @Transactional 을 사용하지 않음 (메서드 호출마다 새로운 EntityManager)
+ */
+@SpringBootTest
+class CacheEvictingItemRepositoryTest {
+
+    @Autowired
+    ItemRepository itemRepository;   // JPA (V2Config)
+
+    @Autowired
+    SpringDataJpaItemRepository springDataRepository;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    DataSource dataSource;
+
+    Statistics statistics;
+    Item item;
+
+    @BeforeEach
+    void init() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        item = itemRepository.save(new Item("cacheA", 10000, 10));
+        emf.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void after() {
+        new JdbcTemplate(dataSource).update("delete from item where id=?", item.getId());
+        emf.getCache().evictAll();
+    }
+
+    @Test
+    void entityCache() {
+        itemRepository.findById(item.getId());   // miss -> put
+        itemRepository.findById(item.getId());   // hit
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCachePutCount()).isEqualTo(1);
+    }
+
+    @Test
+    void queryCache() {
+        ItemSearchCond cond = new ItemSearchCond("cacheA", null);
+        itemRepository.findAll(cond);
+        itemRepository.findAll(cond);
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void queryCacheWithNameAndPrice() {
+        springDataRepository.findByItemNameLikeAndPriceLessThanEqual("%cacheA%", 10000);
+        springDataRepository.findByItemNameLikeAndPriceLessThanEqual("%cacheA%", 10000);
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictOnJdbcUpdate() {
+        itemRepository.findById(item.getId());   // 캐시에 올림
+        ItemRepository jdbcRepository = new CacheEvictingItemRepository(new JdbcTemplateItemRepositoryV3(dataSource), emf);
+
+        jdbcRepository.update(item.getId(), new ItemUpdateDto("cacheB", 20000, 20));
+
+        Item findItem = itemRepository.findById(item.getId()).get();
+        assertThat(findItem.getItemName()).isEqualTo("cacheB");
+        assertThat(itemRepository.findAll(new ItemSearchCond("cacheB", null))).hasSize(1);
+    }
+}
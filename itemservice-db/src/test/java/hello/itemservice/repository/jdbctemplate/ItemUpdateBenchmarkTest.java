@@ -0,0 +1,81 @@
+package hello.itemservice.repository.jdbctemplate;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemUpdateDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 수량만 바뀌는 UPDATE 가 대부분인 상황 : 전체 칼럼 UPDATE vs 변경 칼럼만 UPDATE
+ * item_name, price 에 인덱스가 있으면 전체 UPDATE 는 값이 같아도 인덱스를 다시 갱신함
+ */
+@Slf4j
+@SpringBootTest
+class ItemUpdateBenchmarkTest {
+
+    static final int ITEMS = 1_000;
+    static final int UPDATES = 20_000;
+
+    @Autowired
+    DataSource dataSource;
+
+    JdbcTemplate template;
+    JdbcTemplateItemRepositoryV3 repository;
+    List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        template = new JdbcTemplate(dataSource);
+        repository = new JdbcTemplateItemRepositoryV3(dataSource);
+        template.execute("create index if not exists idx_item_name on item(item_name)");
+        template.execute("create index if not exists idx_item_price on item(price)");
+        for (int i = 0; i < ITEMS; i++) {
+            ids.add(repository.save(new Item("bench" + i, 1000 + i, 0)).getId());
+        }
+    }
+
+    @AfterEach
+    void after() {
+        template.update("delete from item where item_name like 'bench%'");
+        template.execute("drop index if exists idx_item_name");
+        template.execute("drop index if exists idx_item_price");
+    }
+
+    @Test
+    void quantityOnlyUpdate() {
+        long full = run(i -> new ItemUpdateDto("bench" + (i % ITEMS), 1000 + i % ITEMS, i));
+        long partial = run(i -> {
+            ItemUpdateDto updateParam = new ItemUpdateDto();
+            updateParam.setQuantity(i);
+            return updateParam;
+        });
+        log.info("updates={} full row={}ms, changed columns only={}ms", UPDATES, full, partial);
+
+        Item item = repository.findById(ids.get(0)).get();
+        assertThat(item.getItemName()).isEqualTo("bench0");
+        assertThat(item.getPrice()).isEqualTo(1000);
+    }
+
+    private long run(IntFunction<ItemUpdateDto> updateParam) {
+        for (int i = 0; i < ITEMS; i++) {
+            repository.update(ids.get(i), updateParam.apply(i));   // warm up
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+            repository.update(ids.get(i % ITEMS), updateParam.apply(i));
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
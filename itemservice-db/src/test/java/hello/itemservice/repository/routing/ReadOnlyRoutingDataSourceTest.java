@@ -0,0 +1,60 @@
+package hello.itemservice.repository.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadOnlyRoutingDataSourceTest {
+
+    DataSource write = new DriverManagerDataSource("jdbc:h2:mem:routingWrite;DB_CLOSE_DELAY=-1", "sa", "");
+    DataSource read = new DriverManagerDataSource("jdbc:h2:mem:routingRead;DB_CLOSE_DELAY=-1", "sa", "");
+
+    JdbcTemplate template;
+    TransactionTemplate txTemplate;
+
+    @BeforeEach
+    void init() {
+        mark(write, ReadOnlyRoutingDataSource.WRITE);
+        mark(read, ReadOnlyRoutingDataSource.READ);
+
+        DataSource dataSource = new ReadOnlyRoutingDataSource(write, read).lazy();
+        template = new JdbcTemplate(dataSource);
+        txTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void readOnlyTransaction() {
+        txTemplate.setReadOnly(true);
+        String target = txTemplate.execute(status -> target());
+        assertThat(target).isEqualTo(ReadOnlyRoutingDataSource.READ);
+    }
+
+    @Test
+    void readWriteTransaction() {
+        String target = txTemplate.execute(status -> target());
+        assertThat(target).isEqualTo(ReadOnlyRoutingDataSource.WRITE);
+    }
+
+    @Test
+    void noTransaction() {
+        assertThat(target()).isEqualTo(ReadOnlyRoutingDataSource.WRITE);
+    }
+
+    private String target() {
+        return template.queryForObject("select name from routing_target", String.class);
+    }
+
+    private void mark(DataSource dataSource, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists routing_target(name varchar(10))");
+        jdbcTemplate.update("delete from routing_target");
+        jdbcTemplate.update("insert into routing_target(name) values (?)", name);
+    }
+}
@@ -0,0 +1,68 @@
+package hello.itemservice.repository.snapshot;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSnapshotLoaderTest {
+
+    static final int ROWS = 1_000;
+
+    JdbcTemplate template;
+    ItemSnapshotLoader loader;
+    ItemSnapshot snapshot;
+
+    @BeforeEach
+    void init() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:snapshot;DB_CLOSE_DELAY=-1", "sa", "");
+        template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, version bigint default 0 not null, primary key (id))");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{"item" + i, 1000 + i, i});
+        }
+        template.batchUpdate("insert into item(item_name, price, quantity) values (?, ?, ?)", rows);
+        loader = new ItemSnapshotLoader(dataSource, 100);
+        snapshot = new ItemSnapshot();
+        loader.load(snapshot);
+    }
+
+    @AfterEach
+    void after() {
+        template.execute("drop table item");
+    }
+
+    @Test
+    void load() {
+        assertThat(snapshot.size()).isEqualTo(ROWS);
+        assertThat(snapshot.findById(1L)).map(Item::getItemName).contains("item0");
+        assertThat(snapshot.findAll(new ItemSearchCond("item99", null))).hasSize(11);
+    }
+
+    @Test
+    void syncOnlyChangedRows() {
+        template.update("update item set price = 5000, version = version + 1 where id = 10");   // 다른 서버의 변경
+        template.update("delete from item where id = 20");
+        template.update("delete from item where id = " + ROWS);   // 마지막 행
+        template.update("insert into item(item_name, price, quantity) values ('itemNew', 100, 1)");
+
+        assertThat(loader.sync(snapshot)).isEqualTo(4);
+
+        assertThat(snapshot.findById(10L)).map(Item::getPrice).contains(5000);
+        assertThat(snapshot.findById(20L)).isEmpty();
+        assertThat(snapshot.findById((long) ROWS)).isEmpty();
+        assertThat(snapshot.findAll(new ItemSearchCond("itemNew", null))).hasSize(1);
+        assertThat(snapshot.size()).isEqualTo(ROWS - 1);
+        assertThat(loader.sync(snapshot)).isZero();   // 바뀐 행이 없으면 다시 읽지 않음
+    }
+}
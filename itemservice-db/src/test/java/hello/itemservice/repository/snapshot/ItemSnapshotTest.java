@@ -0,0 +1,147 @@
+package hello.itemservice.repository.snapshot;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemSnapshotTest {
+
+    ItemSnapshot snapshot;
+
+    @BeforeEach
+    void init() {
+        snapshot = new ItemSnapshot();
+        snapshot.load(List.of(item(3L, "itemC", 30000, 3), item(1L, "itemA-1", 10000, 1), item(2L, "itemA-2", 20000, 2)));
+    }
+
+    @Test
+    void findById() {
+        assertThat(snapshot.findById(2L)).contains(item(2L, "itemA-2", 20000, 2));
+        assertThat(snapshot.findById(4L)).isEmpty();
+    }
+
+    @Test
+    void findAll() {
+        test(null, null, 1L, 2L, 3L);
+        test("itemA", null, 1L, 2L);
+        test("A-2", null, 2L);
+        test(null, 20000, 1L, 2L);
+        test("itemA", 10000, 1L);
+        test("itemB", null);
+    }
+
+    @Test
+    void applyUpdateAndInsert() {
+        snapshot.apply(item(2L, "itemB", 25000, 5));   // 덮어쓰기
+        snapshot.apply(item(10L, "itemD", 40000, 4));  // 뒤에 추가
+
+        List<Item> before = snapshot.findAll(new ItemSearchCond());
+        snapshot.apply(item(5L, "itemE", 50000, 5));   // 중간 삽입
+
+        assertThat(snapshot.findById(2L)).contains(item(2L, "itemB", 25000, 5));
+        test(null, null, 1L, 2L, 3L, 5L, 10L);
+        assertThat(before).extracting(Item::getId).containsExactly(1L, 2L, 3L, 10L);  // 이전 결과는 그대로
+    }
+
+    @Test
+    void updateChangedColumns() {
+        ItemUpdateDto change = new ItemUpdateDto();
+        change.setQuantity(7);
+
+        snapshot.update(2L, change);
+        snapshot.update(4L, change);   // 스냅샷에 없는 상품 -> 무시
+
+        Item updated = item(2L, "itemA-2", 20000, 7);
+        updated.setVersion(1L);
+        assertThat(snapshot.findById(2L)).contains(updated);
+        assertThat(snapshot.findById(4L)).isEmpty();
+    }
+
+    @Test
+    void diffOnlyChangedKeys() {
+        ItemUpdateDto change = new ItemUpdateDto();
+        change.setPrice(35000);
+        snapshot.update(3L, change);   // 이 서버에서 이미 반영 (version 1)
+
+        ItemSnapshot.KeyDiff diff = snapshot.diff();
+        snapshot.apply(item(20L, "itemNew", 1000, 1));   // 비교 중에 추가된 행 -> 지우지 않음
+        diff.next(2L, 1);    // 다른 서버가 수정
+        diff.next(3L, 1);    // 같은 버전
+        diff.next(4L, 0);    // 새 행
+        diff.finish();       // 1 은 원본에 없음
+
+        assertThat(diff.changedIds()).containsExactly(2L, 4L);
+        assertThat(diff.removedIds()).containsExactly(1L);
+    }
+
+    @Test
+    void applyIfNewerAndRemove() {
+        List<Item> before = snapshot.findAll(new ItemSearchCond());
+        Item changed = item(2L, "itemB", 25000, 5);
+        changed.setVersion(1L);
+
+        assertThat(snapshot.applyIfNewer(changed)).isTrue();
+        assertThat(snapshot.applyIfNewer(item(3L, "itemOld", 1, 1))).isFalse();   // 같은 버전 -> 유지
+        snapshot.remove(List.of(1L));
+
+        assertThat(snapshot.findById(2L)).contains(changed);
+        assertThat(snapshot.findById(3L)).contains(item(3L, "itemC", 30000, 3));
+        test(null, null, 2L, 3L);
+        assertThat(before).extracting(Item::getId).containsExactly(1L, 2L, 3L);  // 이전 결과는 그대로
+    }
+
+    @Test
+    void loaderRequiresAscendingIds() {
+        ItemSnapshot.Loader loader = new ItemSnapshot.Loader(1);
+        for (long id = 1; id <= 40; id++) {
+            loader.add(item(id, "item" + id, 1000, 1));   // 용량이 부족하면 늘어남
+        }
+        snapshot.load(loader);
+
+        assertThat(snapshot.size()).isEqualTo(40);
+        assertThatThrownBy(() -> loader.add(item(5L, "item5", 1000, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void growCapacity() {
+        for (long id = 4; id <= 100; id++) {
+            snapshot.apply(item(id, "item" + id, (int) id * 100, 1));
+        }
+        assertThat(snapshot.size()).isEqualTo(100);
+        assertThat(snapshot.findById(77L)).contains(item(77L, "item77", 7700, 1));
+    }
+
+    @Test
+    void nullColumns() {
+        snapshot.apply(item(4L, null, null, null));
+
+        assertThat(snapshot.findById(4L)).contains(item(4L, null, null, null));
+        test("item", 100000, 1L, 2L, 3L);   // 이름, 가격이 없는 상품은 조건에 걸리지 않음
+    }
+
+    @Test
+    void nameTooLong() {
+        assertThatThrownBy(() -> snapshot.apply(item(4L, "12345678901", 1000, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    void test(String itemName, Integer maxPrice, Long... ids) {
+        List<Item> result = snapshot.findAll(new ItemSearchCond(itemName, maxPrice));
+        assertThat(result).extracting(Item::getId).containsExactly(ids);
+    }
+
+    private Item item(Long id, String itemName, Integer price, Integer quantity) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        item.setVersion(0L);
+        return item;
+    }
+}
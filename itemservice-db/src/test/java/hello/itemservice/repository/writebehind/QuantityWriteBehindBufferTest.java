@@ -0,0 +1,145 @@
+package hello.itemservice.repository.writebehind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuantityWriteBehindBufferTest {
+
+    static final long NO_SCHEDULED_FLUSH = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    Path journalDir;
+
+    DriverManagerDataSource dataSource;
+    DataSourceTransactionManager transactionManager;
+    JdbcTemplate template;
+    long itemId;
+
+    @BeforeEach
+    void init() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:writebehind;DB_CLOSE_DELAY=-1", "sa", "");
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, version bigint default 0 not null, primary key (id))");
+        template.execute("create table if not exists item_quantity_flush (id int primary key, segment bigint not null)");
+        template.update("insert into item(item_name, price, quantity) values ('itemA', 10000, 100)");
+        itemId = template.queryForObject("select max(id) from item", Long.class);
+    }
+
+    @AfterEach
+    void after() {
+        template.execute("drop table item");
+        template.execute("drop table if exists item_quantity_flush");
+    }
+
+    @Test
+    void coalesceAndFlush() throws InterruptedException {
+        QuantityWriteBehindBuffer buffer = newBuffer(10_000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            int delta = i % 2 == 0 ? -1 : 3;
+            executor.execute(() -> buffer.add(itemId, delta));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(quantity()).isEqualTo(100);   // 아직 반영 X
+        assertThat(buffer.pendingDelta(itemId)).isEqualTo(1000);
+
+        assertThat(buffer.flush()).isEqualTo(1);   // 1000번의 변경 -> UPDATE 1번
+        assertThat(quantity()).isEqualTo(1100);
+        assertThat(buffer.pendingDelta(itemId)).isZero();
+        buffer.close();
+    }
+
+    @Test
+    void replayAfterCrash() {
+        QuantityWriteBehindBuffer crashed = newBuffer(10_000);
+        crashed.add(itemId, -30);
+        crashed.add(itemId, -20);
+        // close() 없이 종료된 상황 -> 저널에만 남아 있음
+
+        QuantityWriteBehindBuffer restarted = newBuffer(10_000);
+        assertThat(quantity()).isEqualTo(50);   // 시작하면서 저널 복구 후 반영
+
+        restarted.close();
+        QuantityWriteBehindBuffer again = newBuffer(10_000);
+        assertThat(quantity()).isEqualTo(50);   // 반영된 세그먼트는 다시 반영 X
+        again.close();
+    }
+
+    @Test
+    void flushWhenMaxEntries() throws InterruptedException {
+        template.update("insert into item(item_name, price, quantity) values ('itemB', 10000, 100)");
+        QuantityWriteBehindBuffer buffer = newBuffer(2);
+
+        buffer.add(itemId, 5);
+        buffer.add(itemId + 1, 5);   // 상품 2개 -> 플러시 요청
+
+        for (int i = 0; i < 50 && quantity() == 100; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(quantity()).isEqualTo(105);
+        buffer.close();
+    }
+
+    @Test
+    void readYourWritesDuringFlush() throws Exception {
+        QuantityWriteBehindBuffer buffer = newBuffer(10_000);
+        int adds = 2_000;
+        AtomicBoolean done = new AtomicBoolean();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < adds; i++) {
+                buffer.add(itemId, 1);
+            }
+            done.set(true);
+        });
+        Future<?> flusher = executor.submit(() -> {
+            while (!done.get()) {
+                buffer.flush();
+            }
+        });
+
+        //DB 값 + 미반영 변화량은 줄어들면 안 됨 (빠뜨리면 감소, 두 번 더하면 증가 후 감소)
+        long last = 0;
+        while (!done.get()) {
+            long seen = buffer.readConsistent(() -> quantity() + buffer.pendingDelta(itemId));
+            assertThat(seen).isGreaterThanOrEqualTo(last);
+            last = seen;
+        }
+        writer.get();
+        flusher.get();
+        executor.shutdown();
+
+        assertThat(quantity() + buffer.pendingDelta(itemId)).isEqualTo(100 + adds);
+        buffer.close();
+        assertThat(quantity()).isEqualTo(100 + adds);
+    }
+
+    private QuantityWriteBehindBuffer newBuffer(int maxEntries) {
+        return new QuantityWriteBehindBuffer(dataSource, transactionManager, journalDir,
+                NO_SCHEDULED_FLUSH, maxEntries, true);
+    }
+
+    private int quantity() {
+        return template.queryForObject("select quantity from item where id = ?", Integer.class, itemId);
+    }
+}
@@ -0,0 +1,64 @@
+package hello.itemservice.service;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersioningItemServiceTest {
+
+    JdbcTemplate template;
+    TransactionTemplate txTemplate;
+    CatalogVersion catalogVersion;
+    ItemService itemService;
+
+    @BeforeEach
+    void init() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:catalogVersion;DB_CLOSE_DELAY=-1", "sa", "");
+        template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, version bigint default 0 not null, primary key (id))");
+        txTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        catalogVersion = new CatalogVersion();
+        itemService = new CatalogVersioningItemService(new ItemServiceV1(new JdbcTemplateItemRepositoryV3(dataSource)), catalogVersion);
+    }
+
+    @AfterEach
+    void after() {
+        template.execute("drop table item");
+    }
+
+    @Test
+    void noTransaction() {
+        itemService.save(new Item("itemA", 10000, 10));
+
+        assertThat(catalogVersion.current()).isEqualTo(1);
+    }
+
+    @Test
+    void bumpAfterOuterCommit() {
+        txTemplate.executeWithoutResult(status -> {
+            itemService.save(new Item("itemA", 10000, 10));
+            assertThat(catalogVersion.current()).isZero();   // 아직 커밋 전
+        });
+
+        assertThat(catalogVersion.current()).isEqualTo(1);
+    }
+
+    @Test
+    void noBumpOnRollback() {
+        txTemplate.executeWithoutResult(status -> {
+            itemService.save(new Item("itemA", 10000, 10));
+            status.setRollbackOnly();
+        });
+
+        assertThat(catalogVersion.current()).isZero();
+    }
+}
@@ -0,0 +1,101 @@
+package hello.itemservice.service;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimisticItemUpdaterTest {
+
+    JdbcTemplate template;
+    ItemService itemService;
+    OptimisticItemUpdater updater;
+    Long itemId;
+
+    @BeforeEach
+    void init() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:optimistic;DB_CLOSE_DELAY=-1", "sa", "");
+        template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, version bigint default 0 not null, primary key (id))");
+        itemService = new ItemServiceV1(new JdbcTemplateItemRepositoryV3(dataSource));
+        updater = new OptimisticItemUpdater(itemService, 1_000);
+        itemId = itemService.save(new Item("itemA", 10000, 100)).getId();
+    }
+
+    @AfterEach
+    void after() {
+        template.execute("drop table item");
+    }
+
+    @Test
+    void adjustQuantityConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            executor.execute(() -> updater.adjustQuantity(itemId, 1));
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        Item item = itemService.findById(itemId).get();
+        assertThat(item.getQuantity()).isEqualTo(500);   // 잃어버린 수정 X
+        assertThat(item.getVersion()).isEqualTo(400);
+    }
+
+    @Test
+    void mergeQuantityConflict() {
+        Item base = itemService.findById(itemId).get();   // 사용자가 폼을 연 시점
+
+        updater.adjustQuantity(itemId, -30);   // 그 사이 재고 동기화
+
+        ItemUpdateDto updateParam = new ItemUpdateDto("itemB", 10000, 110);   // 상품명 변경 + 수량 10 추가
+        updateParam.setVersion(base.getVersion());
+        updater.update(itemId, base, updateParam);
+
+        Item item = itemService.findById(itemId).get();
+        assertThat(item.getItemName()).isEqualTo("itemB");
+        assertThat(item.getQuantity()).isEqualTo(80);
+    }
+
+    @Test
+    void nullQuantityAsZero() {
+        Long noQuantityId = itemService.save(new Item("itemC", 10000, null)).getId();
+        Item base = itemService.findById(noQuantityId).get();
+
+        updater.adjustQuantity(noQuantityId, 5);
+
+        ItemUpdateDto updateParam = new ItemUpdateDto("itemC", 10000, 3);   // 폼에서 없음 -> 3
+        updateParam.setVersion(base.getVersion());
+        updater.update(noQuantityId, base, updateParam);
+
+        assertThat(itemService.findById(noQuantityId).get().getQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    void conflictingPriceChange() {
+        Item base = itemService.findById(itemId).get();
+
+        ItemUpdateDto other = new ItemUpdateDto();
+        other.setPrice(12000);
+        itemService.update(itemId, other);   // 다른 사용자가 가격 변경
+
+        ItemUpdateDto updateParam = new ItemUpdateDto("itemA", 15000, 100);
+        updateParam.setVersion(base.getVersion());
+
+        assertThatThrownBy(() -> updater.update(itemId, base, updateParam))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(itemService.findById(itemId).get().getPrice()).isEqualTo(12000);
+    }
+}
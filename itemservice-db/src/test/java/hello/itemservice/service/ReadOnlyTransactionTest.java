@@ -0,0 +1,134 @@
+package hello.itemservice.service;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ItemServiceV2 조회 : 읽기 전용 트랜잭션 vs 읽기/쓰기 트랜잭션 (할당량 bytes/op, 지연 시간)
+ * 테스트에서 직접 트랜잭션을 열어야 하므로 @Transactional 대신 직접 정리
+ */
+@Slf4j
+@SpringBootTest
+class ReadOnlyTransactionTest {
+
+    static final String PREFIX = "ro";   // item_name varchar(10)
+    static final int ROWS = 5_000;
+    static final int WARMUP = 5;
+    static final int ITERATIONS = 20;
+
+    @Autowired
+    ItemServiceV2 itemService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    DataSource dataSource;
+
+    @BeforeEach
+    void init() {
+        List<Object[]> params = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            params.add(new Object[]{PREFIX + i, 1000 + i, i});
+        }
+        new JdbcTemplate(dataSource).batchUpdate("insert into item(item_name, price, quantity) values (?, ?, ?)", params);
+    }
+
+    @AfterEach
+    void clear() {
+        new JdbcTemplate(dataSource).update("delete from item where item_name like ?", PREFIX + "%");
+    }
+
+    @Test
+    void readOnlyAttributes() throws NoSuchMethodException {
+        TransactionAttributeSource source = new AnnotationTransactionAttributeSource();
+
+        assertThat(source.getTransactionAttribute(ItemServiceV2.class.getMethod("findItems", ItemSearchCond.class),
+                ItemServiceV2.class).isReadOnly()).isTrue();
+        assertThat(source.getTransactionAttribute(ItemServiceV2.class.getMethod("updateAll", Map.class),
+                ItemServiceV2.class).isReadOnly()).isFalse();
+    }
+
+    @Test
+    void readOnlySession() {
+        TransactionTemplate readOnly = template(true);
+
+        readOnly.executeWithoutResult(status -> {
+            Session session = em.unwrap(Session.class);
+            assertThat(session.isDefaultReadOnly()).isTrue();
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+
+            Item item = itemService.findItems(new ItemSearchCond(PREFIX + "0", null)).get(0);
+            assertThat(session.isReadOnly(item)).isTrue();   // 스냅샷 X
+            item.setPrice(1);   // 플러시 X -> 반영되지 않음
+        });
+
+        Integer price = new JdbcTemplate(dataSource)
+                .queryForObject("select price from item where item_name = ?", Integer.class, PREFIX + "0");
+        assertThat(price).isEqualTo(1000);
+    }
+
+    @Test
+    void searchHeavy() {
+        ItemSearchCond cond = new ItemSearchCond(PREFIX, null);
+        TransactionTemplate readWrite = template(false);
+
+        long[] readWriteResult = measure(() -> readWrite.execute(status -> itemService.findItems(cond)));
+        long[] readOnlyResult = measure(() -> itemService.findItems(cond));   // 서비스 기본 readOnly
+
+        log.info("rows={} readWrite={} bytes/op {}us/op, readOnly={} bytes/op {}us/op",
+                ROWS, readWriteResult[0], readWriteResult[1] / 1000, readOnlyResult[0], readOnlyResult[1] / 1000);
+        assertThat(readOnlyResult[0]).isLessThan(readWriteResult[0]);
+    }
+
+    private TransactionTemplate template(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    /**
+     * @return {할당 bytes/op, 지연 ns/op}
+     */
+    private long[] measure(Supplier<List<Item>> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(search.get()).hasSize(ROWS);
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            search.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[]{(threadMXBean.getThreadAllocatedBytes(threadId) - before) / ITERATIONS, elapsed / ITERATIONS};
+    }
+}
@@ -0,0 +1,199 @@
+package hello.itemservice.service;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.domain.ItemRow;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class SingleFlightItemServiceTest {
+
+    static final int THREADS = 32;
+
+    SlowItemService target = new SlowItemService();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void coalesceSameId() throws Exception {
+        SingleFlightItemService service = new SingleFlightItemService(target, 0, registry);
+
+        List<Optional<Item>> results = concurrently(i -> service.findById(1L));
+
+        assertThat(results).allMatch(Optional::isPresent);
+        assertThat(target.findByIdCalls.get()).isLessThan(THREADS);   // 대부분 리더의 결과를 받음
+        assertThat(service.coalescingRatio()).isGreaterThan(0.5);
+        assertThat(registry.get("item.lookup.requests").counter().count()).isEqualTo(THREADS);
+    }
+
+    @Test
+    void microBatchDistinctIds() throws Exception {
+        SingleFlightItemService service = new SingleFlightItemService(target, 20_000, registry);
+
+        List<Optional<Item>> results = concurrently(i -> service.findById((long) i % 8));
+
+        assertThat(results.stream().filter(Optional::isPresent).count()).isEqualTo(THREADS - THREADS / 8);  // id 0 은 없음
+        assertThat(target.findByIdCalls.get()).isZero();
+        assertThat(target.findByIdsCalls.get()).isLessThan(THREADS / 8);
+        service.close();
+    }
+
+    @Test
+    void errorDoesNotLeaveFlight() {
+        SingleFlightItemService service = new SingleFlightItemService(target, 0, registry);
+        target.failNext = new AssertionError("loader error");
+
+        assertThatThrownBy(() -> service.findById(1L)).isInstanceOf(AssertionError.class);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> service.findById(1L));   // 남은 조회가 있으면 영원히 대기
+        assertThat(target.findByIdCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void batchErrorDoesNotLeaveFlight() {
+        SingleFlightItemService service = new SingleFlightItemService(target, 1_000, registry);
+        target.failNext = new AssertionError("loader error");
+
+        assertThatThrownBy(() -> service.findById(1L)).isInstanceOf(AssertionError.class);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> service.findById(1L));
+        service.close();
+    }
+
+    @Test
+    void rejectedAfterClose() {
+        SingleFlightItemService service = new SingleFlightItemService(target, 1_000, registry);
+        service.close();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThatThrownBy(() -> service.findById(1L)).isInstanceOf(RejectedExecutionException.class);
+            assertThatThrownBy(() -> service.findById(1L)).isInstanceOf(RejectedExecutionException.class);
+        });
+    }
+
+    @Test
+    void nullId() {
+        SingleFlightItemService service = new SingleFlightItemService(target, 0, registry);
+
+        assertThatThrownBy(() -> service.findById(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Optional<Item>> concurrently(IntFunction<Optional<Item>> lookup) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<Item>>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return lookup.apply(n);
+            }));
+        }
+        start.countDown();
+        List<Optional<Item>> results = new ArrayList<>();
+        for (Future<Optional<Item>> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    /**
+     * DB 조회 대신 50ms 대기, id 0 은 없는 상품
+     */
+    static class SlowItemService implements ItemService {
+
+        final AtomicInteger findByIdCalls = new AtomicInteger();
+        final AtomicInteger findByIdsCalls = new AtomicInteger();
+        volatile Error failNext;
+
+        @Override
+        public Optional<Item> findById(Long id) {
+            findByIdCalls.incrementAndGet();
+            failIfRequested();
+            sleep();
+            return Optional.ofNullable(item(id));
+        }
+
+        @Override
+        public List<Item> findItemsByIds(Collection<Long> itemIds) {
+            findByIdsCalls.incrementAndGet();
+            failIfRequested();
+            sleep();
+            return itemIds.stream().map(this::item).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+
+        private Item item(Long id) {
+            if (id == 0) {
+                return null;
+            }
+            Item item = new Item("item" + id, 1000, 10);
+            item.setId(id);
+            return item;
+        }
+
+        private void failIfRequested() {
+            Error error = failNext;
+            if (error != null) {
+                failNext = null;
+                throw error;
+            }
+        }
+
+        private void sleep() {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public Item save(Item item) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void update(Long itemId, ItemUpdateDto updateParam) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Item> saveAll(List<Item> items) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateAll(Map<Long, ItemUpdateDto> updates) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Item> findItems(ItemSearchCond itemSearch) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ItemRow> findItemRows(ItemSearchCond itemSearch) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package hello.itemservice.sqlstats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintTest {
+
+    @Test
+    void literalsAndWhitespace() {
+        assertThat(SqlFingerprint.of("SELECT id, item_name FROM item WHERE id = 10 AND item_name = 'it''s'"))
+                .isEqualTo("select id,item_name from item where id=? and item_name=?");
+    }
+
+    @Test
+    void sameShapeFromDifferentRepositories() {
+        // JdbcTemplate (ItemSearchShape)
+        String jdbcTemplate = "select id, item_name, price, quantity, version from item where item_name like concat('%',?,'%')";
+        // MyBatis (ItemMapper.xml, 여러 줄)
+        String myBatis = "select id, item_name, price, quantity, version\n        from item\n        where item_name like concat('%', ?, '%')";
+
+        assertThat(SqlFingerprint.of(jdbcTemplate)).isEqualTo(SqlFingerprint.of(myBatis));
+    }
+
+    @Test
+    void inListSize() {
+        assertThat(SqlFingerprint.of("select * from item where id in (?, ?, ?)"))
+                .isEqualTo(SqlFingerprint.of("select * from item where id in (?)"))
+                .isEqualTo("select * from item where id in(?+)");
+    }
+
+    @Test
+    void identifiersWithDigits() {
+        // 하이버네이트 별칭의 숫자는 리터럴이 아님
+        assertThat(SqlFingerprint.of("select item0_.id as id1_0_ from item item0_ where item0_.price<=?"))
+                .isEqualTo("select item0_.id as id1_0_ from item item0_ where item0_.price<=?");
+    }
+
+    @Test
+    void differentShapes() {
+        assertThat(SqlFingerprint.of("select * from item where price <= ?"))
+                .isNotEqualTo(SqlFingerprint.of("select * from item where item_name like concat('%',?,'%') and price <= ?"));
+    }
+}
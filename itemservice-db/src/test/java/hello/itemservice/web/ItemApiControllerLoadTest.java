@@ -0,0 +1,82 @@
+package hello.itemservice.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 1,000건 등록 : 화면 폼(POST -> 리다이렉트 -> 상세 HTML) 1건씩 vs JSON API 한 번에
+ * 목표는 10배 이상 (API 는 한 트랜잭션 + 배치 INSERT, 폼은 건마다 트랜잭션 + 리다이렉트 + HTML 렌더링)
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ItemApiControllerLoadTest {
+
+    static final int ITEMS = 1_000;
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void formVsBulkApi() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        addByForm(client, 10);   // 워밍업
+        addByApi(client, 10);
+
+        long formNanos = addByForm(client, ITEMS);
+        long apiNanos = addByApi(client, ITEMS);
+
+        double formRate = ITEMS / (formNanos / 1_000_000_000.0);
+        double apiRate = ITEMS / (apiNanos / 1_000_000_000.0);
+        log.info("form={} items/s api={} items/s ({}x)", String.format("%.1f", formRate), String.format("%.1f", apiRate),
+                String.format("%.1f", apiRate / formRate));
+
+        assertThat(apiRate).isGreaterThanOrEqualTo(formRate * 10);
+    }
+
+    private long addByForm(WebClient client, int count) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String location = client.post()
+                    .uri("/items/add")
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(BodyInserters.fromFormData("itemName", "form" + i)
+                            .with("price", "1000")
+                            .with("quantity", "1"))
+                    .exchangeToMono(response -> response.releaseBody()
+                            .thenReturn(response.headers().asHttpHeaders().getFirst(HttpHeaders.LOCATION)))
+                    .block(Duration.ofSeconds(10));
+            client.get().uri(location)   // 브라우저처럼 리다이렉트를 따라가서 상세 화면 렌더링
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block(Duration.ofSeconds(10));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long addByApi(WebClient client, int count) {
+        String items = IntStream.range(0, count)
+                .mapToObj(i -> "{\"itemName\":\"api" + i + "\",\"price\":1000,\"quantity\":1}")
+                .collect(Collectors.joining(",", "[", "]"));
+        long start = System.nanoTime();
+        client.post()
+                .uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(items)
+                .retrieve()
+                .toBodilessEntity()
+                .block(Duration.ofSeconds(30));
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,125 @@
+package hello.itemservice.web;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.service.ItemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 비동기 스트리밍(search)은 다른 스레드에서 조회하므로 @Transactional 없이 실제로 커밋
+ */
+@SpringBootTest(properties = "itemservice.api.max-bulk-size=10")
+@AutoConfigureMockMvc
+class ItemApiControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ItemService itemService;
+
+    @Test
+    void bulkCreateAndMultiGet() throws Exception {
+        assertThat(itemService.findItems(new ItemSearchCond("apiA", null))).isEmpty();   // 쿼리 캐시에 빈 결과
+
+        List<ItemDto> saved = addItems("apiA", "apiB");
+
+        assertThat(saved).extracting(ItemDto::getItemName).containsExactly("apiA", "apiB");
+        assertThat(saved).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+
+        mockMvc.perform(get("/api/items").param("ids", saved.get(1).getId() + "," + saved.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemName").value("apiB"))
+                .andExpect(jsonPath("$[1].itemName").value("apiA"));
+
+        //JDBC 배치로 저장해도 쿼리 캐시 무효화 -> 목록에 보임
+        assertThat(itemService.findItems(new ItemSearchCond("apiA", null))).hasSize(1);
+    }
+
+    @Test
+    void bulkUpdateWithVersion() throws Exception {
+        List<ItemDto> saved = addItems("apiC", "apiD");
+        Long idC = saved.get(0).getId();
+        Long idD = saved.get(1).getId();
+        String updates = "{\"" + idC + "\":{\"price\":1500,\"version\":0},\"" + idD + "\":{\"quantity\":7}}";
+
+        mockMvc.perform(patch("/api/items").contentType(MediaType.APPLICATION_JSON).content(updates))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/items/{itemId}", idC))
+                .andExpect(jsonPath("$.price").value(1500))
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(get("/api/items/{itemId}", idD))
+                .andExpect(jsonPath("$.price").value(1000))   // 보내지 않은 필드는 그대로
+                .andExpect(jsonPath("$.quantity").value(7));
+
+        //이미 수정된 버전(0)으로 다시 수정 -> 409, 같은 요청의 다른 수정도 롤백
+        String stale = "{\"" + idD + "\":{\"quantity\":9},\"" + idC + "\":{\"price\":2000,\"version\":0}}";
+        mockMvc.perform(patch("/api/items").contentType(MediaType.APPLICATION_JSON).content(stale))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/items/{itemId}", idD))
+                .andExpect(jsonPath("$.quantity").value(7));
+    }
+
+    @Test
+    void streamingSearch() throws Exception {
+        addItems("apiSearch");
+
+        MvcResult result = mockMvc.perform(get("/api/items").param("itemName", "apiSearch")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"itemName\":\"apiSearch\"")))
+                .andExpect(content().string(containsString("\"version\":0")));
+    }
+
+    @Test
+    void tooManyItems() throws Exception {
+        String items = IntStream.range(0, 11)
+                .mapToObj(i -> "{\"itemName\":\"big" + i + "\",\"price\":1000,\"quantity\":1}")
+                .collect(Collectors.joining(",", "[", "]"));
+
+        mockMvc.perform(post("/api/items").contentType(MediaType.APPLICATION_JSON).content(items))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void notFound() throws Exception {
+        mockMvc.perform(get("/api/items/{itemId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<ItemDto> addItems(String... names) throws Exception {
+        String items = Arrays.stream(names)
+                .map(name -> "{\"itemName\":\"" + name + "\",\"price\":1000,\"quantity\":1}")
+                .collect(Collectors.joining(",", "[", "]"));
+        String body = mockMvc.perform(post("/api/items").contentType(MediaType.APPLICATION_JSON).content(items))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<List<ItemDto>>() {
+        });
+    }
+}
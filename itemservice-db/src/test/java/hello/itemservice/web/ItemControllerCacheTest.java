@@ -0,0 +1,71 @@
+package hello.itemservice.web;
+
+import hello.itemservice.service.CatalogVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 카탈로그 버전은 커밋 이후에 증가하므로 @Transactional 을 사용하지 않음 (직접 정리)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemControllerCacheTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    CatalogVersion catalogVersion;
+
+    @AfterEach
+    void after() {
+        new JdbcTemplate(dataSource).update("delete from item where item_name = ?", "etagA");
+        emf.getCache().evictAll();
+        catalogVersion.bump();   // ItemService 를 거치지 않은 변경
+    }
+
+    @Test
+    void notModifiedUntilCatalogChanges() throws Exception {
+        String etag = mockMvc.perform(get("/items"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        //변경 없음 -> 304
+        mockMvc.perform(get("/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        //상품 등록 -> 버전 증가 -> 새로 렌더링 (캐시된 표 조각도 사용 X)
+        mockMvc.perform(post("/items/add")
+                        .param("itemName", "etagA")
+                        .param("price", "1000")
+                        .param("quantity", "1"))
+                .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("etagA")));
+    }
+}
@@ -0,0 +1,66 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ReactiveItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 톰캣 스레드 4개로 동시 요청 500개를 처리
+ * 블로킹 방식이면 동시에 4개만 처리되지만, Flux 반환 시 요청 스레드를 바로 반납하므로 동시 요청을 모두 수용
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.tomcat.threads.max=4")
+class ReactiveItemControllerLoadTest {
+
+    static final int CONCURRENCY = 500;
+    static final int ITEMS = 100;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ReactiveItemRepository reactiveItemRepository;
+
+    @BeforeEach
+    void init() {
+        Flux.range(0, ITEMS)
+                .concatMap(i -> reactiveItemRepository.save(new Item("load" + i, 1000 + i, 10)))
+                .blockLast();
+    }
+
+    @Test
+    void streamItems() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+
+        long start = System.nanoTime();
+        Long received = Flux.range(0, CONCURRENCY)
+                .flatMap(i -> client.get()
+                        .uri(uri -> uri.path("/reactive/items").queryParam("itemName", "load").build())
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .retrieve()
+                        .bodyToFlux(Item.class)
+                        .count(), CONCURRENCY)
+                .reduce(0L, Long::sum)
+                .block(Duration.ofMinutes(1));
+        long elapsed = System.nanoTime() - start;
+
+        log.info("concurrency={} tomcatThreads=4 items={} elapsed={}ms throughput={}/s",
+                CONCURRENCY, received, elapsed / 1_000_000,
+                String.format("%.1f", CONCURRENCY / (elapsed / 1_000_000_000.0)));
+
+        assertThat(received).isGreaterThanOrEqualTo((long) CONCURRENCY * ITEMS);
+    }
+}
@@ -0,0 +1,44 @@
+package hello.itemservice.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestDeadlineFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void spentBudget() throws Exception {
+        double before = exceeded();
+
+        // 호출한 쪽의 남은 시간이 0 -> 트랜잭션을 시작하지 않고 503
+        mockMvc.perform(get("/api/items/{itemId}", 1).header(RequestDeadlineFilter.TIMEOUT_HEADER, "0"))
+                .andExpect(status().isServiceUnavailable());
+
+        assertThat(exceeded()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void withinBudget() throws Exception {
+        mockMvc.perform(get("/api/items/{itemId}", Long.MAX_VALUE).header(RequestDeadlineFilter.TIMEOUT_HEADER, "3000"))
+                .andExpect(status().isNotFound());
+    }
+
+    private double exceeded() {
+        return meterRegistry.counter("itemservice.deadline.exceeded", "cause", "TransactionTimedOutException").count();
+    }
+}
@@ -0,0 +1,80 @@
+package hello.jdbc.exception;
+
+import hello.jdbc.repository.exception.MyDuplicateKeyException;
+import hello.jdbc.repository.exception.SqlExceptionTranslators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실패 경로 처리량 : 키 중복 SQLException -> 애플리케이션 예외
+ *
+ * springTranslator     : 공유 SQLErrorCodeSQLExceptionTranslator (스택 트레이스 O)
+ * stacklessTranslator  : SqlExceptionTranslators stackless 모드 (예상된 오류 코드는 스택 트레이스 X)
+ * myDuplicateKey*      : ExTranslatorV1Test 방식의 직접 변환
+ *
+ * depth : 리포지토리 -> 서비스 -> 컨트롤러 ... 호출 깊이 흉내 (스택 트레이스 비용은 깊이에 비례)
+ * SQLException 자체는 드라이버가 만드는 것이므로 미리 한 번만 생성
+ *
+ * 실행 : ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExceptionTranslationBenchmark {
+
+    @Param({"10", "100"})
+    int depth;
+
+    SQLException duplicateKey;
+    SQLExceptionTranslator springTranslator;
+    SQLExceptionTranslator stacklessTranslator;
+
+    @Setup
+    public void setup() {
+        duplicateKey = new SQLException("Unique index or primary key violation", "23505", 23505);
+        springTranslator = SqlExceptionTranslators.of("H2", false);
+        stacklessTranslator = SqlExceptionTranslators.of("H2", true);
+    }
+
+    @Benchmark
+    public Object springTranslator() {
+        return atDepth(depth, () -> springTranslator.translate("save", "insert into member", duplicateKey));
+    }
+
+    @Benchmark
+    public Object stacklessTranslator() {
+        return atDepth(depth, () -> stacklessTranslator.translate("save", "insert into member", duplicateKey));
+    }
+
+    @Benchmark
+    public Object myDuplicateKey() {
+        return atDepth(depth, () -> new MyDuplicateKeyException(duplicateKey));
+    }
+
+    @Benchmark
+    public Object myDuplicateKeyStackless() {
+        return atDepth(depth, () -> MyDuplicateKeyException.stackless(duplicateKey));
+    }
+
+    private Object atDepth(int remaining, Translation translation) {
+        if (remaining == 0) {
+            return translation.run();
+        }
+        return atDepth(remaining - 1, translation);
+    }
+
+    @FunctionalInterface
+    interface Translation {
+        Object run();
+    }
+}
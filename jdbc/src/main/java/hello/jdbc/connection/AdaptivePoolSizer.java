@@ -0,0 +1,137 @@
+package hello.jdbc.connection;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커넥션 풀 최대 크기 자동 조절 (히카리 풀 MXBean 위에서 동작)
+ *
+ * 리틀의 법칙 : 필요한 커넥션 수(L) = 초당 획득 수(λ) * 평균 보유 시간(W)
+ * - 늘릴 때 : 목표가 현재보다 크거나 getConnection 대기 스레드가 있으면 바로 늘림
+ * - 줄일 때 : 목표가 현재의 (1 - shrinkBand) 미만인 상태가 shrinkAfter 번 연속될 때만 줄임 (히스테리시스)
+ * - 항상 [minSize, maxSize] 범위 안
+ *
+ * 대기 스레드가 있으면 측정된 λ 는 수요가 아니라 처리량(이미 풀 크기로 제한됨) -> 대기 수만큼 더해서 늘림
+ */
+@Slf4j
+public class AdaptivePoolSizer implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+    private final PoolLoadTracker tracker = new PoolLoadTracker();
+    private final int minSize;
+    private final int maxSize;
+    private final double headroom;
+    private final double shrinkBand;
+    private final int shrinkAfter;
+
+    private ScheduledExecutorService scheduler;
+    private long lastSampleNanos = System.nanoTime();
+    private int belowCount;
+
+    public AdaptivePoolSizer(HikariDataSource dataSource, int minSize, int maxSize) {
+        this(dataSource, minSize, maxSize, 1.2, 0.3, 3);
+    }
+
+    /**
+     * @param headroom    목표 크기 = L * headroom (순간적인 몰림 대비 여유)
+     * @param shrinkBand  목표가 현재 크기보다 이 비율 이상 작을 때만 줄이기 후보
+     * @param shrinkAfter 줄이기 후보가 연속으로 이 횟수만큼 측정되어야 실제로 줄임
+     */
+    public AdaptivePoolSizer(HikariDataSource dataSource, int minSize, int maxSize,
+                             double headroom, double shrinkBand, int shrinkAfter) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("1 <= minSize <= maxSize, minSize=" + minSize + ", maxSize=" + maxSize);
+        }
+        this.dataSource = dataSource;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.headroom = headroom;
+        this.shrinkBand = shrinkBand;
+        this.shrinkAfter = shrinkAfter;
+
+        dataSource.setMetricsTrackerFactory(tracker);   // 풀 시작 전에만 가능
+        dataSource.setMinimumIdle(minSize);             // 한가할 때는 minSize 까지 유휴 커넥션 정리
+        if (dataSource.getMaximumPoolSize() > 0) {       // 설정하지 않았으면 -1 -> 풀 시작 시 히카리 기본값(10)
+            dataSource.setMaximumPoolSize(clamp(dataSource.getMaximumPoolSize()));
+        }
+    }
+
+    public void start(Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "adaptive-pool-sizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lastSampleNanos = System.nanoTime();
+        scheduler.scheduleWithFixedDelay(this::adjust, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 한 번 측정하고 풀 크기 조절, 조절된 최대 크기 반환
+     */
+    public synchronized int adjust() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        long now = System.nanoTime();
+        long intervalNanos = now - lastSampleNanos;
+        lastSampleNanos = now;
+        if (pool == null) {
+            return dataSource.getMaximumPoolSize();   // 아직 풀이 시작되지 않음
+        }
+
+        int current = dataSource.getMaximumPoolSize();
+        int next = nextSize(current, targetSize(tracker.drain(), intervalNanos), pool.getThreadsAwaitingConnection());
+        if (next != current) {
+            log.info("pool {} maximumPoolSize {} -> {} (active={}, idle={}, waiting={})", dataSource.getPoolName(),
+                    current, next, pool.getActiveConnections(), pool.getIdleConnections(), pool.getThreadsAwaitingConnection());
+            //줄일 때 커넥션을 강제로 닫지 않음 (한꺼번에 재연결 X) : 최대 크기 이상은 새로 만들지 않고,
+            //minimumIdle 을 넘는 유휴 커넥션은 idleTimeout 이 지나면 히카리 하우스키퍼가 정리
+            dataSource.getHikariConfigMXBean().setMaximumPoolSize(next);
+        }
+        return next;
+    }
+
+    int targetSize(PoolLoadTracker.Sample sample, long intervalNanos) {
+        if (intervalNanos <= 0) {
+            return minSize;
+        }
+        double arrivalsPerSecond = sample.getAcquisitions() * 1_000_000_000.0 / intervalNanos;
+        double inUse = arrivalsPerSecond * sample.getAverageHoldMillis() / 1000.0;
+        return (int) Math.ceil(inUse * headroom);
+    }
+
+    int nextSize(int current, int target, int waiting) {
+        if (waiting > 0) {
+            target = Math.max(target, current + waiting);
+        }
+        if (target > current) {
+            belowCount = 0;
+            return clamp(target);
+        }
+        if (target < current * (1 - shrinkBand)) {
+            if (++belowCount >= shrinkAfter) {
+                belowCount = 0;
+                return clamp(target);
+            }
+            return current;
+        }
+        belowCount = 0;
+        return current;
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package hello.jdbc.connection;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 히카리 메트릭 콜백으로 커넥션 획득 수(도착률)와 사용 시간(보유 시간)을 누적
+ * HikariPoolMXBean 은 현재 상태(active, idle, 대기 스레드)만 알려주므로 직접 측정
+ *
+ * 풀이 시작되기 전에 HikariConfig.setMetricsTrackerFactory 로 등록해야 함
+ */
+public class PoolLoadTracker implements MetricsTrackerFactory {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisitions.increment();
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * 마지막 호출 이후 누적값을 꺼내고 0으로 초기화
+     */
+    public Sample drain() {
+        return new Sample(acquisitions.sumThenReset(), usageMillis.sumThenReset(), timeouts.sumThenReset());
+    }
+
+    public static class Sample {
+
+        private final long acquisitions;
+        private final long usageMillis;
+        private final long timeouts;
+
+        public Sample(long acquisitions, long usageMillis, long timeouts) {
+            this.acquisitions = acquisitions;
+            this.usageMillis = usageMillis;
+            this.timeouts = timeouts;
+        }
+
+        public long getAcquisitions() {
+            return acquisitions;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /**
+         * 반납된 커넥션 기준 평균 보유 시간(W)
+         */
+        public double getAverageHoldMillis() {
+            return acquisitions == 0 ? 0 : (double) usageMillis / acquisitions;
+        }
+    }
+}
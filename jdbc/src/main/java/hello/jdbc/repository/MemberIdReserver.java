@@ -0,0 +1,55 @@
+package hello.jdbc.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 충돌 없는 회원 ID 예약
+ *
+ * : member_id_seq 에서 count 개의 값을 한 번의 쿼리로 가져와서 "prefix-값(36진수)" 형태의 ID 로 변환
+ * : 시퀀스 값은 트랜잭션 롤백과 상관없이 한 번 나가면 다시 나오지 않음 -> 예약된 ID 끼리는 절대 겹치지 않음
+ * : member_id 는 varchar(10) -> 길이가 넘치면 prefix 를 잘라냄 (시퀀스 부분은 유지)
+ * : 시퀀스 부분만으로 넘치는 값(36^9 이상)은 만들지 않음 (schema-embedded.sql 의 member_id_seq maxvalue, toId 에서도 확인)
+ *
+ * 직접 입력한 ID 가 우연히 같은 형태일 수는 있으므로 저장은 saveIfAbsent 로 (겹치면 false -> 다음 예약 ID 사용)
+ */
+public class MemberIdReserver {
+
+    static final int MAX_ID_LENGTH = 10;
+    static final long MAX_SEQUENCE_VALUE = 101_559_956_668_415L;   // 36^9 - 1 -> "-" + 9자리
+    private static final char SEPARATOR = '-';
+
+    private final JdbcTemplate template;
+    private final Supplier<MemberSqlDialect> dialect;
+
+    public MemberIdReserver(DataSource dataSource) {
+        this.template = new JdbcTemplate(dataSource);
+        this.dialect = MemberSqlDialect.lazy(dataSource);   // member_id_seq 는 schema-embedded.sql 에서 생성
+    }
+
+    public List<String> reserve(String prefix, int count) {
+        List<Long> values = template.queryForList(dialect.get().nextIdsSql(), Long.class, count);
+        List<String> ids = new ArrayList<>(values.size());
+        for (Long value : values) {
+            ids.add(toId(prefix, value));
+        }
+        return ids;
+    }
+
+    public String reserve(String prefix) {
+        return reserve(prefix, 1).get(0);
+    }
+
+    static String toId(String prefix, long value) {
+        if (value < 0 || value > MAX_SEQUENCE_VALUE) {
+            throw new IllegalStateException("member_id_seq 값이 member_id 길이(" + MAX_ID_LENGTH + ")를 넘음 : " + value);
+        }
+        String suffix = SEPARATOR + Long.toString(value, 36);
+        int prefixLength = Math.max(0, Math.min(prefix.length(), MAX_ID_LENGTH - suffix.length()));
+        return prefix.substring(0, prefixLength) + suffix;
+    }
+}
@@ -7,4 +7,14 @@ public interface MemberRepository {
     Member findById(String memberId);
     void update(String memberId, int money);
     void delete(String memberId);
+
+    /**
+     * 같은 ID 가 없을 때만 저장 (키 중복 예외 대신 false 반환)
+     */
+    boolean saveIfAbsent(Member member);
+
+    /**
+     * 없으면 저장, 있으면 money 갱신
+     */
+    void upsert(Member member);
 }
@@ -9,6 +9,7 @@ import org.springframework.jdbc.support.JdbcUtils;
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 /**
  * 예외 누수 문제 해결
@@ -20,9 +21,11 @@ import java.util.NoSuchElementException;
 public class MemberRepositoryV4_1 implements MemberRepository {
 
     private final DataSource dataSource;
+    private final Supplier<MemberSqlDialect> dialect;
 
     public MemberRepositoryV4_1(DataSource dataSource) {
         this.dataSource = dataSource;
+        this.dialect = MemberSqlDialect.lazy(dataSource);
     }
 
     @Override
@@ -122,6 +125,34 @@ public class MemberRepositoryV4_1 implements MemberRepository {
         }
     }
 
+    @Override
+    public boolean saveIfAbsent(Member member) {
+        return executeUpdate(dialect.get().insertIfAbsentSql(), member) > 0;
+    }
+
+    @Override
+    public void upsert(Member member) {
+        executeUpdate(dialect.get().upsertSql(), member);
+    }
+
+    private int executeUpdate(String sql, Member member) {
+        Connection con = null;
+        PreparedStatement pState = null;
+
+        try {
+            con = getConnection();
+            pState = con.prepareStatement(sql);
+            pState.setString(1, member.getMemberId());
+            pState.setInt(2, member.getMoney());
+            return pState.executeUpdate();
+        } catch (SQLException e) {
+            log.error("db error", e);
+            throw new MyDbException(e);
+        } finally {
+            close(con, pState, null);
+        }
+    }
+
     private void close(Connection con, Statement stmt, ResultSet rs) {
         JdbcUtils.closeResultSet(rs);
         JdbcUtils.closeStatement(stmt);
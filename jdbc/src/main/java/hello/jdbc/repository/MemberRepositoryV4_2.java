@@ -1,28 +1,38 @@
 package hello.jdbc.repository;
 
 import hello.jdbc.domain.Member;
+import hello.jdbc.repository.exception.SqlExceptionTranslators;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.jdbc.support.JdbcUtils;
-import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
 import org.springframework.jdbc.support.SQLExceptionTranslator;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 /**
  * SQLExceptionTranslator 추가
+ * : 변환기는 SqlExceptionTranslators 에서 DB 제품별로 공유
+ * : stacklessExpectedErrors=true 면 키 중복/락 획득 실패는 스택 트레이스 없는 예외로 변환하고 error 로그를 남기지 않음
  */
 @Slf4j
 public class MemberRepositoryV4_2 implements MemberRepository {
 
     private final DataSource dataSource;
     private final SQLExceptionTranslator exTranslator;
+    private final Supplier<MemberSqlDialect> dialect;
 
     public MemberRepositoryV4_2(DataSource dataSource) {
+        this(dataSource, false);
+    }
+
+    public MemberRepositoryV4_2(DataSource dataSource, boolean stacklessExpectedErrors) {
         this.dataSource = dataSource;
-        this.exTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);  // 어떤 DB를 사용하는지 정보 얻어야 하기 때문에
+        this.exTranslator = SqlExceptionTranslators.of(dataSource, stacklessExpectedErrors);  // 어떤 DB를 사용하는지 정보 얻어야 하기 때문에
+        this.dialect = MemberSqlDialect.lazy(dataSource);
     }
 
     @Override
@@ -40,8 +50,7 @@ public class MemberRepositoryV4_2 implements MemberRepository {
             pState.executeUpdate();  // 데이터 변경
             return member;
         } catch (SQLException e) {
-            log.error("db error", e);
-            throw exTranslator.translate("save", sql, e);   // 스프링 예외 추상화
+            throw translate("save", sql, e);
         } finally {
             close(con, pState, null);   // 모든 자원의 반납을 보장
         }
@@ -72,8 +81,7 @@ public class MemberRepositoryV4_2 implements MemberRepository {
             }
 
         } catch (SQLException e) {
-            log.error("db error", e);
-            throw exTranslator.translate("findById", sql, e);
+            throw translate("findById", sql, e);
         } finally {
             close(con, pState, rs);
         }
@@ -94,8 +102,7 @@ public class MemberRepositoryV4_2 implements MemberRepository {
             int resultSize = pState.executeUpdate();  // 쿼리 실행 후 영향받은 row 개수 반환
             log.info("resultSize={}", resultSize);
         } catch (SQLException e) {
-            log.error("db error", e);
-            throw exTranslator.translate("update", sql, e);
+            throw translate("update", sql, e);
         } finally {
             close(con, pState, null);
         }
@@ -115,13 +122,49 @@ public class MemberRepositoryV4_2 implements MemberRepository {
             int resultSize = pState.executeUpdate();  // 쿼리 실행 후 영향받은 row 개수 반환
             log.info("resultSize={}", resultSize);
         } catch (SQLException e) {
-            log.error("db error", e);
-            throw exTranslator.translate("delete", sql, e);
+            throw translate("delete", sql, e);
+        } finally {
+            close(con, pState, null);
+        }
+    }
+
+    @Override
+    public boolean saveIfAbsent(Member member) {
+        return executeUpdate("saveIfAbsent", dialect.get().insertIfAbsentSql(), member) > 0;
+    }
+
+    @Override
+    public void upsert(Member member) {
+        executeUpdate("upsert", dialect.get().upsertSql(), member);
+    }
+
+    private int executeUpdate(String task, String sql, Member member) {
+        Connection con = null;
+        PreparedStatement pState = null;
+
+        try {
+            con = getConnection();
+            pState = con.prepareStatement(sql);
+            pState.setString(1, member.getMemberId());
+            pState.setInt(2, member.getMoney());
+            return pState.executeUpdate();
+        } catch (SQLException e) {
+            throw translate(task, sql, e);
         } finally {
             close(con, pState, null);
         }
     }
 
+    private DataAccessException translate(String task, String sql, SQLException e) {
+        DataAccessException ex = exTranslator.translate(task, sql, e);   // 스프링 예외 추상화
+        if (SqlExceptionTranslators.isExpected(ex)) {
+            log.debug("expected db error task={} code={}", task, e.getErrorCode());   // 호출한 쪽에서 복구
+        } else {
+            log.error("db error", e);
+        }
+        return ex;
+    }
+
     private void close(Connection con, Statement stmt, ResultSet rs) {
         JdbcUtils.closeResultSet(rs);
         JdbcUtils.closeStatement(stmt);
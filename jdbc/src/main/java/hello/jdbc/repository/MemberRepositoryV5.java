@@ -6,6 +6,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 
 import javax.sql.DataSource;
+import java.util.function.Supplier;
 
 /**
  * JDBCTemplate 사용
@@ -14,9 +15,11 @@ import javax.sql.DataSource;
 public class MemberRepositoryV5 implements MemberRepository {
 
     private final JdbcTemplate template;
+    private final Supplier<MemberSqlDialect> dialect;
 
     public MemberRepositoryV5(DataSource dataSource) {
         this.template = new JdbcTemplate(dataSource);
+        this.dialect = MemberSqlDialect.lazy(dataSource);
     }
 
     @Override
@@ -53,4 +56,14 @@ public class MemberRepositoryV5 implements MemberRepository {
         String sql = "delete from member where member_id=?";
         template.update(sql, memberId);
     }
+
+    @Override
+    public boolean saveIfAbsent(Member member) {
+        return template.update(dialect.get().insertIfAbsentSql(), member.getMemberId(), member.getMoney()) > 0;
+    }
+
+    @Override
+    public void upsert(Member member) {
+        template.update(dialect.get().upsertSql(), member.getMemberId(), member.getMoney());
+    }
 }
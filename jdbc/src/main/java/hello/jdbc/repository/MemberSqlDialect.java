@@ -0,0 +1,82 @@
+package hello.jdbc.repository;
+
+import hello.jdbc.repository.exception.MyDbException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.function.Supplier;
+
+/**
+ * DB 별 회원 저장 SQL (키 중복을 예외 없이 처리)
+ *
+ * insertIfAbsent : 없을 때만 저장, 이미 있으면 영향받은 row 0 -> 예외/재시도 X
+ * upsert         : 없으면 저장, 있으면 money 갱신
+ * nextIds        : member_id_seq 에서 한 번에 n 개의 값을 가져옴 (MemberIdReserver)
+ *
+ * 파라미터 순서는 모두 (member_id, money)
+ */
+public enum MemberSqlDialect {
+
+    H2("merge into member using (values (cast(? as varchar(10)), cast(? as integer))) s(member_id, money) " +
+            "on member.member_id = s.member_id " +
+            "when not matched then insert (member_id, money) values (s.member_id, s.money)",
+            "merge into member(member_id, money) key(member_id) values(?, ?)",
+            "select next value for member_id_seq from system_range(1, ?)"),
+
+    POSTGRESQL("insert into member(member_id, money) values(?, ?) on conflict (member_id) do nothing",
+            "insert into member(member_id, money) values(?, ?) on conflict (member_id) do update set money = excluded.money",
+            "select nextval('member_id_seq') from generate_series(1, ?)");
+
+    private final String insertIfAbsentSql;
+    private final String upsertSql;
+    private final String nextIdsSql;
+
+    MemberSqlDialect(String insertIfAbsentSql, String upsertSql, String nextIdsSql) {
+        this.insertIfAbsentSql = insertIfAbsentSql;
+        this.upsertSql = upsertSql;
+        this.nextIdsSql = nextIdsSql;
+    }
+
+    public String insertIfAbsentSql() {
+        return insertIfAbsentSql;
+    }
+
+    public String upsertSql() {
+        return upsertSql;
+    }
+
+    public String nextIdsSql() {
+        return nextIdsSql;
+    }
+
+    /**
+     * 커넥션 메타데이터의 DB 제품명으로 판단 (트랜잭션 중이면 그 커넥션 사용)
+     */
+    public static MemberSqlDialect of(DataSource dataSource) {
+        try {
+            return of(JdbcUtils.<String>extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new MyDbException(e);
+        }
+    }
+
+    /**
+     * 처음 사용할 때 한 번만 조회 -> 생성 시점에 커넥션을 얻지 않고, 지원하지 않는 DB 여도 다른 기능은 그대로 사용
+     */
+    public static Supplier<MemberSqlDialect> lazy(DataSource dataSource) {
+        return SingletonSupplier.of(() -> of(dataSource));
+    }
+
+    static MemberSqlDialect of(String productName) {
+        if ("H2".equalsIgnoreCase(productName)) {
+            return H2;
+        }
+        if ("PostgreSQL".equalsIgnoreCase(productName)) {
+            return POSTGRESQL;
+        }
+        throw new MyDbException("지원하지 않는 DB : " + productName);
+    }
+}
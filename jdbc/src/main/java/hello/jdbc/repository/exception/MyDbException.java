@@ -17,5 +17,11 @@ public class MyDbException extends RuntimeException {
     public MyDbException(Throwable cause) {
         super(cause);
     }
-}
 
+    /**
+     * writableStackTrace=false : 스택 트레이스를 채우지 않음 (예상된 복구 가능 오류용, 생성 비용이 낮음)
+     */
+    protected MyDbException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, false, writableStackTrace);
+    }
+}
@@ -16,4 +16,15 @@ public class MyDuplicateKeyException extends MyDbException {
     public MyDuplicateKeyException(Throwable cause) {
         super(cause);
     }
+
+    protected MyDuplicateKeyException(Throwable cause, boolean writableStackTrace) {
+        super(cause == null ? null : cause.toString(), cause, writableStackTrace);
+    }
+
+    /**
+     * 키 중복처럼 호출한 쪽에서 복구하는 오류는 스택 트레이스 없이 생성 (원인 SQLException 은 유지)
+     */
+    public static MyDuplicateKeyException stackless(Throwable cause) {
+        return new MyDuplicateKeyException(cause, false);
+    }
 }
@@ -0,0 +1,157 @@
+package hello.jdbc.repository.exception;
+
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLErrorCodes;
+import org.springframework.jdbc.support.SQLErrorCodesFactory;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * DB 제품별 예외 변환기 공유 저장소
+ *
+ * : SQLErrorCodeSQLExceptionTranslator 를 리포지토리마다 만들지 않고 DB 제품명 당 하나만 생성해서 공유
+ * : 클래스 로딩 시점에 H2 변환기를 미리 생성 + 한 번 변환 (sql-error-codes.xml 파싱, 예외 클래스 로딩을 첫 요청 전에 끝냄)
+ * : DataSource 로 얻은 변환기는 첫 변환 시점에 DB 제품명을 조회해서 그 인스턴스에만 보관 (생성 시 커넥션 X, 정적 캐시 X)
+ *
+ * stackless 모드
+ * : 키 중복 / 락 획득 실패처럼 호출한 쪽에서 복구하는 오류 코드는 스택 트레이스 없는 DuplicateKeyException /
+ *   CannotAcquireLockException 으로 바로 변환 (원인 SQLException 은 그대로 포함)
+ * : 나머지 오류는 공유 변환기에 위임 -> 기존과 동일한 예외 + 스택 트레이스
+ */
+public final class SqlExceptionTranslators {
+
+    private static final ConcurrentMap<String, SQLErrorCodeSQLExceptionTranslator> BY_PRODUCT = new ConcurrentHashMap<>();
+
+    static {
+        warmUp("H2");
+    }
+
+    private SqlExceptionTranslators() {
+    }
+
+    public static void warmUp(String... productNames) {
+        for (String productName : productNames) {
+            SQLExceptionTranslator translator = of(productName, true);
+            translator.translate("warmUp", null, new SQLException("warm up", "23505", 23505));
+        }
+    }
+
+    public static SQLExceptionTranslator of(DataSource dataSource, boolean stacklessExpectedErrors) {
+        Supplier<SQLExceptionTranslator> translator = SingletonSupplier.of(() -> of(productName(dataSource), stacklessExpectedErrors));
+        return (task, sql, ex) -> translator.get().translate(task, sql, ex);
+    }
+
+    public static SQLExceptionTranslator of(String productName, boolean stacklessExpectedErrors) {
+        SQLErrorCodeSQLExceptionTranslator shared = BY_PRODUCT.computeIfAbsent(productName,
+                name -> new SQLErrorCodeSQLExceptionTranslator(SQLErrorCodesFactory.getInstance().getErrorCodes(name)));
+        return stacklessExpectedErrors ? new ExpectedErrorTranslator(shared) : shared;
+    }
+
+    /**
+     * stackless 모드에서 변환된(예상된 복구 가능 오류) 예외인지 -> 로그 레벨 구분 등에 사용
+     */
+    public static boolean isExpected(DataAccessException e) {
+        return e instanceof StacklessDuplicateKeyException || e instanceof StacklessCannotAcquireLockException;
+    }
+
+    private static String productName(DataSource dataSource) {
+        try {   // 트랜잭션 중이면 그 커넥션 사용
+            return JdbcUtils.commonDatabaseName(
+                    JdbcUtils.<String>extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new MyDbException(e);
+        }
+    }
+
+    private static class ExpectedErrorTranslator implements SQLExceptionTranslator {
+
+        private final SQLErrorCodeSQLExceptionTranslator delegate;
+        private final boolean useSqlState;
+        private final int[] duplicateKeyErrorCodes;
+        private final int[] lockErrorCodes;
+        private final Set<String> duplicateKeySqlStates;
+        private final Set<String> lockSqlStates;
+
+        ExpectedErrorTranslator(SQLErrorCodeSQLExceptionTranslator delegate) {
+            SQLErrorCodes codes = delegate.getSqlErrorCodes();
+            this.delegate = delegate;
+            this.useSqlState = codes != null && codes.isUseSqlStateForTranslation();
+            this.duplicateKeyErrorCodes = codes == null ? new int[0] : toSortedInts(codes.getDuplicateKeyCodes());
+            this.lockErrorCodes = codes == null ? new int[0] : toSortedInts(codes.getCannotAcquireLockCodes());
+            this.duplicateKeySqlStates = codes == null ? Set.of() : Set.copyOf(Arrays.asList(codes.getDuplicateKeyCodes()));
+            this.lockSqlStates = codes == null ? Set.of() : Set.copyOf(Arrays.asList(codes.getCannotAcquireLockCodes()));
+        }
+
+        @Override
+        public DataAccessException translate(String task, String sql, SQLException ex) {
+            if (useSqlState) {
+                String state = ex.getSQLState();
+                if (state != null && duplicateKeySqlStates.contains(state)) {
+                    return new StacklessDuplicateKeyException(message(task, sql, ex), ex);
+                }
+                if (state != null && lockSqlStates.contains(state)) {
+                    return new StacklessCannotAcquireLockException(message(task, sql, ex), ex);
+                }
+            } else {
+                // 오류 코드를 문자열로 바꾸지 않고 정렬된 int 배열에서 바로 검색
+                if (Arrays.binarySearch(duplicateKeyErrorCodes, ex.getErrorCode()) >= 0) {
+                    return new StacklessDuplicateKeyException(message(task, sql, ex), ex);
+                }
+                if (Arrays.binarySearch(lockErrorCodes, ex.getErrorCode()) >= 0) {
+                    return new StacklessCannotAcquireLockException(message(task, sql, ex), ex);
+                }
+            }
+            return delegate.translate(task, sql, ex);
+        }
+
+        private static String message(String task, String sql, SQLException ex) {
+            return task + "; " + (sql != null ? "SQL [" + sql + "]; " : "") + ex.getMessage();
+        }
+
+        private static int[] toSortedInts(String[] codes) {
+            return Arrays.stream(codes)
+                    .filter(code -> !code.isEmpty() && code.chars().allMatch(Character::isDigit))
+                    .mapToInt(Integer::parseInt)
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    private static class StacklessDuplicateKeyException extends DuplicateKeyException {
+
+        StacklessDuplicateKeyException(String msg, Throwable cause) {
+            super(msg, cause);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static class StacklessCannotAcquireLockException extends CannotAcquireLockException {
+
+        StacklessCannotAcquireLockException(String msg, Throwable cause) {
+            super(msg, cause);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package hello.jdbc.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 이체 실행기
+ *
+ * PLATFORM : 고정 크기 플랫폼 스레드 풀 -> 동시 처리량이 스레드 수로 제한
+ * VIRTUAL  : 요청마다 가상 스레드 생성(Java 21 이상), JDBC 대기 동안 캐리어 스레드를 반납
+ *
+ * 주의! H2 드라이버는 세션 단위로 synchronized 블록을 사용하므로 그 안에서 블로킹되면 캐리어 스레드가 고정(pinning)됨
+ * => 커넥션 풀 크기만큼만 DB 작업에 진입하도록 세마포어로 제한하고, 나머지 가상 스레드는 세마포어에서 대기(pinning X)
+ */
+@Slf4j
+public class TransferExecutor implements AutoCloseable {
+
+    public static final String MODE_PROPERTY = "transfer.executor";
+
+    public enum Mode {PLATFORM, VIRTUAL}
+
+    private final Mode mode;
+    private final ExecutorService executor;
+    private final Semaphore dbPermits;
+
+    /**
+     * @param platformThreads  PLATFORM 모드의 스레드 수
+     * @param maxDbConcurrency 동시에 DB 작업에 진입할 수 있는 수(커넥션 풀 최대 크기와 맞춤)
+     */
+    public TransferExecutor(Mode mode, int platformThreads, int maxDbConcurrency) {
+        this.mode = mode;
+        this.executor = mode == Mode.VIRTUAL ? newVirtualThreadExecutor() : Executors.newFixedThreadPool(platformThreads);
+        this.dbPermits = new Semaphore(maxDbConcurrency, true);
+        log.info("transfer executor mode={}, maxDbConcurrency={}", mode, maxDbConcurrency);
+    }
+
+    /**
+     * -Dtransfer.executor=virtual 로 모드 선택 (build.gradle 의 -PvirtualThreads 토글이 설정)
+     */
+    public static TransferExecutor fromSystemProperty(int platformThreads, int maxDbConcurrency) {
+        String value = System.getProperty(MODE_PROPERTY, Mode.PLATFORM.name());
+        return new TransferExecutor(Mode.valueOf(value.toUpperCase()), platformThreads, maxDbConcurrency);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public CompletableFuture<Void> submit(Runnable transfer) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                dbPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            try {
+                transfer.run();
+            } finally {
+                dbPermits.release();
+            }
+        }, executor);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 소스는 Java 11 로 컴파일하므로 Java 21 API 는 리플렉션으로 호출
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상에서만 사용 가능, java.version=" + System.getProperty("java.version"), e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- 내장 H2 프로파일(embedded) 스키마 : 재시작해도 데이터가 유지되도록 drop 하지 않음
+create table if not exists member
+(
+    member_id varchar(10),
+    money     integer not null default 0,
+    primary key (member_id)
+);
+
+-- 충돌 없는 회원 ID 예약 (MemberIdReserver)
+create sequence if not exists member_id_seq maxvalue 101559956668415;   -- 36^9 - 1 : '-' + 36진수 9자리 = member_id 10자
@@ -0,0 +1,87 @@
+package hello.jdbc.connection;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptivePoolSizerTest {
+
+    static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    HikariDataSource dataSource;
+    AdaptivePoolSizer sizer;
+
+    @BeforeEach
+    void init() {
+        dataSource = new HikariDataSource();   // 풀은 첫 getConnection 시점에 시작 -> 여기서는 시작하지 않음
+        sizer = new AdaptivePoolSizer(dataSource, 2, 20);
+    }
+
+    @AfterEach
+    void after() {
+        sizer.close();
+        dataSource.close();
+    }
+
+    @Test
+    void littlesLaw() {
+        // 초당 500건 * 20ms = 평균 10개 사용 중, 여유 1.2배 -> 12
+        PoolLoadTracker.Sample sample = new PoolLoadTracker.Sample(500, 500 * 20, 0);
+        assertThat(sizer.targetSize(sample, ONE_SECOND)).isEqualTo(12);
+
+        // 0.5초 동안 250건 -> 같은 도착률
+        PoolLoadTracker.Sample half = new PoolLoadTracker.Sample(250, 250 * 20, 0);
+        assertThat(sizer.targetSize(half, ONE_SECOND / 2)).isEqualTo(12);
+    }
+
+    @Test
+    void growImmediately() {
+        assertThat(sizer.nextSize(10, 12, 0)).isEqualTo(12);
+        assertThat(sizer.nextSize(10, 8, 5)).isEqualTo(15);   // 대기 스레드가 있으면 측정값보다 우선
+        assertThat(sizer.nextSize(10, 100, 0)).isEqualTo(20);  // maxSize
+    }
+
+    @Test
+    void shrinkWithHysteresis() {
+        // 밴드(30%) 안쪽의 감소는 무시
+        assertThat(sizer.nextSize(10, 8, 0)).isEqualTo(10);
+
+        // 3번 연속으로 낮아야 줄임
+        assertThat(sizer.nextSize(10, 3, 0)).isEqualTo(10);
+        assertThat(sizer.nextSize(10, 3, 0)).isEqualTo(10);
+        assertThat(sizer.nextSize(10, 3, 0)).isEqualTo(3);
+
+        // 중간에 한 번이라도 회복되면 다시 처음부터
+        assertThat(sizer.nextSize(10, 3, 0)).isEqualTo(10);
+        assertThat(sizer.nextSize(10, 9, 0)).isEqualTo(10);
+        assertThat(sizer.nextSize(10, 0, 0)).isEqualTo(10);
+        assertThat(sizer.nextSize(10, 0, 0)).isEqualTo(10);
+        assertThat(sizer.nextSize(10, 0, 0)).isEqualTo(2);   // minSize
+    }
+
+    @Test
+    void installBeforePoolStart() {
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(2);
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(-1);   // 설정하지 않으면 그대로 (풀 시작 시 기본값 10)
+        assertThat(sizer.adjust()).isEqualTo(-1);                    // 풀 시작 전에는 조절 X
+    }
+
+    @Test
+    void clampConfiguredSize() {
+        dataSource.setMaximumPoolSize(50);
+
+        assertThat(new AdaptivePoolSizer(dataSource, 2, 20).adjust()).isEqualTo(20);   // 설정값은 [minSize, maxSize] 로 맞춤
+    }
+
+    @Test
+    void invalidBounds() {
+        assertThatThrownBy(() -> new AdaptivePoolSizer(new HikariDataSource(), 5, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,148 @@
+package hello.jdbc.connection;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기록된 하루 부하(pool/diurnal-load.csv)를 H2 에 압축 재생 : 고정 크기 풀(10) vs 자동 조절 풀(2 ~ 30)
+ * 대기 시간 = 요청 도착 ~ 커넥션 획득 (작업 스레드 큐 대기 포함)
+ */
+@Slf4j
+class PoolSizingSimulationTest {
+
+    static final String URL = "jdbc:h2:mem:poolSimulation;DB_CLOSE_DELAY=-1";
+    static final long PHASE_MILLIS = 400;   // 한 시간대 재생 시간
+    static final long TICK_MILLIS = 10;
+    static final int WORKERS = 200;
+
+    @Test
+    void fixedVsAdaptive() throws Exception {
+        List<Phase> phases = loadPhases();
+
+        Result fixed;
+        try (HikariDataSource dataSource = dataSource("FixedPool")) {
+            dataSource.setMaximumPoolSize(10);
+            fixed = replay(dataSource, phases);
+        }
+
+        Result adaptive;
+        try (HikariDataSource dataSource = dataSource("AdaptivePool");
+             AdaptivePoolSizer sizer = new AdaptivePoolSizer(dataSource, 2, 30)) {
+            sizer.start(Duration.ofMillis(100));
+            adaptive = replay(dataSource, phases);
+        }
+
+        log.info("fixed    p99 wait={}ms, pool sizes={}", fixed.p99WaitMillis(), fixed.poolSizes);
+        log.info("adaptive p99 wait={}ms, pool sizes={}", adaptive.p99WaitMillis(), adaptive.poolSizes);
+
+        assertThat(Collections.max(adaptive.poolSizes)).isGreaterThan(10);           // 피크에 늘어남
+        assertThat(adaptive.poolSizes.get(adaptive.poolSizes.size() - 1)).isLessThan(10);   // 새벽에 줄어듦
+        assertThat(adaptive.p99WaitMillis()).isLessThan(fixed.p99WaitMillis());
+    }
+
+    private HikariDataSource dataSource(String poolName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(URL);
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+
+    private Result replay(HikariDataSource dataSource, List<Phase> phases) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        ConcurrentLinkedQueue<Long> waits = new ConcurrentLinkedQueue<>();
+        List<Integer> poolSizes = new ArrayList<>();
+
+        for (Phase phase : phases) {
+            double perTick = phase.requestsPerSecond * TICK_MILLIS / 1000.0;
+            double due = 0;
+            for (long tick = 0; tick < PHASE_MILLIS / TICK_MILLIS; tick++) {
+                due += perTick;
+                for (; due >= 1; due--) {
+                    long arrival = System.nanoTime();
+                    workers.execute(() -> waits.add(request(dataSource, arrival, phase.holdMillis)));
+                }
+                Thread.sleep(TICK_MILLIS);
+            }
+            poolSizes.add(dataSource.getMaximumPoolSize());
+        }
+        workers.shutdown();
+        assertThat(workers.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        return new Result(new ArrayList<>(waits), poolSizes);
+    }
+
+    private long request(HikariDataSource dataSource, long arrival, long holdMillis) {
+        try (Connection connection = dataSource.getConnection()) {
+            long wait = System.nanoTime() - arrival;
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("select 1");
+            }
+            Thread.sleep(holdMillis);   // 트랜잭션 동안 커넥션 보유
+            return wait;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Phase> loadPhases() throws IOException {
+        ClassPathResource resource = new ClassPathResource("pool/diurnal-load.csv");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .filter(line -> !line.startsWith("#") && !line.startsWith("hour"))
+                    .map(line -> line.split(","))
+                    .map(cols -> new Phase(Integer.parseInt(cols[1]), Long.parseLong(cols[2])))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static class Phase {
+        final int requestsPerSecond;
+        final long holdMillis;
+
+        Phase(int requestsPerSecond, long holdMillis) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.holdMillis = holdMillis;
+        }
+    }
+
+    static class Result {
+        final List<Long> waitNanos;
+        final List<Integer> poolSizes;
+
+        Result(List<Long> waitNanos, List<Integer> poolSizes) {
+            this.waitNanos = waitNanos;
+            this.poolSizes = poolSizes;
+        }
+
+        long p99WaitMillis() {
+            List<Long> sorted = new ArrayList<>(waitNanos);
+            Collections.sort(sorted);
+            return TimeUnit.NANOSECONDS.toMillis(sorted.get((int) (sorted.size() * 0.99)));
+        }
+    }
+}
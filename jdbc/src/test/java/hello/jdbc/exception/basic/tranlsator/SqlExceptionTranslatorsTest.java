@@ -0,0 +1,95 @@
+package hello.jdbc.exception.basic.tranlsator;
+
+import hello.jdbc.domain.Member;
+import hello.jdbc.repository.MemberRepositoryV4_2;
+import hello.jdbc.repository.exception.MyDuplicateKeyException;
+import hello.jdbc.repository.exception.SqlExceptionTranslators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlExceptionTranslatorsTest {
+
+    DataSource dataSource;
+
+    @BeforeEach
+    void init() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:translator;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema-embedded.sql")).execute(dataSource);
+    }
+
+    @AfterEach
+    void after() {
+        new JdbcTemplate(dataSource).execute("delete from member");
+    }
+
+    @Test
+    void sharedPerProduct() {
+        assertThat(SqlExceptionTranslators.of("H2", false)).isSameAs(SqlExceptionTranslators.of("H2", false));
+
+        //DataSource 로 얻은 변환기는 첫 변환 시점에 DB 제품명을 조회해서 공유 변환기에 위임
+        SQLException duplicate = new SQLException("duplicate", "23505", 23505);
+        assertThat(SqlExceptionTranslators.of(dataSource, false).translate("save", null, duplicate))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void stacklessExpectedError() {
+        SQLExceptionTranslator translator = SqlExceptionTranslators.of("H2", true);
+        SQLException duplicate = new SQLException("duplicate", "23505", 23505);
+
+        DataAccessException ex = translator.translate("save", "insert ...", duplicate);
+
+        assertThat(ex).isInstanceOf(DuplicateKeyException.class);
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(ex.getCause()).isSameAs(duplicate);
+        assertThat(SqlExceptionTranslators.isExpected(ex)).isTrue();
+    }
+
+    @Test
+    void unexpectedErrorKeepsStackTrace() {
+        SQLExceptionTranslator translator = SqlExceptionTranslators.of("H2", true);
+
+        DataAccessException ex = translator.translate("select", "select bad grammer",
+                new SQLException("bad grammar", "42S22", 42122));
+
+        assertThat(ex).isInstanceOf(BadSqlGrammarException.class);
+        assertThat(ex.getStackTrace()).isNotEmpty();
+        assertThat(SqlExceptionTranslators.isExpected(ex)).isFalse();
+    }
+
+    @Test
+    void repositoryDuplicateKey() {
+        MemberRepositoryV4_2 repository = new MemberRepositoryV4_2(dataSource, true);
+        repository.save(new Member("myId", 0));
+
+        assertThatThrownBy(() -> repository.save(new Member("myId", 0)))
+                .isInstanceOf(DuplicateKeyException.class)
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    void stacklessMyDuplicateKeyException() {
+        SQLException cause = new SQLException("duplicate", "23505", 23505);
+
+        MyDuplicateKeyException ex = MyDuplicateKeyException.stackless(cause);
+
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(ex.getCause()).isSameAs(cause);
+        assertThat(new MyDuplicateKeyException(cause).getStackTrace()).isNotEmpty();
+    }
+}
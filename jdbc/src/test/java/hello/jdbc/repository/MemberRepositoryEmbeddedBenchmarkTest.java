@@ -0,0 +1,108 @@
+package hello.jdbc.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.jdbc.domain.Member;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static hello.jdbc.connection.ConnectionConst.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TCP 서버 모드 vs 내장(in-process) 모드 : 회원 저장/조회/수정/삭제
+ * TCP 는 H2 서버가 떠 있을 때만 실행, ~/db 의 기존 테이블 대신 전용 스키마(memberbench)에서 실행 (끝나면 스키마 삭제)
+ * 서버는 원격 DB 생성을 막으므로(-ifNotExists X) 이미 있는 ~/db 에 스키마만 만듦
+ */
+@Slf4j
+class MemberRepositoryEmbeddedBenchmarkTest {
+
+    static final String BENCH_SCHEMA = "memberbench";
+    static final String TCP_URL = "jdbc:h2:tcp://localhost/~/db;INIT=create schema if not exists " + BENCH_SCHEMA
+            + "\\;set schema " + BENCH_SCHEMA;
+    static final int MEMBERS = 2_000;
+    static final int READS = 20_000;
+
+    static Connection keepAlive;
+
+    @TempDir
+    Path dbDir;
+
+    @BeforeAll
+    static void connectTcp() {
+        try {
+            keepAlive = DriverManager.getConnection(TCP_URL, USERNAME, PASSWORD);
+        } catch (SQLException e) {
+            log.info("H2 TCP 서버 없음 : {}", e.getMessage());   // TCP 비교는 건너뜀
+        }
+    }
+
+    @AfterAll
+    static void closeTcp() throws SQLException {
+        if (keepAlive != null) {
+            try (Statement stmt = keepAlive.createStatement()) {
+                stmt.execute("drop schema " + BENCH_SCHEMA + " cascade");
+            } finally {
+                keepAlive.close();
+            }
+        }
+    }
+
+    /**
+     * 같은 작업을 내장 모드로 실행하면 네트워크 왕복 + 직렬화가 없으므로 TCP 보다 빨라야 함
+     */
+    @Test
+    void embeddedFasterThanTcp() throws SQLException {
+        run("jdbc:h2:mem:warmup");   // JIT 워밍업 (먼저 실행한 쪽이 불리하지 않도록)
+        long embedded = run("jdbc:h2:nioMapped:" + dbDir.resolve("bench") + ";CACHE_SIZE=65536");
+        log.info("embedded(nioMapped) {}ms", embedded);
+
+        Assumptions.assumeTrue(keepAlive != null, "H2 TCP 서버가 실행 중일 때만");
+        long tcp = run(TCP_URL);
+        log.info("tcp {}ms", tcp);
+
+        assertThat(embedded).isLessThan(tcp);
+    }
+
+    private long run(String url) throws SQLException {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername(USERNAME);
+            dataSource.setPassword(PASSWORD);
+            dataSource.setMaximumPoolSize(4);
+            new ResourceDatabasePopulator(new ClassPathResource("schema-embedded.sql")).execute(dataSource);
+
+            MemberRepositoryV3 repository = new MemberRepositoryV3(dataSource);
+            long start = System.nanoTime();
+
+            for (int i = 0; i < MEMBERS; i++) {
+                repository.save(new Member(memberId(i), 10000));
+            }
+            for (int i = 0; i < READS; i++) {
+                assertThat(repository.findById(memberId(i % MEMBERS)).getMoney()).isEqualTo(10000);
+            }
+            for (int i = 0; i < MEMBERS; i++) {
+                repository.update(memberId(i), 20000);
+            }
+            for (int i = 0; i < MEMBERS; i++) {
+                repository.delete(memberId(i));
+            }
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+
+    private String memberId(int i) {
+        return "bench" + i;
+    }
+}
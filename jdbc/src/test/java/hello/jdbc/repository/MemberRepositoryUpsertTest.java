@@ -0,0 +1,131 @@
+package hello.jdbc.repository;
+
+import hello.jdbc.domain.Member;
+import hello.jdbc.repository.exception.MyDbException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 키 중복을 예외 없이 처리 (saveIfAbsent / upsert / ID 예약)
+ * ExTranslatorV1Test 의 catch(MyDuplicateKeyException) -> 재시도 흐름과 비교
+ */
+@Slf4j
+class MemberRepositoryUpsertTest {
+
+    JdbcTemplate template;
+    MemberRepository repositoryV4_1;
+    MemberRepository repositoryV4_2;
+    MemberRepository repositoryV5;
+    MemberIdReserver idReserver;
+
+    @BeforeEach
+    void init() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:upsert;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema-embedded.sql")).execute(dataSource);
+        template = new JdbcTemplate(dataSource);
+        repositoryV4_1 = new MemberRepositoryV4_1(dataSource);
+        repositoryV4_2 = new MemberRepositoryV4_2(dataSource);
+        repositoryV5 = new MemberRepositoryV5(dataSource);
+        idReserver = new MemberIdReserver(dataSource);
+    }
+
+    @AfterEach
+    void after() {
+        template.execute("delete from member");
+    }
+
+    @Test
+    void saveIfAbsent() {
+        for (MemberRepository repository : List.of(repositoryV4_1, repositoryV4_2, repositoryV5)) {
+            assertThat(repository.saveIfAbsent(new Member("myId", 1000))).isTrue();
+            assertThat(repository.saveIfAbsent(new Member("myId", 2000))).isFalse();   // 예외 X
+            assertThat(repository.findById("myId").getMoney()).isEqualTo(1000);      // 기존 값 유지
+            repository.delete("myId");
+        }
+    }
+
+    @Test
+    void upsert() {
+        for (MemberRepository repository : List.of(repositoryV4_1, repositoryV4_2, repositoryV5)) {
+            repository.upsert(new Member("myId", 1000));
+            repository.upsert(new Member("myId", 2000));
+            assertThat(repository.findById("myId").getMoney()).isEqualTo(2000);
+            repository.delete("myId");
+        }
+    }
+
+    @Test
+    void reserveIds() {
+        List<String> ids = idReserver.reserve("member", 1_000);
+
+        assertThat(ids).hasSize(1_000);
+        assertThat(new HashSet<>(ids)).hasSize(1_000);
+        assertThat(ids).allSatisfy(id -> assertThat(id.length()).isLessThanOrEqualTo(MemberIdReserver.MAX_ID_LENGTH));
+        assertThat(idReserver.reserve("member", 1_000)).doesNotContainAnyElementsOf(ids);
+    }
+
+    @Test
+    void toId() {
+        assertThat(MemberIdReserver.toId("myId", 35)).isEqualTo("myId-z");
+        assertThat(MemberIdReserver.toId("abcdefghij", 36)).isEqualTo("abcdefg-10");
+        assertThat(MemberIdReserver.toId("a", MemberIdReserver.MAX_SEQUENCE_VALUE)).isEqualTo("-zzzzzzzzz");   // 시퀀스 부분은 자르지 않음
+        assertThatThrownBy(() -> MemberIdReserver.toId("a", MemberIdReserver.MAX_SEQUENCE_VALUE + 1))
+                .isInstanceOf(IllegalStateException.class);   // member_id 길이를 넘는 ID 는 만들지 않음
+    }
+
+    @Test
+    void lazyDialect() {
+        //생성 시점에는 커넥션을 얻지 않음 -> 연결할 수 없는 DB 여도 생성 가능, saveIfAbsent/upsert 를 쓸 때 확인
+        DriverManagerDataSource unreachable = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/~/none", "sa", "");
+
+        MemberRepository repository = new MemberRepositoryV5(unreachable);
+        new MemberRepositoryV4_1(unreachable);
+        new MemberRepositoryV4_2(unreachable, true);
+        new MemberIdReserver(unreachable);
+
+        assertThatThrownBy(() -> repository.upsert(new Member("myId", 1000)))
+                .isInstanceOf(MyDbException.class);
+    }
+
+    @Test
+    void duplicateKeySave() {
+        Service service = new Service(repositoryV5, idReserver);
+
+        String first = service.create("myId");
+        String second = service.create("myId");  //같은 ID 저장 시도
+
+        assertThat(first).isEqualTo("myId");
+        assertThat(second).startsWith("myId-");
+        assertThat(repositoryV5.findById(second).getMoney()).isZero();
+    }
+
+    @Slf4j
+    @RequiredArgsConstructor
+    static class Service {
+        private final MemberRepository repository;
+        private final MemberIdReserver idReserver;
+
+        public String create(String memberId) {
+            String saveId = memberId;
+            while (!repository.saveIfAbsent(new Member(saveId, 0))) {   // 키 중복 -> 예외 대신 false
+                saveId = idReserver.reserve(memberId);
+                log.info("키 중복, retryId={}", saveId);
+            }
+            log.info("saveId={}", saveId);
+            return saveId;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package hello.jdbc.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.jdbc.domain.Member;
+import hello.jdbc.repository.MemberRepositoryV3;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static hello.jdbc.connection.ConnectionConst.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 계좌 이체 부하 테스트 : 10,000 건 동시 요청
+ * 고정 크기 플랫폼 스레드 풀 vs 가상 스레드 (./gradlew test -PvirtualThreads 로 Java 21 에서 실행)
+ */
+@Slf4j
+class TransferLoadTest {
+
+    static final int REQUESTS = 10_000;
+    static final int PAIRS = 100;
+    static final int POOL_SIZE = 10;
+    static final int PLATFORM_THREADS = 200;
+
+    private HikariDataSource dataSource;
+    private MemberRepositoryV3 repository;
+    private MemberServiceV3_2 service;
+
+    @BeforeEach
+    void init() throws SQLException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(URL);
+        dataSource.setUsername(USERNAME);
+        dataSource.setPassword(PASSWORD);
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+        dataSource.setPoolName("TransferLoadPool");
+
+        repository = new MemberRepositoryV3(dataSource);
+        service = new MemberServiceV3_2(new DataSourceTransactionManager(dataSource), repository);
+
+        for (int i = 0; i < PAIRS; i++) {
+            repository.save(new Member(fromId(i), 1_000_000));
+            repository.save(new Member(toId(i), 1_000_000));
+        }
+    }
+
+    @AfterEach
+    void after() throws SQLException {
+        for (int i = 0; i < PAIRS; i++) {
+            repository.delete(fromId(i));
+            repository.delete(toId(i));
+        }
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("플랫폼 스레드 풀")
+    void platformThreads() {
+        run(new TransferExecutor(TransferExecutor.Mode.PLATFORM, PLATFORM_THREADS, POOL_SIZE));
+    }
+
+    @Test
+    @DisplayName("가상 스레드")
+    void virtualThreads() {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "Java 21 이상에서만 실행");
+        run(new TransferExecutor(TransferExecutor.Mode.VIRTUAL, PLATFORM_THREADS, POOL_SIZE));
+    }
+
+    private void run(TransferExecutor executor) {
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger failures = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(REQUESTS);
+
+        long start = System.nanoTime();
+        try (executor) {
+            for (int i = 0; i < REQUESTS; i++) {
+                int idx = i;
+                int pair = i % PAIRS;
+                long submitted = System.nanoTime();
+                futures.add(executor.submit(() -> service.accountTransfer(fromId(pair), toId(pair), 1))
+                        .whenComplete((v, ex) -> {
+                            latencies[idx] = System.nanoTime() - submitted;   // 큐 대기 시간 포함
+                            if (ex != null) {
+                                failures.incrementAndGet();
+                            }
+                        }));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .exceptionally(ex -> null)
+                    .join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        double throughput = REQUESTS / (elapsed / 1_000_000_000.0);
+        log.info("mode={} requests={} failures={} throughput={}/s p50={}ms p99={}ms max={}ms",
+                executor.getMode(), REQUESTS, failures.get(), String.format("%.1f", throughput),
+                millis(latencies[REQUESTS / 2]), millis(latencies[(int) (REQUESTS * 0.99)]), millis(latencies[REQUESTS - 1]));
+
+        assertThat(failures.get()).isZero();
+    }
+
+    private static String fromId(int pair) {
+        return "loadFrom" + pair;
+    }
+
+    private static String toId(int pair) {
+        return "loadTo" + pair;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,142 @@
+package hello.springs.apply;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.aspectj.AnnotationTransactionAspect;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Transactional 메서드 호출 1회의 부가 비용 : 직접 호출 vs JDK 동적 프록시 vs CGLIB 프록시 vs AspectJ 위빙
+ *
+ * 트랜잭션 매니저는 아무 일도 하지 않음(NoopTransactionManager) -> DB 비용을 빼고 프록시 호출 단계 + 트랜잭션 어드바이스 비용만 측정
+ * woven 은 ./gradlew jmh -PaspectjTx 로 빌드해야 측정 (위빙되지 않았으면 WovenState 에서 실패 처리)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TxAdviceBenchmark {
+
+    Work direct;
+    Work jdkProxy;
+    Work cglibProxy;
+    int value;
+
+    @Setup
+    public void setup() {
+        NoopTransactionManager transactionManager = new NoopTransactionManager();
+        direct = new ProxiedWork();
+        jdkProxy = proxy(transactionManager, false);
+        cglibProxy = proxy(transactionManager, true);
+    }
+
+    @Benchmark
+    public int directCall() {
+        return direct.work(value++);
+    }
+
+    @Benchmark
+    public int jdkProxy() {
+        return jdkProxy.work(value++);
+    }
+
+    @Benchmark
+    public int cglibProxy() {
+        return cglibProxy.work(value++);
+    }
+
+    @Benchmark
+    public int woven(WovenState state) {
+        return state.woven.work(value++);
+    }
+
+    private Work proxy(PlatformTransactionManager transactionManager, boolean proxyTargetClass) {
+        ProxyFactory proxyFactory = new ProxyFactory(new ProxiedWork());
+        proxyFactory.setProxyTargetClass(proxyTargetClass);
+        if (!proxyTargetClass) {
+            proxyFactory.addInterface(Work.class);
+        }
+        TransactionInterceptor interceptor = new TransactionInterceptor();
+        interceptor.setTransactionManager(transactionManager);
+        interceptor.setTransactionAttributeSource(new AnnotationTransactionAttributeSource());
+        proxyFactory.addAdvice(interceptor);
+        return (Work) proxyFactory.getProxy();
+    }
+
+    /**
+     * 위빙 여부는 여기서 한 번만 확인 (위빙되지 않았으면 woven 벤치마크만 실패)
+     */
+    @State(Scope.Benchmark)
+    public static class WovenState {
+        WovenWork woven;
+
+        @Setup
+        public void setup() {
+            AnnotationTransactionAspect.aspectOf().setTransactionManager(new NoopTransactionManager());
+            woven = new WovenWork();
+            if (!woven.inTransaction()) {
+                throw new IllegalStateException("WovenWork 가 위빙되지 않음 : ./gradlew jmh -PaspectjTx");
+            }
+        }
+    }
+
+    /**
+     * 프록시 방식은 인터페이스의 @Transactional 도 인식, AspectJ 는 인터페이스 애노테이션을 상속하지 않으므로 위빙 대상에서 빠짐
+     */
+    public interface Work {
+        @Transactional
+        int work(int value);
+    }
+
+    public static class ProxiedWork implements Work {
+        @Override
+        public int work(int value) {
+            return value + 1;
+        }
+    }
+
+    @Transactional
+    public static class WovenWork {
+        public int work(int value) {
+            return value + 1;
+        }
+
+        public boolean inTransaction() {
+            try {
+                return TransactionAspectSupport.currentTransactionStatus() != null;
+            } catch (NoTransactionException e) {
+                return false;
+            }
+        }
+    }
+
+    static class NoopTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package hello.springs;
+
+import hello.springs.order.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.AdviceMode;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+
+/**
+ * 트랜잭션 적용 방식 : springtx.tx-mode
+ *
+ * proxy(기본) : 스프링 AOP 프록시 -> 외부에서 프록시를 거친 호출만 트랜잭션 적용 (내부 호출은 X, InternalCallV1Test)
+ * aspectj     : 컴파일 타임에 위빙된 AnnotationTransactionAspect 가 트랜잭션 적용 -> 내부 호출도 적용, 프록시 생성 X
+ *               (build.gradle 의 -PaspectjTx 로 빌드해야 함, 스프링 부트의 프록시 방식 설정은 자동으로 빠짐)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "springtx.tx-mode", havingValue = "aspectj")
+@EnableTransactionManagement(mode = AdviceMode.ASPECTJ)
+public class AspectjTxConfig {
+
+    /**
+     * 위빙 없이 aspectj 모드만 켜지면 모든 @Transactional 이 조용히 무시됨 -> 시작 시점에 확인
+     * (위빙된 클래스에는 ajc$ 로 시작하는 조인 포인트 필드가 추가됨)
+     */
+    @PostConstruct
+    void checkWoven() {
+        boolean woven = Arrays.stream(OrderService.class.getDeclaredFields())
+                .anyMatch(field -> field.getName().startsWith("ajc$"));
+        if (!woven) {
+            throw new IllegalStateException("springtx.tx-mode=aspectj 는 -PaspectjTx 로 위빙된 빌드에서만 사용할 수 있습니다");
+        }
+        log.info("AspectJ 트랜잭션 모드 (컴파일 타임 위빙)");
+    }
+}
@@ -0,0 +1,22 @@
+package hello.springs;
+
+import hello.springs.txprofile.TxProfilingPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 트랜잭션 인터셉터 비용 측정 : springtx.tx-profiling.enabled=true (perf 프로파일)
+ * springtx.tx-profiling.read-only-fast-path=true 면 readOnly + SUPPORTS 메서드는 트랜잭션 밖에서 호출될 때 인터셉터를 건너뜀
+ */
+@Configuration
+@ConditionalOnProperty(name = "springtx.tx-profiling.enabled", havingValue = "true")
+public class TxProfilingConfig {
+
+    @Bean
+    public static TxProfilingPostProcessor txProfilingPostProcessor(
+            @Value("${springtx.tx-profiling.read-only-fast-path:false}") boolean readOnlyFastPath) {
+        return new TxProfilingPostProcessor(readOnlyFastPath);   // 빈 후처리기는 static (설정 클래스보다 먼저 생성)
+    }
+}
@@ -0,0 +1,55 @@
+package hello.springs.txprofile;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 트랜잭션 속성 테이블 : 대상 클래스 -> (메서드 -> 속성)
+ *
+ * AnnotationTransactionAttributeSource 도 캐시하지만 조회마다 MethodClassKey 를 새로 만들어서 찾음
+ * -> 클래스, 메서드 순서로 두 번 조회 (키 객체 생성 X)
+ * 프록시 생성 시점에 포인트컷이 모든 메서드의 속성을 조회하므로 애플리케이션 시작 후에는 대부분 테이블에서 바로 찾음
+ */
+public class PrecomputedTransactionAttributeSource implements TransactionAttributeSource {
+
+    private static final TransactionAttribute NONE = new DefaultTransactionAttribute();   // 트랜잭션 대상 아님 (null 대신 저장)
+
+    private final TransactionAttributeSource delegate;
+    private final Map<Class<?>, Map<Method, TransactionAttribute>> table = new ConcurrentHashMap<>();
+
+    public PrecomputedTransactionAttributeSource(TransactionAttributeSource delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isCandidateClass(Class<?> targetClass) {
+        return delegate.isCandidateClass(targetClass);
+    }
+
+    @Override
+    @Nullable
+    public TransactionAttribute getTransactionAttribute(Method method, @Nullable Class<?> targetClass) {
+        Class<?> tableKey = targetClass != null ? targetClass : method.getDeclaringClass();
+        Map<Method, TransactionAttribute> methods = table.get(tableKey);
+        if (methods == null) {
+            methods = table.computeIfAbsent(tableKey, key -> new ConcurrentHashMap<>());
+        }
+        TransactionAttribute attribute = methods.get(method);
+        if (attribute == null) {
+            TransactionAttribute resolved = delegate.getTransactionAttribute(method, targetClass);
+            attribute = resolved != null ? resolved : NONE;
+            methods.putIfAbsent(method, attribute);
+        }
+        return attribute == NONE ? null : attribute;
+    }
+
+    public int size() {
+        return table.values().stream().mapToInt(Map::size).sum();
+    }
+}
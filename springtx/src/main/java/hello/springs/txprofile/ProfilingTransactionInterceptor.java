@@ -0,0 +1,108 @@
+package hello.springs.txprofile;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.ResourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메서드별 인터셉터 비용을 측정하는 TransactionInterceptor
+ *
+ * readOnlyFastPath : readOnly + SUPPORTS 메서드를 트랜잭션 밖에서 호출했고 트랜잭션 매니저의 리소스(EntityManagerFactory, DataSource)가
+ *                    바인딩되어 있지 않으면 빈 트랜잭션(동기화 등록, 쓰레드 로컬 바인딩)을 만들지 않고 바로 호출
+ *                    -> 메서드 안의 리포지토리 호출마다 각자 커넥션/EntityManager 를 사용 (지연 로딩이 필요한 메서드에는 사용 X)
+ */
+public class ProfilingTransactionInterceptor extends TransactionInterceptor {
+
+    private final boolean readOnlyFastPath;
+    private final Map<Method, TxMethodStats> stats = new ConcurrentHashMap<>();
+
+    public ProfilingTransactionInterceptor(TransactionAttributeSource attributeSource, boolean readOnlyFastPath) {
+        setTransactionAttributeSource(attributeSource);
+        this.readOnlyFastPath = readOnlyFastPath;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        TxMethodStats methodStats = statsFor(method);
+
+        if (readOnlyFastPath && canSkipTransaction(method, targetClass)) {
+            methodStats.recordFastPath();
+            return invocation.proceed();
+        }
+
+        TimedInvocation timed = new TimedInvocation(invocation);
+        long start = System.nanoTime();
+        try {
+            return invokeWithinTransaction(method, targetClass, timed);
+        } finally {
+            methodStats.record(System.nanoTime() - start - timed.elapsed);
+        }
+    }
+
+    public Collection<TxMethodStats> stats() {
+        return new ArrayList<>(stats.values());
+    }
+
+    public TxMethodStats stats(Method method) {
+        return stats.get(method);
+    }
+
+    private boolean canSkipTransaction(Method method, Class<?> targetClass) {
+        TransactionAttributeSource source = getTransactionAttributeSource();
+        TransactionAttribute attribute = source != null ? source.getTransactionAttribute(method, targetClass) : null;
+        if (attribute == null || !attribute.isReadOnly()
+                || attribute.getPropagationBehavior() != TransactionDefinition.PROPAGATION_SUPPORTS
+                || TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionManager transactionManager = determineTransactionManager(attribute);
+        return transactionManager instanceof ResourceTransactionManager
+                && !TransactionSynchronizationManager.hasResource(((ResourceTransactionManager) transactionManager).getResourceFactory());
+    }
+
+    private TxMethodStats statsFor(Method method) {
+        TxMethodStats methodStats = stats.get(method);
+        if (methodStats == null) {
+            methodStats = stats.computeIfAbsent(method,
+                    key -> new TxMethodStats(key.getDeclaringClass().getSimpleName() + "." + key.getName()));
+        }
+        return methodStats;
+    }
+
+    /**
+     * 실제 메서드 실행 시간만 따로 기록
+     */
+    private static class TimedInvocation implements InvocationCallback {
+
+        private final MethodInvocation invocation;
+        long elapsed;
+
+        TimedInvocation(MethodInvocation invocation) {
+            this.invocation = invocation;
+        }
+
+        @Override
+        public Object proceedWithInvocation() throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                elapsed = System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package hello.springs.txprofile;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메서드별 트랜잭션 인터셉터 비용
+ * overhead = 인터셉터 전체 시간 - 실제 메서드 실행 시간 (속성 조회, 트랜잭션 시작/커밋, 쓰레드 로컬 바인딩, 로깅)
+ */
+public class TxMethodStats {
+
+    private final String method;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder fastPathCalls = new LongAdder();
+    private final LongAdder overheadNanos = new LongAdder();
+
+    TxMethodStats(String method) {
+        this.method = method;
+    }
+
+    void record(long overhead) {
+        calls.increment();
+        overheadNanos.add(overhead);
+    }
+
+    void recordFastPath() {
+        calls.increment();
+        fastPathCalls.increment();
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getFastPathCalls() {
+        return fastPathCalls.sum();
+    }
+
+    public long getOverheadNanos() {
+        return overheadNanos.sum();
+    }
+
+    /**
+     * 빠른 경로는 제외한 평균
+     */
+    public long getAverageOverheadNanos() {
+        long intercepted = getCalls() - getFastPathCalls();
+        return intercepted == 0 ? 0 : getOverheadNanos() / intercepted;
+    }
+
+    @Override
+    public String toString() {
+        return method + " calls=" + getCalls() + " fastPath=" + getFastPathCalls() + " avgOverhead=" + getAverageOverheadNanos() + "ns";
+    }
+}
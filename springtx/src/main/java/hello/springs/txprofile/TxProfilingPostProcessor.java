@@ -0,0 +1,66 @@
+package hello.springs.txprofile;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
+
+/**
+ * 스프링이 등록한 트랜잭션 어드바이저(@Transactional 포인트컷 + TransactionInterceptor)의
+ * 속성 소스와 어드바이스를 PrecomputedTransactionAttributeSource / ProfilingTransactionInterceptor 로 교체
+ *
+ * PriorityOrdered : 자동 프록시 생성기(Ordered)보다 먼저 등록되어야 어드바이저가 만들어지는 시점에 교체할 수 있음
+ * 종료 시 메서드별 인터셉터 비용을 로그로 출력
+ */
+@Slf4j
+public class TxProfilingPostProcessor implements BeanPostProcessor, PriorityOrdered, BeanFactoryAware, DisposableBean {
+
+    private final PrecomputedTransactionAttributeSource attributeSource =
+            new PrecomputedTransactionAttributeSource(new AnnotationTransactionAttributeSource());
+    private final ProfilingTransactionInterceptor interceptor;
+
+    public TxProfilingPostProcessor(boolean readOnlyFastPath) {
+        this.interceptor = new ProfilingTransactionInterceptor(attributeSource, readOnlyFastPath);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        interceptor.setBeanFactory(beanFactory);   // 트랜잭션 매니저는 호출 시점에 빈 팩토리에서 찾음
+        interceptor.afterPropertiesSet();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof BeanFactoryTransactionAttributeSourceAdvisor) {
+            BeanFactoryTransactionAttributeSourceAdvisor advisor = (BeanFactoryTransactionAttributeSourceAdvisor) bean;
+            advisor.setTransactionAttributeSource(attributeSource);
+            advisor.setAdvice(interceptor);
+            log.info("transaction advisor {} -> ProfilingTransactionInterceptor", beanName);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;   // PriorityOrdered 그룹 안에서는 마지막
+    }
+
+    public ProfilingTransactionInterceptor getInterceptor() {
+        return interceptor;
+    }
+
+    public PrecomputedTransactionAttributeSource getAttributeSource() {
+        return attributeSource;
+    }
+
+    @Override
+    public void destroy() {
+        interceptor.stats().forEach(stats -> log.info("tx profile {}", stats));
+    }
+}
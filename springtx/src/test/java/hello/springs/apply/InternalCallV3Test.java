@@ -0,0 +1,73 @@
+package hello.springs.apply;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * AspectJ 위빙 모드 (./gradlew test -PaspectjTx)
+ * 클래스를 나누지 않아도(V2) 내부 호출에 트랜잭션 적용, 빈은 프록시가 아닌 실제 객체
+ */
+@Slf4j
+@SpringBootTest
+public class InternalCallV3Test {
+
+    @Autowired
+    CallService callService;
+
+    @BeforeEach
+    void aspectjMode() {
+        assumeTrue("aspectj".equals(System.getProperty("springtx.tx-mode")), "-PaspectjTx 로 빌드/실행할 때만");
+    }
+
+    @Test
+    void printProxy() {
+        log.info("callService class = {}", callService.getClass());
+        assertThat(AopUtils.isAopProxy(callService)).isFalse();
+    }
+
+    @Test
+    void internalCall() {
+        callService.external();
+
+        assertThat(callService.externalTxActive).isFalse();
+        assertThat(callService.internalTxActive).isTrue();   // this.internal() 도 트랜잭션 적용
+    }
+
+    @TestConfiguration
+    static class InternalCallV3TestConfig {
+        @Bean
+        CallService callService() {
+            return new CallService();
+        }
+    }
+
+    @Slf4j
+    static class CallService {
+
+        boolean externalTxActive;
+        boolean internalTxActive;
+
+        public void external() {
+            log.info("call external");
+            externalTxActive = TransactionSynchronizationManager.isActualTransactionActive();
+            internal();    // 프록시를 거치지 않지만 위빙된 코드가 트랜잭션 시작
+        }
+
+        @Transactional
+        public void internal() {
+            log.info("call internal");
+            internalTxActive = TransactionSynchronizationManager.isActualTransactionActive();
+        }
+    }
+}
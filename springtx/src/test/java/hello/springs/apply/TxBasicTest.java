@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
 @Slf4j
 @SpringBootTest  // AOP 동작
@@ -20,6 +21,7 @@ public class TxBasicTest {
 
     @Test
     void proxyCheck() {
+        assumeFalse("aspectj".equals(System.getProperty("springtx.tx-mode")), "-PaspectjTx 는 프록시 대신 위빙");
         log.info("aop class={}", basicService.getClass());
         assertThat(AopUtils.isAopProxy(basicService)).isTrue();
     }
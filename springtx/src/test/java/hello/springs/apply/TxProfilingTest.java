@@ -0,0 +1,130 @@
+package hello.springs.apply;
+
+import hello.springs.txprofile.TxMethodStats;
+import hello.springs.txprofile.TxProfilingPostProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = {"springtx.tx-profiling.enabled=true", "springtx.tx-profiling.read-only-fast-path=true"})
+public class TxProfilingTest {
+
+    @Autowired
+    ProfiledService profiledService;
+
+    @Autowired
+    OuterService outerService;
+
+    @Autowired
+    TxProfilingPostProcessor txProfiling;
+
+    @Test
+    void profileTx() throws NoSuchMethodException {
+        for (int i = 0; i < 100; i++) {
+            profiledService.write();
+        }
+
+        TxMethodStats stats = stats("write");
+        log.info("{}", stats);
+        assertThat(profiledService.isTxActive()).isTrue();
+        assertThat(stats.getCalls()).isGreaterThanOrEqualTo(100);
+        assertThat(stats.getFastPathCalls()).isZero();
+        assertThat(stats.getAverageOverheadNanos()).isPositive();
+    }
+
+    @Test
+    void readOnlyFastPath() throws NoSuchMethodException {
+        long before = fastPathCalls();
+
+        profiledService.read();   // 트랜잭션 밖 -> 빈 트랜잭션 생성 X
+
+        assertThat(profiledService.isSynchronizationActive()).isFalse();
+        assertThat(fastPathCalls()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void readOnlyInsideTransaction() throws NoSuchMethodException {
+        long before = fastPathCalls();
+
+        outerService.writeThenRead();   // 외부 트랜잭션 안 -> 기존 트랜잭션에 참여
+
+        assertThat(profiledService.isSynchronizationActive()).isTrue();
+        assertThat(fastPathCalls()).isEqualTo(before);
+    }
+
+    @Test
+    void attributeTable() {
+        assertThat(txProfiling.getAttributeSource().size()).isPositive();
+    }
+
+    private long fastPathCalls() throws NoSuchMethodException {
+        TxMethodStats stats = stats("read");
+        return stats == null ? 0 : stats.getFastPathCalls();
+    }
+
+    private TxMethodStats stats(String methodName) throws NoSuchMethodException {
+        Method method = ProfiledService.class.getMethod(methodName);
+        return txProfiling.getInterceptor().stats(method);
+    }
+
+    @TestConfiguration
+    static class TxProfilingTestConfig {
+        @Bean
+        ProfiledService profiledService() {
+            return new ProfiledService();
+        }
+
+        @Bean
+        OuterService outerService() {
+            return new OuterService(profiledService());
+        }
+    }
+
+    static class ProfiledService {
+
+        private boolean txActive;
+        private boolean synchronizationActive;
+
+        // 프록시(CGLIB)의 필드는 비어 있음 -> 대상 객체의 값은 메서드로 읽어야 함
+        public boolean isTxActive() {
+            return txActive;
+        }
+
+        public boolean isSynchronizationActive() {
+            return synchronizationActive;
+        }
+
+        @Transactional
+        public void write() {
+            txActive = TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+        public void read() {
+            synchronizationActive = TransactionSynchronizationManager.isSynchronizationActive();
+        }
+    }
+
+    @RequiredArgsConstructor
+    static class OuterService {
+
+        private final ProfiledService profiledService;
+
+        @Transactional
+        public void writeThenRead() {
+            profiledService.read();
+        }
+    }
+}